@@ -1,18 +1,24 @@
 import org.openapitools.generator.gradle.plugin.tasks.GenerateTask
+import org.springframework.boot.gradle.tasks.aot.ProcessAot
+import org.springframework.boot.gradle.tasks.bundling.BootJar
 
 plugins {
 	java
 	id("org.springframework.boot") version "3.4.4"
 	id("io.spring.dependency-management") version "1.1.7"
 	id("org.openapi.generator") version "7.12.0"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.test"
 version = "0.0.1-SNAPSHOT"
 
+// Java 17 is the baseline; build with '-PjavaVersion=21' to run with 'spring.threads.virtual.enabled=true'
+val javaVersion = providers.gradleProperty("javaVersion").getOrElse("17")
+
 java {
 	toolchain {
-		languageVersion.set(JavaLanguageVersion.of(17))
+		languageVersion.set(JavaLanguageVersion.of(javaVersion))
 	}
 }
 
@@ -23,12 +29,19 @@ repositories {
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-rest")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	// reactive transport, selected with the 'reactive' profile
+	implementation("org.springframework.boot:spring-boot-starter-webflux")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("jakarta.servlet:jakarta.servlet-api:6.0.0")
 	implementation("jakarta.validation:jakarta.validation-api:3.0.2")
 	implementation("io.swagger.core.v3:swagger-annotations:2.2.15")
 	implementation("org.openapitools:jackson-databind-nullable:0.2.6")
 	implementation("org.graalvm.sdk:graal-sdk:24.1.0")
 	implementation("org.graalvm.js:js:24.1.0")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	// pooled (HikariCP) database access for the ExternalRepository; add the JDBC driver of the database used
+	implementation("org.springframework.boot:spring-boot-starter-jdbc")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	implementation("org.springframework.boot:spring-boot-starter-validation:3.4.4")
 
 	compileOnly("org.projectlombok:lombok:1.18.38")
@@ -36,10 +49,14 @@ dependencies {
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.junit.jupiter:junit-jupiter-api")
+	testRuntimeOnly("com.h2database:h2")
 	testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine")
 
 	testCompileOnly("org.projectlombok:lombok:1.18.38")
 	testAnnotationProcessor("org.projectlombok:lombok:1.18.38")
+
+	// mock servlet requests for the benchmarks calling the resources directly
+	jmh("org.springframework:spring-test")
 }
 
 tasks.named<GenerateTask>("openApiGenerate") {
@@ -82,3 +99,97 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// Benchmarks live in src/jmh/java and run with './gradlew jmh'
+jmh {
+	jmhVersion.set("1.37")
+	// e.g. './gradlew jmh -PjmhModes=sample' for latency percentiles
+	benchmarkMode.set(providers.gradleProperty("jmhModes").map { it.split(",") }.getOrElse(listOf("thrpt", "avgt")))
+	timeUnit.set("us")
+	profilers.set(listOf("gc"))
+	fork.set(1)
+	warmupIterations.set(3)
+	iterations.set(5)
+	resultFormat.set("JSON")
+	// e.g. './gradlew jmh -PjmhIncludes=ArithmeticQuestionServiceBenchmark'
+	providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// Load tests live in src/loadTest/java and run with './gradlew loadTest', which starts the application on a random
+// port and asks it questions at the rate and in the mix of src/loadTest/resources/load-profiles/default.properties.
+// Options are passed with -PloadTestArgs, e.g. '-PloadTestArgs=--rate=500 --duration=2m --label=candidate', and the
+// reports are written to build/load-test. Questions are sent on virtual threads with -PjavaVersion=21
+val loadTest by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+	"loadTestImplementation"("org.junit.jupiter:junit-jupiter-api")
+}
+
+// the tests of the load-test harness itself run with the unit tests
+tasks.named<Test>("test") {
+	testClassesDirs += loadTest.output.classesDirs
+	classpath += loadTest.runtimeClasspath
+}
+
+tasks.register<JavaExec>("loadTest") {
+	description = "Starts the application on a random port and reports its throughput and latency under load."
+	group = "verification"
+	classpath = loadTest.runtimeClasspath
+	mainClass.set("com.maths.challenge.loadtest.LoadTest")
+	args("--label=${project.version}")
+	args(providers.gradleProperty("loadTestArgs").map { it.trim().split(Regex("\\s+")) }.getOrElse(emptyList()))
+}
+
+// Spring AOT: './gradlew bootJar -Paot' generates the bean definitions at build time, and the jar starts faster when
+// run with '-Dspring.aot.enabled=true'. Profiles and @Conditional beans (store, engine, transport) are fixed at build
+// time by the processing run, e.g. '-PaotProfiles=local,reactive'
+if (providers.gradleProperty("aot").isPresent) {
+	apply(plugin = "org.springframework.boot.aot")
+
+	tasks.named<ProcessAot>("processAot") {
+		args("--spring.profiles.active=" + providers.gradleProperty("aotProfiles").getOrElse("local"))
+	}
+}
+
+// Application class-data sharing: './gradlew cdsArchive' extracts the boot jar into build/cds and records the classes
+// loaded while the application starts into build/cds/application.jsa. Run it from build/cds with
+// 'java -XX:SharedArchiveFile=application.jsa -jar robobob-0.0.1-SNAPSHOT.jar' and the same Java version
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val cdsLauncher = javaToolchains.launcherFor {
+	languageVersion.set(JavaLanguageVersion.of(javaVersion))
+}
+val bootJar = tasks.named<BootJar>("bootJar")
+
+val cdsExtract by tasks.registering(Exec::class) {
+	description = "Extracts the boot jar into build/cds for class-data sharing."
+	dependsOn(bootJar)
+	doFirst {
+		commandLine(
+			cdsLauncher.get().executablePath.asFile.absolutePath,
+			"-Djarmode=tools", "-jar", bootJar.get().archiveFile.get().asFile.absolutePath,
+			"extract", "--force", "--destination", cdsDirectory.get().asFile.absolutePath
+		)
+	}
+}
+
+tasks.register<Exec>("cdsArchive") {
+	description = "Records the classes loaded on startup into build/cds/application.jsa."
+	dependsOn(cdsExtract)
+	workingDir(cdsDirectory)
+	doFirst {
+		// the training run stops once the context is refreshed, before serving or warming up
+		commandLine(
+			cdsLauncher.get().executablePath.asFile.absolutePath,
+			"-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.context.exit=onRefresh",
+			"-jar", bootJar.get().archiveFile.get().asFile.name,
+			"--robobob.basic-questions-file=" + file("src/main/resources/questions/basic_questions.txt").absolutePath,
+			"--robobob.basic-questions-watch.enabled=false"
+		)
+	}
+}
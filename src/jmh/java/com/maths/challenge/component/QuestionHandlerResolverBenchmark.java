@@ -0,0 +1,56 @@
+package com.maths.challenge.component;
+
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.ArithmeticQuestionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+
+/**
+ * Measures how fast {@link QuestionHandlerResolver} classifies a question.
+ * Both handlers return a constant answer, so only the classification, including the scan of arithmetic
+ * questions into tokens, is measured.
+ */
+@State(Scope.Benchmark)
+public class QuestionHandlerResolverBenchmark {
+
+    private static final AnswerResponse ANSWER = new AnswerResponse("answer");
+
+    @Param({"What is your name", "2 + 3 * 4", "((1 + 2) * (3 + 4)) / (5 - 6) + 7 * 8 - 9"})
+    private String question;
+
+    private QuestionHandlerResolver resolver;
+    private QuestionRequest questionRequest;
+
+    @Setup
+    public void setUp() {
+        ArithmeticQuestionHandler arithmeticHandler = new ArithmeticQuestionHandler() {
+            @Override
+            public AnswerResponse handleExpression(QuestionRequest request, ArithmeticExpression expression) {
+                return ANSWER;
+            }
+
+            @Override
+            public AnswerResponse handleQuestion(QuestionRequest request) {
+                return ANSWER;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        resolver = new QuestionHandlerResolver(request -> ANSWER, arithmeticHandler,
+                new QuestionClassifier(1000, 32, 250),
+                new ClientRateLimiter(false, 1, 1, 1, 1, Duration.ofMinutes(10), 1, meterRegistry), meterRegistry);
+        questionRequest = new QuestionRequest(question);
+    }
+
+    @Benchmark
+    public AnswerResponse handle() {
+        return resolver.handle(questionRequest);
+    }
+}
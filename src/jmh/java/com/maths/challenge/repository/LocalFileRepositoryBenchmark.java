@@ -0,0 +1,91 @@
+package com.maths.challenge.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures {@link LocalFileRepository#getAnswer} and {@link MappedFileRepository#getAnswer} hits and misses against a
+ * generated question bank.
+ */
+@State(Scope.Benchmark)
+public class LocalFileRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int bankSize;
+
+    @Param({"heap", "mapped"})
+    private String store;
+
+    @Param({"false", "true"})
+    private boolean fuzzy;
+
+    @Param({"false", "true"})
+    private boolean filter;
+
+    private Path questionsFile;
+    private QuestionRepository repository;
+    private QuestionRequest hit;
+    private QuestionRequest miss;
+
+    @Setup
+    public void setUp() throws IOException {
+        questionsFile = Files.createTempFile("benchmark-questions", ".txt");
+        List<String> lines = new ArrayList<>(bankSize);
+        for (int index = 0; index < bankSize; index++) {
+            lines.add("What is question number " + index + "=Answer " + index);
+        }
+        Files.write(questionsFile, lines);
+
+        FuzzyQuestionMatcher fuzzyMatcher = new FuzzyQuestionMatcher(fuzzy, 0.5, 200, SimilarityMetric.JACCARD);
+        if ("mapped".equals(store)) {
+            MappedFileRepository mappedRepository = new MappedFileRepository(questionsFile.toString(), false,
+                    Duration.ZERO, fuzzyMatcher, new SimpleMeterRegistry());
+            mappedRepository.init();
+            repository = mappedRepository;
+        } else {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            LocalFileRepository localRepository = new LocalFileRepository(questionsFile.toString(), false,
+                    Duration.ZERO, fuzzyMatcher, new UnknownQuestionGuard(filter, 0.01, meterRegistry),
+                    new PreEncodedAnswers(false, new ObjectMapper()), meterRegistry);
+            localRepository.init();
+            repository = localRepository;
+        }
+        hit = new QuestionRequest("What is question number " + bankSize / 2);
+        miss = new QuestionRequest("Where do you see yourself in next 50 years?");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(questionsFile);
+    }
+
+    @Benchmark
+    public AnswerResponse getAnswerHit() {
+        return repository.getAnswer(hit);
+    }
+
+    @Benchmark
+    public Object getAnswerMiss() {
+        try {
+            return repository.getAnswer(miss);
+        } catch (QuestionNotFoundException exp) {
+            return exp;
+        }
+    }
+}
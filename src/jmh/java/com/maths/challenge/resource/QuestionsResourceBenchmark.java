@@ -0,0 +1,76 @@
+package com.maths.challenge.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.arithmetic.NativeArithmeticEngine;
+import com.maths.challenge.component.ClientIdentifier;
+import com.maths.challenge.component.ClientRateLimiter;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.repository.FuzzyQuestionMatcher;
+import com.maths.challenge.repository.LocalFileRepository;
+import com.maths.challenge.repository.PreEncodedAnswers;
+import com.maths.challenge.repository.SimilarityMetric;
+import com.maths.challenge.repository.UnknownQuestionGuard;
+import com.maths.challenge.service.ArithmeticQuestionService;
+import com.maths.challenge.service.BasicQuestionService;
+import com.maths.challenge.service.BatchQuestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the full {@link QuestionsResource#askQuestion} path with the real resolver, services and
+ * repository wired by hand, without MockMvc or an HTTP server in between.
+ */
+@State(Scope.Benchmark)
+public class QuestionsResourceBenchmark {
+
+    @Param({"What is your name", "2 + 3 * 4", "Where do you see yourself in next 50 years?"})
+    private String question;
+
+    private QuestionsResource resource;
+    private QuestionRequest questionRequest;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalFileRepository repository =
+                new LocalFileRepository("src/main/resources/questions/basic_questions.txt", false, Duration.ZERO,
+                        new FuzzyQuestionMatcher(false, 0.5, 200, SimilarityMetric.JACCARD),
+                        new UnknownQuestionGuard(true, 0.01, meterRegistry),
+                        new PreEncodedAnswers(true, new ObjectMapper()), meterRegistry);
+        repository.init();
+        ArithmeticResultCache resultCache = new ArithmeticResultCache(true, 10_000, Duration.ofHours(1), meterRegistry);
+        QuestionClassifier questionClassifier = new QuestionClassifier(1000, 32, 250);
+        QuestionHandlerResolver resolver = new QuestionHandlerResolver(
+                new BasicQuestionService(repository, meterRegistry),
+                new ArithmeticQuestionService(new NativeArithmeticEngine(), resultCache, questionClassifier,
+                        meterRegistry),
+                questionClassifier,
+                new ClientRateLimiter(false, 1, 1, 1, 1, Duration.ofMinutes(10), 1, meterRegistry), meterRegistry);
+        resource = new QuestionsResource(resolver, new BatchQuestionService(resolver, ForkJoinPool.commonPool(), 100),
+                Duration.ofHours(1), new ClientIdentifier(Set.of(), Set.of()), new MockHttpServletRequest(),
+                meterRegistry);
+        questionRequest = new QuestionRequest(question);
+    }
+
+    @Benchmark
+    public Object askQuestion() {
+        try {
+            return resource.askQuestion(questionRequest);
+        } catch (QuestionNotFoundException exp) {
+            return exp;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.maths.challenge.service;
+
+import com.maths.challenge.arithmetic.ArithmeticEngine;
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.arithmetic.ExactArithmeticEngine;
+import com.maths.challenge.arithmetic.GraalArithmeticEngine;
+import com.maths.challenge.arithmetic.NativeArithmeticEngine;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+
+/**
+ * Measures {@link ArithmeticQuestionService#handleQuestion} on short, long and deeply nested expressions,
+ * for each arithmetic engine, with and without the result cache.
+ */
+@State(Scope.Benchmark)
+public class ArithmeticQuestionServiceBenchmark {
+
+    @Param({"native", "exact", "graal"})
+    private String engine;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    @Param({"short", "long", "nested"})
+    private String shape;
+
+    private ArithmeticEngine arithmeticEngine;
+    private ArithmeticQuestionService service;
+    private QuestionRequest questionRequest;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        arithmeticEngine = switch (engine) {
+            case "graal" -> new GraalArithmeticEngine(Runtime.getRuntime().availableProcessors(),
+                    Duration.ofSeconds(5), 10_000, 1_000, 10_000, Duration.ofSeconds(1), meterRegistry);
+            case "exact" -> new ExactArithmeticEngine(20, RoundingMode.HALF_EVEN, 1000);
+            default -> new NativeArithmeticEngine();
+        };
+        ArithmeticResultCache resultCache = new ArithmeticResultCache(cached, 10_000, Duration.ofHours(1), meterRegistry);
+        service = new ArithmeticQuestionService(arithmeticEngine, resultCache, new QuestionClassifier(1000, 64, 1000),
+                meterRegistry);
+        questionRequest = new QuestionRequest(expression(shape));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (arithmeticEngine instanceof GraalArithmeticEngine graalEngine) {
+            graalEngine.close();
+        }
+    }
+
+    @Benchmark
+    public AnswerResponse handleQuestion() {
+        return service.handleQuestion(questionRequest);
+    }
+
+    static String expression(String shape) {
+        return switch (shape) {
+            case "short" -> "2 + 3 * 4";
+            case "long" -> "1 + 2 * 3 - 4 / 5 + 6.5 * 7 - 8 + 9 * 10 - 11 / 12 + 13 * 14 - 15 + 16 * 17 - 18 / 19 + 20";
+            case "nested" -> "(".repeat(50) + "1 + 2" + ") * 2".repeat(50);
+            default -> throw new IllegalArgumentException("Unknown expression shape: " + shape);
+        };
+    }
+}
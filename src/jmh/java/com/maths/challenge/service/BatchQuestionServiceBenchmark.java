@@ -0,0 +1,93 @@
+package com.maths.challenge.service;
+
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.arithmetic.NativeArithmeticEngine;
+import com.maths.challenge.component.ClientRateLimiter;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.config.ExecutorConfig;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.BatchAnswer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BatchQuestionService#handleBatch} on platform threads and on virtual threads, with many batches
+ * in flight at the same time. Half of the questions are basic questions answered by a repository that blocks for a
+ * configurable time, as a database would; the other half are arithmetic questions.
+ * Run with '-PjavaVersion=21 -PjmhModes=thrpt,sample' to get throughput and p99 latency for both modes.
+ */
+@State(Scope.Benchmark)
+@Threads(32)
+public class BatchQuestionServiceBenchmark {
+
+    private static final int BATCH_SIZE = 20;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"0", "5"})
+    private long repositoryLatencyMillis;
+
+    private Executor questionExecutor;
+    private BatchQuestionService service;
+    private List<QuestionRequest> batch;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExecutorConfig executorConfig = new ExecutorConfig();
+        questionExecutor = "virtual".equals(threads)
+                ? executorConfig.virtualQuestionExecutor(0)
+                : executorConfig.questionExecutor(0);
+
+        QuestionHandler slowRepository = request -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(repositoryLatencyMillis);
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+            }
+            return new AnswerResponse("answer");
+        };
+        QuestionClassifier questionClassifier = new QuestionClassifier(1000, 32, 250);
+        ArithmeticResultCache resultCache = new ArithmeticResultCache(false, 1, Duration.ofMinutes(1), meterRegistry);
+        ArithmeticQuestionService arithmeticService = new ArithmeticQuestionService(new NativeArithmeticEngine(),
+                resultCache, questionClassifier, meterRegistry);
+        QuestionHandlerResolver resolver =
+                new QuestionHandlerResolver(slowRepository, arithmeticService, questionClassifier,
+                        new ClientRateLimiter(false, 1, 1, 1, 1, Duration.ofMinutes(10), 1, meterRegistry),
+                        meterRegistry);
+        service = new BatchQuestionService(resolver, questionExecutor, BATCH_SIZE);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            batch.add(new QuestionRequest(index % 2 == 0 ? "What is question number " + index : index + " * 2 + 1"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (questionExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public List<BatchAnswer> handleBatch() {
+        return service.handleBatch(batch, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.maths.challenge.service;
+
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.arithmetic.CompiledExpression;
+import com.maths.challenge.arithmetic.NativeArithmeticEngine;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+
+/**
+ * Measures the evaluation of {@code a * b + c} over a worksheet of rows, as one compiled template on one thread or
+ * split across cores, against asking {@link ArithmeticQuestionService} one question per row.
+ */
+@State(Scope.Benchmark)
+public class TemplateEvaluationServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private TemplateEvaluationService sequentialService;
+    private TemplateEvaluationService parallelService;
+    private ArithmeticQuestionService arithmeticService;
+    private CompiledExpression expression;
+    private double[][] columns;
+    private QuestionRequest[] questions;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sequentialService = new TemplateEvaluationService(1000, 32, 250, Integer.MAX_VALUE, Integer.MAX_VALUE, 1, 10,
+                meterRegistry);
+        parallelService = new TemplateEvaluationService(1000, 32, 250, Integer.MAX_VALUE, 8192, 0, 10,
+                meterRegistry);
+        arithmeticService = new ArithmeticQuestionService(new NativeArithmeticEngine(),
+                new ArithmeticResultCache(false, 1, Duration.ofMinutes(1), meterRegistry),
+                new QuestionClassifier(1000, 32, 250), meterRegistry);
+        expression = sequentialService.compile("a * b + c");
+        columns = new double[3][rows];
+        questions = new QuestionRequest[rows];
+        for (int row = 0; row < rows; row++) {
+            columns[0][row] = row % 12 + 1;
+            columns[1][row] = row % 10 + 1;
+            columns[2][row] = row % 100;
+            questions[row] = new QuestionRequest((row % 12 + 1) + " * " + (row % 10 + 1) + " + " + row % 100);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequentialService.close();
+        parallelService.close();
+    }
+
+    @Benchmark
+    public double[] compiledSequential() {
+        return sequentialService.evaluate(expression, columns);
+    }
+
+    @Benchmark
+    public double[] compiledParallel() {
+        return parallelService.evaluate(expression, columns);
+    }
+
+    @Benchmark
+    public void questionPerRow(Blackhole blackhole) {
+        for (QuestionRequest question : questions) {
+            blackhole.consume(arithmeticService.handleQuestion(question));
+        }
+    }
+}
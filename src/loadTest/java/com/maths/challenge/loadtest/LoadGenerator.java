@@ -0,0 +1,145 @@
+package com.maths.challenge.loadtest;
+
+import com.maths.challenge.loadtest.LoadProfile.Question;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asks questions at a fixed arrival rate, whether or not the earlier questions have been answered (an open model,
+ * like independent users), and records how long each takes.
+ * Every question has an intended start time on a fixed schedule and its response time is measured from that time
+ * rather than from when it was actually sent. When the service stalls, the questions that should have been sent in the
+ * meantime are then charged for the wait, instead of the generator quietly slowing down with the service
+ * (coordinated omission). The time from sending to answer is recorded separately as the service time.
+ * Each question is sent with a blocking call on its own thread: a virtual thread on Java 21 or later, a pooled
+ * platform thread otherwise.
+ */
+final class LoadGenerator {
+
+    private final URI endpoint;
+    private final LoadProfile profile;
+    private final Random random;
+
+    /**
+     * Constructs a new LoadGenerator.
+     *
+     * @param endpoint The URL questions are posted to.
+     * @param profile  The rate, duration and question mix to apply.
+     * @param random   The source of the questions drawn from the mix.
+     */
+    LoadGenerator(URI endpoint, LoadProfile profile, Random random) {
+        this.endpoint = endpoint;
+        this.profile = profile;
+        this.random = random;
+    }
+
+    /**
+     * Runs the warm-up and the measured period, and waits for the last questions to be answered.
+     *
+     * @return The results of the questions started after the warm-up.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    LoadResults run() throws InterruptedException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        long warmUpQuestions = (long) (profile.warmUp().toNanos() / intervalNanos);
+        long totalQuestions = warmUpQuestions + (long) (profile.duration().toNanos() / intervalNanos);
+        LoadResults results = new LoadResults();
+
+        ExecutorService executor = newExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(profile.timeout())
+                .build();
+        long start = System.nanoTime();
+        for (long index = 0; index < totalQuestions; index++) {
+            long intendedStart = start + (long) (index * intervalNanos);
+            waitUntil(intendedStart);
+            Question question = profile.nextQuestion(random);
+            boolean measured = index >= warmUpQuestions;
+            if (index == warmUpQuestions) {
+                results.start(intendedStart);
+            }
+            if (measured) {
+                results.dispatched(System.nanoTime() - intendedStart);
+            }
+            executor.execute(() -> ask(client, question, intendedStart, measured ? results : null));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(profile.timeout().toSeconds() + 10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private void ask(HttpClient client, Question question, long intendedStart, LoadResults results) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(profile.timeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"question\":" + toJson(question.text()) + "}"))
+                .build();
+        long sent = System.nanoTime();
+        String outcome;
+        try {
+            outcome = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (HttpTimeoutException exp) {
+            outcome = "timeout";
+        } catch (IOException exp) {
+            outcome = "error";
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            outcome = "error";
+        }
+        long answered = System.nanoTime();
+        if (results != null) {
+            results.record(question.kind(), outcome, answered - intendedStart, answered - sent, answered);
+        }
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Returns an executor starting a virtual thread per task when the runtime has them, and reusing platform threads
+     * otherwise. The generator is compiled for the Java 17 baseline, so virtual threads are looked up reflectively.
+     */
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exp) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Quotes a question as a JSON string.
+     */
+    static String toJson(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            } else if (character < 0x20) {
+                json.append(String.format("\\u%04x", (int) character));
+            } else {
+                json.append(character);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
@@ -0,0 +1,193 @@
+package com.maths.challenge.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The load a {@link LoadGenerator} applies: the rate questions are started at, for how long, and the mix of basic,
+ * arithmetic and unknown questions they are drawn from.
+ * Profiles are read from properties files such as {@code load-profiles/default.properties}; every question kind
+ * {@code <kind>} has a relative share {@code mix.<kind>} and its questions {@code questions.<kind>}, separated by
+ * semicolons. Each {@code {n}} in a question is replaced with a new random number when the question is drawn, so
+ * arithmetic questions are not all answered from the result cache.
+ */
+final class LoadProfile {
+
+    /**
+     * The placeholder replaced with a random number in the questions.
+     */
+    private static final String NUMBER = "{n}";
+
+    /**
+     * The question kinds a profile can mix, in the order they are reported.
+     */
+    static final List<String> KINDS = List.of("basic", "arithmetic", "unknown");
+
+    private final double rate;
+    private final Duration warmUp;
+    private final Duration duration;
+    private final Duration timeout;
+    private final List<QuestionKind> kinds;
+    private final int totalWeight;
+
+    private LoadProfile(double rate, Duration warmUp, Duration duration, Duration timeout, List<QuestionKind> kinds) {
+        this.rate = rate;
+        this.warmUp = warmUp;
+        this.duration = duration;
+        this.timeout = timeout;
+        this.kinds = List.copyOf(kinds);
+        this.totalWeight = kinds.stream().mapToInt(QuestionKind::weight).sum();
+    }
+
+    /**
+     * Reads a profile from the given properties.
+     *
+     * @param properties The properties of the profile.
+     * @return The profile.
+     * @throws IllegalArgumentException If a property is missing or invalid.
+     */
+    static LoadProfile from(Properties properties) {
+        double rate = Double.parseDouble(required(properties, "rate"));
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("The rate must be positive");
+        }
+        List<QuestionKind> kinds = new ArrayList<>();
+        for (String kind : KINDS) {
+            int weight = Integer.parseInt(properties.getProperty("mix." + kind, "0").strip());
+            if (weight < 0) {
+                throw new IllegalArgumentException("The share of " + kind + " questions must not be negative");
+            }
+            if (weight > 0) {
+                List<String> questions = Arrays.stream(required(properties, "questions." + kind).split(";"))
+                        .map(String::strip)
+                        .filter(question -> !question.isEmpty())
+                        .toList();
+                if (questions.isEmpty()) {
+                    throw new IllegalArgumentException("No " + kind + " questions in the profile");
+                }
+                kinds.add(new QuestionKind(kind, weight, questions));
+            }
+        }
+        if (kinds.isEmpty()) {
+            throw new IllegalArgumentException("The profile does not mix any questions");
+        }
+        return new LoadProfile(rate,
+                DurationStyle.detectAndParse(properties.getProperty("warm-up", "0s").strip()),
+                DurationStyle.detectAndParse(required(properties, "duration")),
+                DurationStyle.detectAndParse(properties.getProperty("timeout", "10s").strip()),
+                kinds);
+    }
+
+    /**
+     * Draws the next question from the mix.
+     *
+     * @param random The source of randomness of the calling thread.
+     * @return The question and its kind.
+     */
+    Question nextQuestion(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (QuestionKind kind : kinds) {
+            ticket -= kind.weight();
+            if (ticket < 0) {
+                String question = kind.questions().get(random.nextInt(kind.questions().size()));
+                return new Question(kind.name(), fillIn(question, random));
+            }
+        }
+        throw new IllegalStateException("The weights of the profile changed");
+    }
+
+    private static String fillIn(String question, Random random) {
+        int placeholder = question.indexOf(NUMBER);
+        if (placeholder < 0) {
+            return question;
+        }
+        StringBuilder filled = new StringBuilder(question.length() + 8);
+        int from = 0;
+        while (placeholder >= 0) {
+            filled.append(question, from, placeholder).append(1 + random.nextInt(1000));
+            from = placeholder + NUMBER.length();
+            placeholder = question.indexOf(NUMBER, from);
+        }
+        return filled.append(question, from, question.length()).toString();
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("The load profile has no " + key);
+        }
+        return value.strip();
+    }
+
+    /**
+     * Returns the number of questions started per second.
+     *
+     * @return The arrival rate.
+     */
+    double rate() {
+        return rate;
+    }
+
+    /**
+     * Returns how long questions are asked before they are measured.
+     *
+     * @return The warm-up duration.
+     */
+    Duration warmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Returns how long questions are asked and measured after the warm-up.
+     *
+     * @return The measured duration.
+     */
+    Duration duration() {
+        return duration;
+    }
+
+    /**
+     * Returns how long a question may take before it is counted as a timeout.
+     *
+     * @return The timeout of a question.
+     */
+    Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * Describes the mix as relative shares by kind, for the report.
+     *
+     * @return The share of each kind of question, in percent.
+     */
+    List<String> describeMix() {
+        return kinds.stream()
+                .map(kind -> kind.name() + " " + Math.round(100.0 * kind.weight() / totalWeight) + "%")
+                .toList();
+    }
+
+    /**
+     * A kind of question of the mix.
+     *
+     * @param name      The name of the kind.
+     * @param weight    The relative share of questions of this kind.
+     * @param questions The questions of this kind, possibly with {@code {n}} placeholders.
+     */
+    private record QuestionKind(String name, int weight, List<String> questions) {
+    }
+
+    /**
+     * A question drawn from the mix.
+     *
+     * @param kind The kind of the question.
+     * @param text The question, with its placeholders filled in.
+     */
+    record Question(String kind, String text) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.maths.challenge.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+class LoadProfileTest {
+
+    @Test
+    void testFrom_readsDefaultProfile() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = LoadProfileTest.class.getClassLoader()
+                .getResourceAsStream("load-profiles/default.properties")) {
+            properties.load(input);
+        }
+
+        LoadProfile profile = LoadProfile.from(properties);
+
+        assertEquals(200, profile.rate());
+        assertEquals(Duration.ofSeconds(10), profile.warmUp());
+        assertEquals(Duration.ofSeconds(60), profile.duration());
+        assertEquals(List.of("basic 60%", "arithmetic 30%", "unknown 10%"), profile.describeMix());
+    }
+
+    @Test
+    void testNextQuestion_drawsKindsByWeight() {
+        LoadProfile profile = LoadProfile.from(profile("mix.basic", "3", "mix.arithmetic", "1", "mix.unknown", "0"));
+        Random random = new Random(42);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int draw = 0; draw < 4000; draw++) {
+            counts.merge(profile.nextQuestion(random).kind(), 1, Integer::sum);
+        }
+
+        assertEquals(List.of("basic 75%", "arithmetic 25%"), profile.describeMix());
+        assertEquals(2, counts.size());
+        assertTrue(Math.abs(counts.get("basic") - 3000) < 150, "basic questions: " + counts.get("basic"));
+        assertTrue(Math.abs(counts.get("arithmetic") - 1000) < 150,
+                "arithmetic questions: " + counts.get("arithmetic"));
+    }
+
+    @Test
+    void testNextQuestion_fillsInEveryNumber() {
+        LoadProfile profile = LoadProfile.from(profile("mix.basic", "0", "mix.arithmetic", "1"));
+        Random random = new Random(42);
+
+        for (int draw = 0; draw < 100; draw++) {
+            String question = profile.nextQuestion(random).text();
+            String[] numbers = question.split(" \\+ ");
+            assertEquals(2, numbers.length, question);
+            for (String number : numbers) {
+                int value = Integer.parseInt(number);
+                assertTrue(value >= 1 && value <= 1000, question);
+            }
+        }
+    }
+
+    @Test
+    void testFrom_rejectsMissingKeys() {
+        Properties noRate = profile();
+        noRate.remove("rate");
+        Properties noDuration = profile();
+        noDuration.remove("duration");
+        Properties noQuestions = profile("mix.unknown", "1");
+
+        assertEquals("The load profile has no rate",
+                assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(noRate)).getMessage());
+        assertEquals("The load profile has no duration",
+                assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(noDuration)).getMessage());
+        assertEquals("The load profile has no questions.unknown",
+                assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(noQuestions)).getMessage());
+    }
+
+    @Test
+    void testFrom_rejectsInvalidRateAndShares() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(profile("mix.basic", "-1")));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(profile("mix.basic", "0")));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.from(profile("rate", "0")));
+    }
+
+    @Test
+    void testToJson_quotesQuestion() {
+        assertEquals("\"What is your name\"", LoadGenerator.toJson("What is your name"));
+        assertEquals("\"say \\\"hi\\\" \\\\ now\\u000a\\u0009\"", LoadGenerator.toJson("say \"hi\" \\ now\n\t"));
+    }
+
+    /**
+     * Returns a valid profile of basic questions, with the given keys and values overridden.
+     */
+    private static Properties profile(String... overrides) {
+        Properties properties = new Properties();
+        properties.setProperty("rate", "100");
+        properties.setProperty("duration", "10s");
+        properties.setProperty("mix.basic", "1");
+        properties.setProperty("questions.basic", "What is your name; Where are you from");
+        properties.setProperty("questions.arithmetic", "{n} + {n}");
+        for (int index = 0; index < overrides.length; index += 2) {
+            properties.setProperty(overrides[index], overrides[index + 1]);
+        }
+        return properties;
+    }
+}
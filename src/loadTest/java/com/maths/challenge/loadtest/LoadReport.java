@@ -0,0 +1,140 @@
+package com.maths.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reports the results of a load test to the console and to files that can be compared between versions.
+ * The JSON report holds the throughput, outcomes and latency percentiles; next to it, the full response time
+ * distribution is written in HdrHistogram's percentile format ({@code .hgrm}), which the HdrHistogram plotter can
+ * chart against the distributions of other runs.
+ */
+final class LoadReport {
+
+    /**
+     * The percentiles reported, besides the maximum.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    /**
+     * Microseconds per millisecond, the unit latencies are reported in.
+     */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String label;
+    private final String target;
+    private final LoadProfile profile;
+    private final LoadResults results;
+
+    /**
+     * Constructs a new LoadReport.
+     *
+     * @param label   The label of the run, such as the version under test.
+     * @param target  The URL the questions were posted to.
+     * @param profile The profile of the run.
+     * @param results The results of the run.
+     */
+    LoadReport(String label, String target, LoadProfile profile, LoadResults results) {
+        this.label = label;
+        this.target = target;
+        this.profile = profile;
+        this.results = results;
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param out The stream the report is printed to.
+     */
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%nLoad test '%s': %.1f questions/s for %s after a %s warm-up against %s%n",
+                label, profile.rate(), profile.duration(), profile.warmUp(), target);
+        out.printf(Locale.ROOT, "Mix: %s%n", String.join(", ", profile.describeMix()));
+        out.printf(Locale.ROOT, "Answered %d questions, %.1f/s; outcomes %s%n",
+                results.responseTimes().getTotalCount(), results.throughput(), results.outcomes());
+        out.printf(Locale.ROOT, "%-22s%s%n", "Latency (ms)", header());
+        out.printf(Locale.ROOT, "%-22s%s%n", "response time", row(results.responseTimes()));
+        out.printf(Locale.ROOT, "%-22s%s%n", "service time", row(results.serviceTimes()));
+        results.responseTimesByKind().forEach((kind, histogram) ->
+                out.printf(Locale.ROOT, "%-22s%s%n", kind + " response time", row(histogram)));
+        out.printf(Locale.ROOT, "Generator lag at most %.3f ms%n",
+                results.maxDispatchLagMicros() / MICROS_PER_MILLI);
+    }
+
+    /**
+     * Writes the JSON report to the given file and the response time distribution next to it.
+     *
+     * @param file The JSON file to write.
+     * @return The file the response time distribution was written to.
+     * @throws IOException If a file cannot be written.
+     */
+    Path write(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("timestamp", Instant.now().toString());
+        report.put("target", target);
+        report.put("rate", profile.rate());
+        report.put("warmUp", profile.warmUp().toString());
+        report.put("duration", profile.duration().toString());
+        report.put("mix", profile.describeMix());
+        report.put("answered", results.responseTimes().getTotalCount());
+        report.put("throughput", results.throughput());
+        report.put("outcomes", results.outcomes());
+        report.put("responseTimeMillis", percentiles(results.responseTimes()));
+        report.put("serviceTimeMillis", percentiles(results.serviceTimes()));
+        Map<String, Object> byKind = new LinkedHashMap<>();
+        results.responseTimesByKind().forEach((kind, histogram) -> byKind.put(kind, percentiles(histogram)));
+        report.put("responseTimeMillisByKind", byKind);
+        report.put("maxGeneratorLagMillis", results.maxDispatchLagMicros() / MICROS_PER_MILLI);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+        String name = file.getFileName().toString();
+        Path distribution = directory.resolve(name.replaceFirst("\\.json$", "") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+            results.responseTimes().outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        return distribution;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + format(percentile), histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        percentiles.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+        return percentiles;
+    }
+
+    private static String header() {
+        StringBuilder header = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            header.append(String.format(Locale.ROOT, "%10s", "p" + format(percentile)));
+        }
+        return header.append(String.format(Locale.ROOT, "%10s", "max")).toString();
+    }
+
+    private static String row(Histogram histogram) {
+        StringBuilder row = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(Locale.ROOT, "%10.3f",
+                    histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+        }
+        return row.append(String.format(Locale.ROOT, "%10.3f", histogram.getMaxValue() / MICROS_PER_MILLI))
+                .toString();
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,125 @@
+package com.maths.challenge.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and outcomes of the questions of a load test, recorded concurrently as the answers arrive.
+ * Latencies are kept in HDR histograms in microseconds with three significant digits, so the highest percentiles are
+ * exact to within 0.1% without keeping every sample.
+ */
+final class LoadResults {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Time from the intended start of each question to its answer, including any wait to be sent.
+     */
+    private final Histogram responseTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    /**
+     * Time from sending each question to its answer.
+     */
+    private final Histogram serviceTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    /**
+     * Response times by kind of question.
+     */
+    private final Map<String, Histogram> responseTimesByKind = new ConcurrentHashMap<>();
+    /**
+     * Number of questions by HTTP status, or {@code timeout} and {@code error}.
+     */
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    /**
+     * The longest time a question was sent after its intended start by the generator itself.
+     */
+    private final AtomicLong maxDispatchLag = new AtomicLong();
+    /**
+     * The time of the last answer.
+     */
+    private final AtomicLong end = new AtomicLong(Long.MIN_VALUE);
+    /**
+     * The intended start of the first measured question.
+     */
+    private volatile long start;
+
+    void start(long intendedStart) {
+        start = intendedStart;
+    }
+
+    void dispatched(long lagNanos) {
+        maxDispatchLag.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    /**
+     * Records the answer to a question.
+     *
+     * @param kind         The kind of the question.
+     * @param outcome      The HTTP status of the answer, or {@code timeout} or {@code error}.
+     * @param responseTime The time from the intended start of the question to its answer, in nanoseconds.
+     * @param serviceTime  The time from sending the question to its answer, in nanoseconds.
+     * @param answered     The time of the answer.
+     */
+    void record(String kind, String outcome, long responseTime, long serviceTime, long answered) {
+        long responseMicros = toMicros(responseTime);
+        responseTimes.recordValue(responseMicros);
+        serviceTimes.recordValue(toMicros(serviceTime));
+        responseTimesByKind.computeIfAbsent(kind, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(responseMicros);
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        end.accumulateAndGet(answered, Math::max);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    Histogram responseTimes() {
+        return responseTimes;
+    }
+
+    Histogram serviceTimes() {
+        return serviceTimes;
+    }
+
+    /**
+     * Returns the response times of each kind of question that was asked, in the order of {@link LoadProfile#KINDS}.
+     */
+    Map<String, Histogram> responseTimesByKind() {
+        Map<String, Histogram> byKind = new TreeMap<>((left, right) ->
+                Integer.compare(LoadProfile.KINDS.indexOf(left), LoadProfile.KINDS.indexOf(right)));
+        byKind.putAll(responseTimesByKind);
+        return byKind;
+    }
+
+    /**
+     * Returns the number of questions by outcome, in order.
+     */
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the number of questions answered per second over the measured period.
+     */
+    double throughput() {
+        long answered = responseTimes.getTotalCount();
+        long elapsed = end.get() - start;
+        return answered == 0 || elapsed <= 0 ? 0 : answered * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Returns the longest time the generator itself sent a question late, in microseconds. A lag close to the
+     * response times means the generator, not the service, was the bottleneck.
+     */
+    long maxDispatchLagMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxDispatchLag.get());
+    }
+}
@@ -0,0 +1,125 @@
+package com.maths.challenge.loadtest;
+
+import com.maths.challenge.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs a load test: starts the application on a random port, asks it questions at the rate and in the mix of a
+ * {@link LoadProfile}, and reports the throughput and latency percentiles to the console and to a JSON file.
+ * <p>
+ * Options are given as {@code --name=value}:
+ * <ul>
+ *     <li>{@code profile}: the name of a profile under {@code load-profiles/}, or the path of a properties file
+ *     (default {@code default});</li>
+ *     <li>{@code rate}, {@code warm-up}, {@code duration}, {@code timeout}, {@code mix.<kind>} and
+ *     {@code questions.<kind>}: override the values of the profile;</li>
+ *     <li>{@code url}: test an application that is already running at this URL instead of starting one;</li>
+ *     <li>{@code output}: the JSON report to write (default {@code build/load-test/load-test.json});</li>
+ *     <li>{@code label}: the label of the run in the report, such as the version under test;</li>
+ *     <li>{@code seed}: the seed of the question mix, to ask the same questions in every run.</li>
+ * </ul>
+ * Any other option, such as {@code --spring.profiles.active=local,reactive}, is passed to the application. The
+ * application is started with rate limiting disabled, as every question comes from the same client, and with its
+ * per-question logging turned down.
+ */
+public final class LoadTest {
+
+    private static final Set<String> OPTIONS = Set.of("profile", "url", "output", "label", "seed",
+            "rate", "warm-up", "duration", "timeout");
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs a load test with the given options and exits.
+     *
+     * @param args The options of the load test, and of the application under test.
+     * @throws Exception If the application cannot be started, or the report cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        Properties options = new Properties();
+        Map<String, String> applicationArgs = new LinkedHashMap<>();
+        applicationArgs.put("server.port", "0");
+        applicationArgs.put("robobob.rate-limit.enabled", "false");
+        applicationArgs.put("logging.level.com.maths.challenge", "WARN");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected an option --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (OPTIONS.contains(name) || name.startsWith("mix.") || name.startsWith("questions.")) {
+                options.setProperty(name, value);
+            } else {
+                applicationArgs.put(name, value);
+            }
+        }
+        Properties profileProperties = loadProfile(options.getProperty("profile", "default"));
+        profileProperties.putAll(options);
+        LoadProfile profile = LoadProfile.from(profileProperties);
+        Random random = options.containsKey("seed") ? new Random(Long.parseLong(options.getProperty("seed")))
+                : new Random();
+
+        String url = options.getProperty("url");
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            context = new SpringApplicationBuilder(Application.class)
+                    .run(applicationArgs.entrySet().stream()
+                            .map(option -> "--" + option.getKey() + "=" + option.getValue())
+                            .toArray(String[]::new));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            url = "http://localhost:" + port + "/api/questions";
+        }
+        try {
+            System.out.printf("Asking %s questions for %s after a %s warm-up%n", url, profile.duration(),
+                    profile.warmUp());
+            LoadResults results = new LoadGenerator(URI.create(url), profile, random).run();
+            LoadReport report = new LoadReport(options.getProperty("label", "robobob"), url, profile, results);
+            report.print(System.out);
+            Path output = Path.of(options.getProperty("output", "build/load-test/load-test.json"));
+            Path distribution = report.write(output);
+            System.out.printf("Report written to %s, response time distribution to %s%n", output, distribution);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Loads the properties of a profile, from a file if one exists at the given path, or from the classpath.
+     */
+    private static Properties loadProfile(String profile) throws IOException {
+        Properties properties = new Properties();
+        Path file = Path.of(profile);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+            return properties;
+        }
+        try (InputStream in = LoadTest.class.getClassLoader()
+                .getResourceAsStream("load-profiles/" + profile + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No load profile " + profile);
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
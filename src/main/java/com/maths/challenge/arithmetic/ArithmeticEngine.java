@@ -0,0 +1,72 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+
+import java.math.BigDecimal;
+
+/**
+ * Strategy for evaluating arithmetic expressions.
+ * The active implementation is selected with the {@code robobob.arithmetic.engine} property.
+ */
+public interface ArithmeticEngine {
+
+    /**
+     * Evaluates the given arithmetic expression.
+     *
+     * @param expression The arithmetic expression to evaluate.
+     * @return The result of the evaluation, as an Integer or Long for whole numbers or a Double otherwise; the
+     * exact engine returns a BigInteger or BigDecimal for numbers a Long cannot hold.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    Number evaluate(String expression) throws ArithmeticException;
+
+    /**
+     * Evaluates an expression that has already been scanned.
+     * Engines that work on the tokens of the expression override this to avoid reading the question again.
+     *
+     * @param expression The scanned arithmetic expression to evaluate.
+     * @return The result of the evaluation, as an Integer or Long for whole numbers or a Double otherwise; the
+     * exact engine returns a BigInteger or BigDecimal for numbers a Long cannot hold.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    default Number evaluate(ArithmeticExpression expression) throws ArithmeticException {
+        return evaluate(expression.requireValid().source());
+    }
+
+    /**
+     * Converts a raw double result into the number returned to callers.
+     * Whole numbers are returned as integers so that "4" is answered instead of "4.0", as a Long when they do not
+     * fit in an Integer; whole numbers beyond the range of a Long are left as doubles rather than truncated.
+     *
+     * @param value The raw result of the evaluation.
+     * @return The result as an Integer or Long for whole numbers or a Double otherwise.
+     * @throws ArithmeticEvaluationException If the value is Infinity or NaN.
+     */
+    static Number toResult(double value) {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new ArithmeticEvaluationException("Expression evaluated to an invalid number (Infinity or NaN).");
+        }
+
+        // checks if value is a whole number
+        if (value == Math.floor(value)) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            if (value >= -0x1p63 && value < 0x1p63) {
+                return (long) value;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Formats a result as the answer to an arithmetic question, without an exponent.
+     *
+     * @param result The result of an evaluation.
+     * @return The answer.
+     */
+    static String toAnswer(Number result) {
+        return result instanceof BigDecimal decimal ? decimal.toPlainString() : result.toString();
+    }
+}
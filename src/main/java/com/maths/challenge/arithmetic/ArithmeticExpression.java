@@ -0,0 +1,50 @@
+package com.maths.challenge.arithmetic;
+
+import java.util.List;
+
+/**
+ * An arithmetic question as read by the single pass of {@link ArithmeticTokenizer#scan(String, int, int, int)}.
+ * It carries either the tokens of the question, ready to be parsed, or the failure found while scanning it,
+ * which is reported without evaluating the question.
+ *
+ * @param source  The question the expression was read from.
+ * @param tokens  The tokens of the question, in order, or null if the scan failed.
+ * @param failure The failure found while scanning the question, or null if the scan succeeded.
+ */
+public record ArithmeticExpression(String source, List<Token> tokens, ArithmeticException failure) {
+
+    /**
+     * Creates an expression for a successfully scanned question.
+     *
+     * @param source The question the expression was read from.
+     * @param tokens The tokens of the question, in order.
+     * @return The scanned expression.
+     */
+    public static ArithmeticExpression of(String source, List<Token> tokens) {
+        return new ArithmeticExpression(source, tokens, null);
+    }
+
+    /**
+     * Creates an expression for a question that was rejected while being scanned.
+     *
+     * @param source  The question the expression was read from.
+     * @param failure The reason the question was rejected.
+     * @return The rejected expression.
+     */
+    public static ArithmeticExpression rejected(String source, ArithmeticException failure) {
+        return new ArithmeticExpression(source, null, failure);
+    }
+
+    /**
+     * Returns this expression if it was scanned successfully.
+     *
+     * @return This expression.
+     * @throws ArithmeticException The failure found while scanning the question, if any.
+     */
+    public ArithmeticExpression requireValid() {
+        if (failure != null) {
+            throw failure;
+        }
+        return this;
+    }
+}
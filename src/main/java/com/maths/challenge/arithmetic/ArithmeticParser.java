@@ -0,0 +1,159 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.arithmetic.ExpressionNode.BinaryNode;
+import com.maths.challenge.arithmetic.ExpressionNode.NegateNode;
+import com.maths.challenge.arithmetic.ExpressionNode.NumberNode;
+import com.maths.challenge.arithmetic.ExpressionNode.Operator;
+import com.maths.challenge.arithmetic.ExpressionNode.VariableNode;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+
+import java.util.List;
+
+/**
+ * Recursive descent parser that turns arithmetic {@link Token}s into an {@link ExpressionNode} tree.
+ * Operator precedence and associativity follow JavaScript:
+ * <pre>
+ * expression     := additive
+ * additive       := multiplicative (('+' | '-') multiplicative)*
+ * multiplicative := unary (('*' | '/') unary)*
+ * unary          := ('+' | '-') unary | exponent
+ * exponent       := primary ('**' unary)?
+ * primary        := NUMBER | VARIABLE | '(' additive ')'
+ * </pre>
+ * As in JavaScript, a unary operator directly in front of {@code **} (for example {@code -2**2}) is rejected.
+ */
+public final class ArithmeticParser {
+
+    /**
+     * The source expression, used in error messages.
+     */
+    private final String expression;
+    /**
+     * The tokens to parse.
+     */
+    private final List<Token> tokens;
+    /**
+     * The index of the next token to consume.
+     */
+    private int position;
+
+    /**
+     * Constructs a new ArithmeticParser for the given tokens.
+     *
+     * @param expression The source expression the tokens were read from.
+     * @param tokens     The tokens to parse.
+     */
+    public ArithmeticParser(String expression, List<Token> tokens) {
+        this.expression = expression;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses the tokens into an expression tree.
+     *
+     * @return The root node of the expression tree.
+     * @throws ArithmeticSyntaxException If the tokens do not form a valid expression.
+     */
+    public ExpressionNode parse() {
+        ExpressionNode root = parseAdditive();
+        if (position != tokens.size()) {
+            throw syntaxError();
+        }
+        return root;
+    }
+
+    private ExpressionNode parseAdditive() {
+        ExpressionNode node = parseMultiplicative();
+        while (true) {
+            if (match(TokenType.PLUS)) {
+                node = new BinaryNode(Operator.ADD, node, parseMultiplicative());
+            } else if (match(TokenType.MINUS)) {
+                node = new BinaryNode(Operator.SUBTRACT, node, parseMultiplicative());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode parseMultiplicative() {
+        ExpressionNode node = parseUnary();
+        while (true) {
+            if (match(TokenType.MULTIPLY)) {
+                node = new BinaryNode(Operator.MULTIPLY, node, parseUnary());
+            } else if (match(TokenType.DIVIDE)) {
+                node = new BinaryNode(Operator.DIVIDE, node, parseUnary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode parseUnary() {
+        if (peek(TokenType.PLUS) || peek(TokenType.MINUS)) {
+            return parsePrefixed();
+        }
+        return parseExponent();
+    }
+
+    /**
+     * Parses a chain of unary operators and their operand, which may not be the base of {@code **}.
+     */
+    private ExpressionNode parsePrefixed() {
+        if (match(TokenType.PLUS)) {
+            return parsePrefixed();
+        }
+        if (match(TokenType.MINUS)) {
+            return new NegateNode(parsePrefixed());
+        }
+        ExpressionNode operand = parsePrimary();
+        if (peek(TokenType.POWER)) {
+            throw syntaxError();
+        }
+        return operand;
+    }
+
+    private ExpressionNode parseExponent() {
+        ExpressionNode base = parsePrimary();
+        if (match(TokenType.POWER)) {
+            return new BinaryNode(Operator.POWER, base, parseUnary());
+        }
+        return base;
+    }
+
+    private ExpressionNode parsePrimary() {
+        if (position >= tokens.size()) {
+            throw syntaxError();
+        }
+        Token token = tokens.get(position++);
+        if (token.type() == TokenType.NUMBER) {
+            return new NumberNode(token.value(), token.position());
+        }
+        if (token.type() == TokenType.VARIABLE) {
+            return new VariableNode((int) token.value());
+        }
+        if (token.type() == TokenType.LEFT_PAREN) {
+            ExpressionNode inner = parseAdditive();
+            if (!match(TokenType.RIGHT_PAREN)) {
+                throw syntaxError();
+            }
+            return inner;
+        }
+        throw syntaxError();
+    }
+
+    private boolean peek(TokenType type) {
+        return position < tokens.size() && tokens.get(position).type() == type;
+    }
+
+    private boolean match(TokenType type) {
+        if (peek(type)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private ArithmeticSyntaxException syntaxError() {
+        return new ArithmeticSyntaxException("Invalid expression: " + expression);
+    }
+}
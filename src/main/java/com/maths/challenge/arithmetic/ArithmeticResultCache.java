@@ -0,0 +1,178 @@
+package com.maths.challenge.arithmetic;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of arithmetic answers keyed by the normalized expression.
+ * Expressions are trimmed and runs of whitespace are collapsed to a single space before lookup, so
+ * "2+2" and " 2+2 " share an entry. Failed evaluations are cached too, so that repeated invalid input
+ * does not pay for a full parse every time; only evaluations that timed out are not. Eviction is frequency-aware
+ * (W-TinyLFU) and entries expire after a configurable time to live. Hit, miss and eviction counts are published
+ * as cache metrics.
+ * Entries are futures of the outcome: the first caller to miss evaluates the expression on its own thread, outside
+ * any lock of the cache, and concurrent callers asking for the same expression wait for that evaluation instead of
+ * repeating it. Waiting on a future does not pin the carrier thread of a virtual thread.
+ */
+@Slf4j
+@Component
+public class ArithmeticResultCache {
+
+    /**
+     * Whether answers are cached at all.
+     */
+    private final boolean enabled;
+    /**
+     * Cached answers and failures keyed by normalized expression.
+     */
+    private final AsyncCache<String, CachedAnswer> cache;
+
+    /**
+     * Constructs a new ArithmeticResultCache with the specified bounds.
+     *
+     * @param enabled          Whether answers are cached at all.
+     * @param maximumSize      The maximum number of cached expressions.
+     * @param expireAfterWrite How long an answer stays cached.
+     * @param meterRegistry    The registry the cache metrics are published to.
+     */
+    public ArithmeticResultCache(@Value("${robobob.arithmetic.cache.enabled:true}") boolean enabled,
+                                 @Value("${robobob.arithmetic.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${robobob.arithmetic.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "arithmeticResults");
+    }
+
+    /**
+     * Returns the answer for the given expression, evaluating and caching it on a miss.
+     *
+     * @param expression The arithmetic expression as asked.
+     * @param evaluator  Function evaluating a normalized expression to its answer.
+     * @return The answer to the expression.
+     * @throws ArithmeticException The cached or newly raised failure if the expression cannot be evaluated.
+     */
+    public String getAnswer(String expression, Function<String, String> evaluator) {
+        if (!enabled) {
+            return evaluator.apply(expression);
+        }
+
+        String key = normalize(expression);
+        CompletableFuture<CachedAnswer> evaluation = new CompletableFuture<>();
+        CompletableFuture<CachedAnswer> future = cache.get(key, (ignored, executor) -> evaluation);
+        if (future == evaluation) {
+            // this caller missed: it evaluates after the entry is published, so the cache is not locked meanwhile
+            try {
+                evaluation.complete(evaluate(key, evaluator));
+            } catch (RuntimeException exp) {
+                // an exceptionally completed future is removed, so the expression is evaluated again next time
+                evaluation.completeExceptionally(exp);
+                throw exp;
+            }
+        }
+        CachedAnswer cached = join(future);
+        if (cached.failure() != null) {
+            throw cached.failure();
+        }
+        return cached.answer();
+    }
+
+    /**
+     * Trims the expression and collapses every run of whitespace into a single space.
+     * The expression is returned unchanged when it is already normalized.
+     *
+     * @param expression The expression to normalize.
+     * @return The normalized expression.
+     */
+    static String normalize(String expression) {
+        int length = expression.length();
+        int start = 0;
+        int end = length;
+        while (start < end && Character.isWhitespace(expression.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(expression.charAt(end - 1))) {
+            end--;
+        }
+
+        StringBuilder builder = null;
+        boolean previousWhitespace = false;
+        for (int index = start; index < end; index++) {
+            char current = expression.charAt(index);
+            if (!Character.isWhitespace(current)) {
+                if (builder != null) {
+                    builder.append(current);
+                }
+                previousWhitespace = false;
+            } else if (previousWhitespace) {
+                // the single space kept for this run has already been written
+                if (builder == null) {
+                    builder = new StringBuilder(end - start).append(expression, start, index);
+                }
+            } else {
+                if (builder == null && current != ' ') {
+                    builder = new StringBuilder(end - start).append(expression, start, index);
+                }
+                if (builder != null) {
+                    builder.append(' ');
+                }
+                previousWhitespace = true;
+            }
+        }
+
+        if (builder != null) {
+            return builder.toString();
+        }
+        return start == 0 && end == length ? expression : expression.substring(start, end);
+    }
+
+    private static CachedAnswer join(CompletableFuture<CachedAnswer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exp) {
+            if (exp.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exp;
+        }
+    }
+
+    private static CachedAnswer evaluate(String expression, Function<String, String> evaluator) {
+        try {
+            return new CachedAnswer(evaluator.apply(expression), null);
+        } catch (ArithmeticException exp) {
+            if (exp instanceof ArithmeticLimitExceededException limitExceeded
+                    && limitExceeded.getLimit() == Limit.TIMEOUT) {
+                // a timeout depends on the load at the time, so the expression is evaluated again next time
+                throw exp;
+            }
+            log.debug("Caching failed evaluation of {}: {}", expression, exp.getMessage());
+            return new CachedAnswer(null, exp);
+        }
+    }
+
+    /**
+     * The cached outcome of evaluating an expression: either an answer or the failure it raised.
+     *
+     * @param answer  The answer, or null if the evaluation failed.
+     * @param failure The failure, or null if the evaluation succeeded.
+     */
+    private record CachedAnswer(String answer, ArithmeticException failure) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an arithmetic expression into {@link Token}s.
+ * It accepts the characters allowed in an arithmetic question: digits, {@code + - * / .},
+ * parentheses and whitespace. {@code **} is read as a single exponentiation token, and {@code ++}/{@code --}
+ * are rejected as they are in JavaScript.
+ */
+public final class ArithmeticTokenizer {
+
+    private ArithmeticTokenizer() {
+    }
+
+    /**
+     * Tokenizes the given expression, without any limit on its length or nesting.
+     *
+     * @param expression The arithmetic expression to tokenize.
+     * @return The tokens of the expression, in order.
+     * @throws ArithmeticSyntaxException If the expression contains a character or number that is not allowed.
+     */
+    public static List<Token> tokenize(String expression) {
+        ArithmeticExpression scanned = scan(expression, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        if (scanned == null) {
+            throw new ArithmeticSyntaxException("Invalid expression: " + expression);
+        }
+        return scanned.requireValid().tokens();
+    }
+
+    /**
+     * Tokenizes an expression template, an arithmetic expression whose operands may also be named variables.
+     * A variable is a letter or underscore followed by letters, digits or underscores; the parts of the template
+     * between variables are read as any other arithmetic expression. Each variable is read as a
+     * {@link TokenType#VARIABLE} token whose value is its index in the given list, to which the variables are added
+     * in order of first appearance. The nesting and operators are limited over the whole template, as the parentheses
+     * opened in one part may only be closed in another.
+     *
+     * @param template      The expression template to tokenize.
+     * @param variables     The list the names of the variables are added to.
+     * @param maxDepth      The maximum nesting depth of parentheses.
+     * @param maxOperations The maximum number of operators, unary or binary.
+     * @return The tokens of the template, in order.
+     * @throws ArithmeticSyntaxException        If the template contains a character or number that is not allowed.
+     * @throws ArithmeticLimitExceededException If the template is nested deeper or has more operators than allowed.
+     */
+    public static List<Token> tokenizeTemplate(String template, List<String> variables, int maxDepth,
+                                               int maxOperations) {
+        List<Token> tokens = new ArrayList<>();
+        int length = template.length();
+        int start = 0;
+        int index = 0;
+        while (index < length) {
+            if (!isVariableStart(template.charAt(index))) {
+                index++;
+                continue;
+            }
+            addOperatorTokens(template, start, index, tokens);
+            int end = index + 1;
+            while (end < length && (isVariableStart(template.charAt(end)) || isDigit(template.charAt(end)))) {
+                end++;
+            }
+            String name = template.substring(index, end);
+            int variable = variables.indexOf(name);
+            if (variable < 0) {
+                variable = variables.size();
+                variables.add(name);
+            }
+            tokens.add(new Token(TokenType.VARIABLE, variable, index));
+            start = end;
+            index = end;
+        }
+        addOperatorTokens(template, start, length, tokens);
+        checkLimits(tokens, maxDepth, maxOperations);
+        return tokens;
+    }
+
+    /**
+     * Checks the nesting and the number of operators of a whole template, whose parts were scanned without limits.
+     */
+    private static void checkLimits(List<Token> tokens, int maxDepth, int maxOperations) {
+        int depth = 0;
+        int operations = 0;
+        for (Token token : tokens) {
+            switch (token.type()) {
+                case LEFT_PAREN -> {
+                    if (++depth > maxDepth) {
+                        throw new ArithmeticLimitExceededException(Limit.DEPTH,
+                                "Expression is nested deeper than " + maxDepth + " levels.");
+                    }
+                }
+                case RIGHT_PAREN -> depth--;
+                case NUMBER, VARIABLE -> {
+                    // operands are not limited
+                }
+                default -> {
+                    ArithmeticException failure = checkOperations(++operations, maxOperations);
+                    if (failure != null) {
+                        throw failure;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenizes the part of a template between two variables, keeping the offsets of its tokens in the template.
+     */
+    private static void addOperatorTokens(String template, int start, int end, List<Token> tokens) {
+        if (start == end) {
+            return;
+        }
+        ArithmeticExpression part = scan(template.substring(start, end), Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE);
+        if (part == null || part.failure() != null) {
+            throw new ArithmeticSyntaxException("Invalid expression: " + template);
+        }
+        for (Token token : part.tokens()) {
+            tokens.add(new Token(token.type(), token.value(), token.position() + start));
+        }
+    }
+
+    /**
+     * Classifies and tokenizes a question in a single pass.
+     * The question is arithmetic if it only contains characters allowed in an arithmetic expression. Nothing is
+     * allocated for a question that is rejected at its first character, and the scan stops as soon as a character
+     * that is not allowed is found. An arithmetic question that is longer, nested deeper or has more operators than
+     * allowed, or whose tokens are malformed, is returned with the failure instead of its tokens.
+     *
+     * @param question      The question to scan.
+     * @param maxLength     The maximum length of an arithmetic question, in characters.
+     * @param maxDepth      The maximum nesting depth of parentheses.
+     * @param maxOperations The maximum number of operators, unary or binary.
+     * @return The scanned expression, or null if the question is not arithmetic.
+     */
+    public static ArithmeticExpression scan(String question, int maxLength, int maxDepth, int maxOperations) {
+        int length = question.length();
+        // an over-long question is still scanned to classify it, but no tokens are kept
+        boolean tooLong = length > maxLength;
+        ArithmeticException failure = null;
+        List<Token> tokens = null;
+        int depth = 0;
+        int operations = 0;
+        int index = 0;
+        while (index < length) {
+            char current = question.charAt(index);
+            if (!isArithmetic(current)) {
+                return null;
+            }
+            if (tooLong || failure != null || isWhitespace(current)) {
+                index++;
+                continue;
+            }
+            if (tokens == null) {
+                tokens = new ArrayList<>();
+            }
+
+            if (isDigit(current) || current == '.') {
+                int end = numberEnd(question, index);
+                if (end < 0) {
+                    failure = new ArithmeticSyntaxException("Invalid expression: " + question);
+                } else {
+                    tokens.add(new Token(TokenType.NUMBER, Double.parseDouble(question.substring(index, end)), index));
+                    index = end;
+                    continue;
+                }
+            } else if (current == '*' && index + 1 < length && question.charAt(index + 1) == '*') {
+                failure = checkOperations(++operations, maxOperations);
+                tokens.add(new Token(TokenType.POWER, 0, index));
+                index++;
+            } else if ((current == '+' || current == '-') && index + 1 < length && question.charAt(index + 1) == current) {
+                // "++" and "--" are increment/decrement operators in JavaScript, which are never valid on numbers
+                failure = new ArithmeticSyntaxException("Invalid expression: " + question);
+            } else {
+                TokenType type = operatorType(current);
+                if (type == TokenType.LEFT_PAREN && ++depth > maxDepth) {
+                    failure = new ArithmeticLimitExceededException(Limit.DEPTH,
+                            "Expression is nested deeper than " + maxDepth + " levels.");
+                } else if (type == TokenType.RIGHT_PAREN) {
+                    depth--;
+                } else if (type != TokenType.LEFT_PAREN) {
+                    failure = checkOperations(++operations, maxOperations);
+                }
+                tokens.add(new Token(type, 0, index));
+            }
+            index++;
+        }
+
+        if (tooLong) {
+            return ArithmeticExpression.rejected(question, new ArithmeticLimitExceededException(Limit.LENGTH,
+                    "Expression is longer than " + maxLength + " characters."));
+        }
+        if (failure != null) {
+            return ArithmeticExpression.rejected(question, failure);
+        }
+        return ArithmeticExpression.of(question, tokens == null ? List.of() : tokens);
+    }
+
+    /**
+     * Returns the failure for an expression with too many operators, or null if the limit is not reached yet.
+     */
+    private static ArithmeticException checkOperations(int operations, int maxOperations) {
+        if (operations > maxOperations) {
+            return new ArithmeticLimitExceededException(Limit.OPERATIONS,
+                    "Expression has more than " + maxOperations + " operations.");
+        }
+        return null;
+    }
+
+    /**
+     * Finds the end of the decimal number starting at the given offset.
+     *
+     * @param question The question being scanned.
+     * @param start    The offset of the first character of the number.
+     * @return The offset of the first character after the number, or -1 if the number has no digits.
+     */
+    private static int numberEnd(String question, int start) {
+        int length = question.length();
+        int index = start;
+        int digits = 0;
+        while (index < length && isDigit(question.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < length && question.charAt(index) == '.') {
+            index++;
+            while (index < length && isDigit(question.charAt(index))) {
+                index++;
+                digits++;
+            }
+        }
+        return digits == 0 ? -1 : index;
+    }
+
+    /**
+     * Maps a single operator or parenthesis character to its token type.
+     *
+     * @param current The character to map.
+     * @return The token type of the character.
+     */
+    private static TokenType operatorType(char current) {
+        return switch (current) {
+            case '+' -> TokenType.PLUS;
+            case '-' -> TokenType.MINUS;
+            case '*' -> TokenType.MULTIPLY;
+            case '/' -> TokenType.DIVIDE;
+            case '(' -> TokenType.LEFT_PAREN;
+            case ')' -> TokenType.RIGHT_PAREN;
+            default -> throw new IllegalStateException("Unexpected operator: " + current);
+        };
+    }
+
+    /**
+     * Checks whether the character may appear in an arithmetic question.
+     */
+    private static boolean isArithmetic(char value) {
+        return isDigit(value) || isWhitespace(value) || switch (value) {
+            case '+', '-', '*', '/', '.', '(', ')' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isVariableStart(char value) {
+        return (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z') || value == '_';
+    }
+
+    private static boolean isDigit(char value) {
+        return value >= '0' && value <= '9';
+    }
+
+    /**
+     * Checks for the whitespace characters matched by {@code \s} in a regular expression.
+     */
+    private static boolean isWhitespace(char value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\u000B' || value == '\f' || value == '\r';
+    }
+}
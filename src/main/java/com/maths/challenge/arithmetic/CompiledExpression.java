@@ -0,0 +1,310 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.arithmetic.ExpressionNode.BinaryNode;
+import com.maths.challenge.arithmetic.ExpressionNode.NegateNode;
+import com.maths.challenge.arithmetic.ExpressionNode.VariableNode;
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An expression template, such as {@code a * b + c}, compiled once to be evaluated over many rows of variable values.
+ * The template is parsed like any arithmetic question, its constant sub-expressions are folded, and the tree is
+ * flattened into a stack program. The program is run one instruction at a time over a block of rows rather than one
+ * row at a time, so each instruction is a tight loop over primitive arrays, which the JIT can unroll and vectorize,
+ * and nothing is allocated per row. Values are computed in double precision, like {@link NativeArithmeticEngine};
+ * a row dividing by zero gets an infinite or NaN result rather than failing the others.
+ * A compiled expression is immutable and can be evaluated by several threads at the same time, on disjoint rows.
+ */
+public final class CompiledExpression {
+
+    /**
+     * The number of rows each instruction is run over at a time; the stack of a block fits in the L1 or L2 cache.
+     */
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int CONSTANT = 0;
+    private static final int VARIABLE = 1;
+    private static final int NEGATE = 2;
+    private static final int ADD = 3;
+    private static final int SUBTRACT = 4;
+    private static final int MULTIPLY = 5;
+    private static final int DIVIDE = 6;
+    private static final int POWER = 7;
+
+    /**
+     * The source template.
+     */
+    private final String template;
+    /**
+     * The names of the variables, in order of first appearance in the template.
+     */
+    private final List<String> variables;
+    /**
+     * The instructions of the program.
+     */
+    private final int[] opcodes;
+    /**
+     * The operand of each instruction: the index of a constant or of a variable, unused otherwise.
+     */
+    private final int[] operands;
+    /**
+     * The constants of the program.
+     */
+    private final double[] constants;
+    /**
+     * The largest number of blocks on the stack while the program runs.
+     */
+    private final int maxStackDepth;
+
+    private CompiledExpression(String template, List<String> variables, Program program) {
+        this.template = template;
+        this.variables = List.copyOf(variables);
+        this.opcodes = program.opcodes.stream().mapToInt(Integer::intValue).toArray();
+        this.operands = program.operands.stream().mapToInt(Integer::intValue).toArray();
+        this.constants = program.constants.stream().mapToDouble(Double::doubleValue).toArray();
+        this.maxStackDepth = program.maxDepth;
+    }
+
+    /**
+     * Compiles the given expression template, without any limit on its nesting or operators.
+     *
+     * @param template The template, an arithmetic expression whose operands may be named variables.
+     * @return The compiled expression.
+     * @throws ArithmeticSyntaxException If the template is not a valid expression.
+     */
+    public static CompiledExpression compile(String template) {
+        return compile(template, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compiles the given expression template, within the limits of an arithmetic question.
+     *
+     * @param template      The template, an arithmetic expression whose operands may be named variables.
+     * @param maxDepth      The maximum nesting depth of parentheses.
+     * @param maxOperations The maximum number of operators, unary or binary.
+     * @return The compiled expression.
+     * @throws ArithmeticSyntaxException        If the template is not a valid expression.
+     * @throws ArithmeticLimitExceededException If the template is nested deeper or has more operators than allowed.
+     */
+    public static CompiledExpression compile(String template, int maxDepth, int maxOperations) {
+        List<String> variables = new ArrayList<>();
+        List<Token> tokens = ArithmeticTokenizer.tokenizeTemplate(template, variables, maxDepth, maxOperations);
+        if (tokens.isEmpty()) {
+            throw new ArithmeticEvaluationException("Expression did not evaluate to a numeric result.");
+        }
+        ExpressionNode root = new ArithmeticParser(template, tokens).parse();
+        Program program = new Program();
+        program.markVariables(root);
+        program.emit(root);
+        return new CompiledExpression(template, variables, program);
+    }
+
+    /**
+     * Returns the source template.
+     *
+     * @return The template the expression was compiled from.
+     */
+    public String template() {
+        return template;
+    }
+
+    /**
+     * Returns the names of the variables, in the order their columns are expected in.
+     *
+     * @return The names of the variables, in order of first appearance in the template.
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Evaluates the expression over every row of the given columns.
+     *
+     * @param columns The values of each variable, in the order of {@link #variables()}, all of the same length.
+     * @return The result of each row.
+     * @throws IllegalArgumentException If the columns do not match the variables.
+     */
+    public double[] evaluate(double[][] columns) {
+        double[] results = new double[rows(columns)];
+        evaluate(columns, results, 0, results.length);
+        return results;
+    }
+
+    /**
+     * Counts the rows of the given columns, checking that there is one column per variable.
+     * A template without variables has a single row.
+     *
+     * @param columns The values of each variable, in the order of {@link #variables()}.
+     * @return The number of rows.
+     * @throws IllegalArgumentException If the columns do not match the variables or differ in length.
+     */
+    public int rows(double[][] columns) {
+        if (columns.length != variables.size()) {
+            throw new IllegalArgumentException("Expected values for the variables " + variables + " but got "
+                    + columns.length + " columns");
+        }
+        if (columns.length == 0) {
+            return 1;
+        }
+        int rows = columns[0].length;
+        for (int column = 1; column < columns.length; column++) {
+            if (columns[column].length != rows) {
+                throw new IllegalArgumentException("The values of " + variables.get(column) + " have "
+                        + columns[column].length + " rows instead of " + rows);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Evaluates the expression over a range of rows, writing the results into the same rows of the results array.
+     * Threads evaluating disjoint ranges do not interfere with each other.
+     *
+     * @param columns The values of each variable, in the order of {@link #variables()}.
+     * @param results The array the results are written to.
+     * @param from    The first row to evaluate, inclusive.
+     * @param to      The last row to evaluate, exclusive.
+     */
+    public void evaluate(double[][] columns, double[] results, int from, int to) {
+        double[][] stack = new double[maxStackDepth][Math.min(BLOCK_SIZE, Math.max(to - from, 0))];
+        for (int offset = from; offset < to; offset += BLOCK_SIZE) {
+            evaluateBlock(columns, results, offset, Math.min(BLOCK_SIZE, to - offset), stack);
+        }
+    }
+
+    private void evaluateBlock(double[][] columns, double[] results, int offset, int count, double[][] stack) {
+        int top = -1;
+        for (int instruction = 0; instruction < opcodes.length; instruction++) {
+            int opcode = opcodes[instruction];
+            if (opcode == CONSTANT) {
+                Arrays.fill(stack[++top], 0, count, constants[operands[instruction]]);
+            } else if (opcode == VARIABLE) {
+                System.arraycopy(columns[operands[instruction]], offset, stack[++top], 0, count);
+            } else if (opcode == NEGATE) {
+                double[] values = stack[top];
+                for (int row = 0; row < count; row++) {
+                    values[row] = -values[row];
+                }
+            } else {
+                double[] right = stack[top--];
+                apply(opcode, stack[top], right, count);
+            }
+        }
+        System.arraycopy(stack[0], 0, results, offset, count);
+    }
+
+    /**
+     * Applies a binary operator to a block, leaving the results in the left operand.
+     */
+    private static void apply(int opcode, double[] left, double[] right, int count) {
+        switch (opcode) {
+            case ADD -> {
+                for (int row = 0; row < count; row++) {
+                    left[row] += right[row];
+                }
+            }
+            case SUBTRACT -> {
+                for (int row = 0; row < count; row++) {
+                    left[row] -= right[row];
+                }
+            }
+            case MULTIPLY -> {
+                for (int row = 0; row < count; row++) {
+                    left[row] *= right[row];
+                }
+            }
+            case DIVIDE -> {
+                for (int row = 0; row < count; row++) {
+                    left[row] /= right[row];
+                }
+            }
+            case POWER -> {
+                for (int row = 0; row < count; row++) {
+                    left[row] = Math.pow(left[row], right[row]);
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected opcode: " + opcode);
+        }
+    }
+
+    /**
+     * The stack program of a template, as it is emitted from its tree.
+     */
+    private static final class Program {
+
+        private final List<Integer> opcodes = new ArrayList<>();
+        private final List<Integer> operands = new ArrayList<>();
+        private final List<Double> constants = new ArrayList<>();
+        /**
+         * The nodes with a variable in their sub-tree, which cannot be folded.
+         */
+        private final Set<ExpressionNode> withVariables = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int depth;
+        private int maxDepth;
+
+        /**
+         * Emits the instructions computing the given node, folding the sub-expressions without variables.
+         */
+        void emit(ExpressionNode node) {
+            if (!withVariables.contains(node)) {
+                constants.add(node.evaluate());
+                add(CONSTANT, constants.size() - 1, 1);
+            } else if (node instanceof VariableNode variable) {
+                add(VARIABLE, variable.index(), 1);
+            } else if (node instanceof NegateNode negate) {
+                emit(negate.operand());
+                add(NEGATE, 0, 0);
+            } else {
+                BinaryNode binary = (BinaryNode) node;
+                emit(binary.left());
+                emit(binary.right());
+                int opcode = switch (binary.operator()) {
+                    case ADD -> ADD;
+                    case SUBTRACT -> SUBTRACT;
+                    case MULTIPLY -> MULTIPLY;
+                    case DIVIDE -> DIVIDE;
+                    case POWER -> POWER;
+                };
+                add(opcode, 0, -1);
+            }
+        }
+
+        private void add(int opcode, int operand, int stackChange) {
+            opcodes.add(opcode);
+            operands.add(operand);
+            depth += stackChange;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        /**
+         * Records the nodes of the given tree that have a variable in their sub-tree, visiting each node once.
+         *
+         * @return Whether the given node has a variable in its sub-tree.
+         */
+        boolean markVariables(ExpressionNode node) {
+            boolean hasVariables;
+            if (node instanceof VariableNode) {
+                hasVariables = true;
+            } else if (node instanceof NegateNode negate) {
+                hasVariables = markVariables(negate.operand());
+            } else if (node instanceof BinaryNode binary) {
+                // both sides are visited, so that the nodes with variables on the right are marked too
+                hasVariables = markVariables(binary.left()) | markVariables(binary.right());
+            } else {
+                hasVariables = false;
+            }
+            if (hasVariables) {
+                withVariables.add(node);
+            }
+            return hasVariables;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Arithmetic engine that evaluates expressions exactly, in decimal rather than in IEEE 754 double arithmetic.
+ * It parses expressions like {@link NativeArithmeticEngine}, so it accepts the same questions, but
+ * {@code 0.1 + 0.2} is answered 0.3 and whole numbers of any size are answered in full instead of being rounded.
+ * Expressions are evaluated on primitive longs and only promoted to arbitrary precision when a value no longer fits
+ * (see {@link ExactEvaluator}). Divisions that do not terminate are rounded to {@code division-scale} decimal places,
+ * fractional powers are approximated in double precision, and results with more than {@code max-digits} digits are
+ * rejected. This engine is active when {@code robobob.arithmetic.engine} is set to {@code exact}.
+ */
+@Component
+@ConditionalOnProperty(name = "robobob.arithmetic.engine", havingValue = "exact")
+public class ExactArithmeticEngine implements ArithmeticEngine {
+
+    /**
+     * The number of decimal places a division that does not terminate is rounded to.
+     */
+    private final int divisionScale;
+    /**
+     * The rounding applied to divisions that do not terminate.
+     */
+    private final RoundingMode roundingMode;
+    /**
+     * The largest number of digits of an intermediate or final result.
+     */
+    private final int maxDigits;
+
+    /**
+     * Constructs a new ExactArithmeticEngine with the specified division settings.
+     *
+     * @param divisionScale The number of decimal places a division that does not terminate is rounded to.
+     * @param roundingMode  The rounding applied to divisions that do not terminate.
+     * @param maxDigits     The largest number of digits of an intermediate or final result.
+     */
+    public ExactArithmeticEngine(@Value("${robobob.arithmetic.exact.division-scale:20}") int divisionScale,
+                                 @Value("${robobob.arithmetic.exact.rounding:HALF_EVEN}") RoundingMode roundingMode,
+                                 @Value("${robobob.arithmetic.exact.max-digits:1000}") int maxDigits) {
+        if (divisionScale < 0) {
+            throw new IllegalArgumentException("The division scale must not be negative");
+        }
+        if (maxDigits <= 0) {
+            throw new IllegalArgumentException("The maximum number of digits must be positive");
+        }
+        this.divisionScale = divisionScale;
+        this.roundingMode = roundingMode;
+        this.maxDigits = maxDigits;
+    }
+
+    /**
+     * Evaluates the given arithmetic expression.
+     *
+     * @param expression The arithmetic expression to evaluate.
+     * @return The exact result of the evaluation.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    @Override
+    public Number evaluate(String expression) throws ArithmeticException {
+        return evaluate(expression, ArithmeticTokenizer.tokenize(expression));
+    }
+
+    /**
+     * Evaluates the tokens of an expression that has already been scanned, without reading the question again.
+     *
+     * @param expression The scanned arithmetic expression to evaluate.
+     * @return The exact result of the evaluation.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    @Override
+    public Number evaluate(ArithmeticExpression expression) throws ArithmeticException {
+        return evaluate(expression.source(), expression.requireValid().tokens());
+    }
+
+    private Number evaluate(String expression, List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            throw new ArithmeticEvaluationException("Expression did not evaluate to a numeric result.");
+        }
+
+        ExpressionNode root = new ArithmeticParser(expression, tokens).parse();
+        return new ExactEvaluator(expression, divisionScale, roundingMode, maxDigits).evaluate(root);
+    }
+}
@@ -0,0 +1,371 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.arithmetic.ExpressionNode.BinaryNode;
+import com.maths.challenge.arithmetic.ExpressionNode.NegateNode;
+import com.maths.challenge.arithmetic.ExpressionNode.NumberNode;
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Evaluates an expression tree with exact decimal arithmetic, for one evaluation of the {@link ExactArithmeticEngine}.
+ * The tree is first evaluated on scaled {@code long}s, a value being an unscaled long and a number of decimal
+ * places, with overflow detected by the {@link Math} exact operations. Most questions never leave this path, which
+ * allocates nothing but the evaluator. When a value no longer fits, or a division or power has no exact scaled long
+ * result, the whole tree is evaluated again with {@link BigDecimal}s: divisions that do not terminate are rounded to
+ * the division scale, and results with more digits than allowed are rejected.
+ */
+final class ExactEvaluator {
+
+    /**
+     * Signals that the scaled long evaluation cannot continue. It is thrown often enough under some workloads that
+     * a single instance without a stack trace is reused.
+     */
+    private static final RuntimeException PROMOTION = new RuntimeException("Promoted to BigDecimal", null, false,
+            false) {
+    };
+    /**
+     * The largest number of decimal places of a scaled long; 10 to this power still fits in a long.
+     */
+    private static final int MAX_LONG_SCALE = 18;
+    /**
+     * Powers of ten up to {@link #MAX_LONG_SCALE}.
+     */
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_SCALE + 1];
+    /**
+     * log10(2), to estimate the digits of a power from the bit length of its base.
+     */
+    private static final double LOG10_2 = Math.log10(2);
+    private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int index = 1; index < POWERS_OF_TEN.length; index++) {
+            POWERS_OF_TEN[index] = POWERS_OF_TEN[index - 1] * 10;
+        }
+    }
+
+    /**
+     * The source expression, holding the digits of the literals.
+     */
+    private final String expression;
+    /**
+     * The number of decimal places a division that does not terminate is rounded to.
+     */
+    private final int divisionScale;
+    /**
+     * The rounding applied to divisions that do not terminate.
+     */
+    private final RoundingMode roundingMode;
+    /**
+     * The largest number of digits of an intermediate or final result.
+     */
+    private final int maxDigits;
+    /**
+     * The number of decimal places of the value last returned by {@link #evaluateScaled(ExpressionNode)}.
+     */
+    private int scale;
+
+    /**
+     * Constructs a new ExactEvaluator for one expression.
+     *
+     * @param expression    The source expression, holding the digits of the literals.
+     * @param divisionScale The number of decimal places a division that does not terminate is rounded to.
+     * @param roundingMode  The rounding applied to divisions that do not terminate.
+     * @param maxDigits     The largest number of digits of an intermediate or final result.
+     */
+    ExactEvaluator(String expression, int divisionScale, RoundingMode roundingMode, int maxDigits) {
+        this.expression = expression;
+        this.divisionScale = divisionScale;
+        this.roundingMode = roundingMode;
+        this.maxDigits = maxDigits;
+    }
+
+    /**
+     * Evaluates the given tree.
+     *
+     * @param root The root of the expression tree.
+     * @return The result as an Integer or Long for whole numbers that fit, a BigInteger for larger whole numbers
+     * or a BigDecimal without trailing zeros otherwise.
+     * @throws ArithmeticException If the expression divides by zero or its result has too many digits.
+     */
+    Number evaluate(ExpressionNode root) {
+        long unscaled;
+        try {
+            unscaled = evaluateScaled(root);
+        } catch (RuntimeException exp) {
+            if (exp != PROMOTION) {
+                throw exp;
+            }
+            return toResult(evaluateDecimal(root));
+        }
+        while (scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        if (scale > 0) {
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        if (unscaled == (int) unscaled) {
+            return (int) unscaled;
+        }
+        return unscaled;
+    }
+
+    private long evaluateScaled(ExpressionNode node) {
+        if (node instanceof NumberNode number) {
+            return parseScaled(number.position());
+        }
+        if (node instanceof NegateNode negate) {
+            return negate(evaluateScaled(negate.operand()));
+        }
+        BinaryNode binary = (BinaryNode) node;
+        long left = evaluateScaled(binary.left());
+        int leftScale = scale;
+        long right = evaluateScaled(binary.right());
+        return apply(binary.operator(), left, leftScale, right, scale);
+    }
+
+    /**
+     * Applies an operator to two scaled longs, leaving the scale of the result in {@link #scale}.
+     */
+    private long apply(ExpressionNode.Operator operator, long left, int leftScale, long right, int rightScale) {
+        switch (operator) {
+            case ADD, SUBTRACT -> {
+                scale = Math.max(leftScale, rightScale);
+                long alignedLeft = multiply(left, POWERS_OF_TEN[scale - leftScale]);
+                long alignedRight = multiply(right, POWERS_OF_TEN[scale - rightScale]);
+                return operator == ExpressionNode.Operator.ADD
+                        ? add(alignedLeft, alignedRight)
+                        : add(alignedLeft, negate(alignedRight));
+            }
+            case MULTIPLY -> {
+                scale = leftScale + rightScale;
+                if (scale > MAX_LONG_SCALE) {
+                    throw PROMOTION;
+                }
+                return multiply(left, right);
+            }
+            case DIVIDE -> {
+                if (right == 0) {
+                    throw invalidNumber();
+                }
+                if (left % right != 0 || (left == Long.MIN_VALUE && right == -1)) {
+                    throw PROMOTION;
+                }
+                scale = leftScale - rightScale;
+                long quotient = left / right;
+                if (scale < 0) {
+                    quotient = multiply(quotient, POWERS_OF_TEN[-scale]);
+                    scale = 0;
+                }
+                return quotient;
+            }
+            case POWER -> {
+                long exponent = toWholeNumber(right, rightScale);
+                if (exponent < 0 || (long) leftScale * exponent > MAX_LONG_SCALE) {
+                    throw PROMOTION;
+                }
+                scale = leftScale * (int) exponent;
+                long result = 1;
+                long base = left;
+                while (exponent > 0) {
+                    if ((exponent & 1) == 1) {
+                        result = multiply(result, base);
+                    }
+                    exponent >>= 1;
+                    if (exponent > 0) {
+                        base = multiply(base, base);
+                    }
+                }
+                return result;
+            }
+            default -> throw new IllegalStateException("Unexpected operator: " + operator);
+        }
+    }
+
+    /**
+     * Reads the literal at the given offset as an unscaled long, leaving its number of decimal places in
+     * {@link #scale}.
+     */
+    private long parseScaled(int position) {
+        long unscaled = 0;
+        int decimals = -1;
+        for (int index = position; index < expression.length(); index++) {
+            char current = expression.charAt(index);
+            if (current == '.') {
+                decimals = 0;
+            } else if (current >= '0' && current <= '9') {
+                unscaled = add(multiply(unscaled, 10), current - '0');
+                if (decimals >= 0 && ++decimals > MAX_LONG_SCALE) {
+                    throw PROMOTION;
+                }
+            } else {
+                break;
+            }
+        }
+        scale = Math.max(decimals, 0);
+        return unscaled;
+    }
+
+    /**
+     * Returns the whole number a scaled long holds, or promotes the evaluation if it holds a fraction.
+     */
+    private static long toWholeNumber(long unscaled, int scale) {
+        long divisor = POWERS_OF_TEN[scale];
+        if (unscaled % divisor != 0) {
+            throw PROMOTION;
+        }
+        return unscaled / divisor;
+    }
+
+    private static long add(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException exp) {
+            throw PROMOTION;
+        }
+    }
+
+    private static long multiply(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException exp) {
+            throw PROMOTION;
+        }
+    }
+
+    private static long negate(long value) {
+        try {
+            return Math.negateExact(value);
+        } catch (ArithmeticException exp) {
+            throw PROMOTION;
+        }
+    }
+
+    private BigDecimal evaluateDecimal(ExpressionNode node) {
+        BigDecimal result;
+        if (node instanceof NumberNode number) {
+            result = new BigDecimal(literal(number.position()));
+        } else if (node instanceof NegateNode negate) {
+            result = evaluateDecimal(negate.operand()).negate();
+        } else {
+            BinaryNode binary = (BinaryNode) node;
+            BigDecimal left = evaluateDecimal(binary.left());
+            BigDecimal right = evaluateDecimal(binary.right());
+            result = switch (binary.operator()) {
+                case ADD -> left.add(right);
+                case SUBTRACT -> left.subtract(right);
+                case MULTIPLY -> left.multiply(right);
+                case DIVIDE -> divide(left, right);
+                case POWER -> power(left, right);
+            };
+        }
+        if (digits(result) > maxDigits) {
+            throw tooManyDigits();
+        }
+        return result;
+    }
+
+    /**
+     * Counts the digits of a number written without an exponent, including the zeros an exponent would stand for.
+     */
+    private static long digits(BigDecimal value) {
+        int scale = value.scale();
+        return scale <= 0 ? (long) value.precision() - scale : Math.max(value.precision(), scale);
+    }
+
+    /**
+     * Divides two numbers, rounding a quotient that does not terminate to the division scale.
+     */
+    private BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+        if (divisor.signum() == 0) {
+            throw invalidNumber();
+        }
+        return dividend.divide(divisor, divisionScale, roundingMode).stripTrailingZeros();
+    }
+
+    /**
+     * Raises a number to a whole power, or approximates a fractional power, which has no exact decimal value, in
+     * double precision.
+     */
+    private BigDecimal power(BigDecimal base, BigDecimal exponent) {
+        BigDecimal wholeExponent = exponent.stripTrailingZeros();
+        if (wholeExponent.scale() > 0) {
+            double value = Math.pow(base.doubleValue(), exponent.doubleValue());
+            if (Double.isInfinite(value) || Double.isNaN(value)) {
+                throw invalidNumber();
+            }
+            return BigDecimal.valueOf(value);
+        }
+        BigDecimal strippedBase = base.signum() == 0 ? BigDecimal.ZERO : base.stripTrailingZeros();
+        if (strippedBase.signum() == 0 || strippedBase.abs().compareTo(BigDecimal.ONE) == 0) {
+            // 0, 1 and -1 keep their number of digits whatever the exponent
+            if (strippedBase.signum() == 0) {
+                if (wholeExponent.signum() < 0) {
+                    throw invalidNumber();
+                }
+                return wholeExponent.signum() == 0 ? BigDecimal.ONE : BigDecimal.ZERO;
+            }
+            boolean odd = wholeExponent.toBigInteger().testBit(0);
+            return strippedBase.signum() < 0 && odd ? BigDecimal.ONE.negate() : BigDecimal.ONE;
+        }
+        // the unscaled value is at least 2^(bitLength - 1), and the decimal places of the power are those of the
+        // base times the exponent, so the power has at least this many digits per unit of the exponent
+        int scale = strippedBase.scale();
+        double digitsPerUnit = Math.max((strippedBase.unscaledValue().abs().bitLength() - 1) * LOG10_2 - scale, scale);
+        if (digitsPerUnit * wholeExponent.abs().doubleValue() > maxDigits) {
+            throw tooManyDigits();
+        }
+        int power = wholeExponent.intValue();
+        if (power >= 0) {
+            return strippedBase.pow(power);
+        }
+        return divide(BigDecimal.ONE, strippedBase.pow(-power));
+    }
+
+    /**
+     * Returns the text of the literal at the given offset.
+     */
+    private String literal(int position) {
+        int end = position;
+        while (end < expression.length()
+                && (expression.charAt(end) == '.' || (expression.charAt(end) >= '0' && expression.charAt(end) <= '9'))) {
+            end++;
+        }
+        return expression.substring(position, end);
+    }
+
+    /**
+     * Converts an arbitrary-precision result to the smallest type holding it exactly.
+     */
+    private Number toResult(BigDecimal value) {
+        BigDecimal stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        if (stripped.scale() > 0) {
+            return stripped;
+        }
+        BigInteger whole = stripped.toBigIntegerExact();
+        if (whole.compareTo(MIN_LONG) < 0 || whole.compareTo(MAX_LONG) > 0) {
+            return whole;
+        }
+        long longValue = whole.longValue();
+        if (longValue == (int) longValue) {
+            return (int) longValue;
+        }
+        return longValue;
+    }
+
+    private static ArithmeticEvaluationException invalidNumber() {
+        return new ArithmeticEvaluationException("Expression evaluated to an invalid number (Infinity or NaN).");
+    }
+
+    private ArithmeticLimitExceededException tooManyDigits() {
+        return new ArithmeticLimitExceededException(Limit.DIGITS,
+                "Expression has a result with more than " + maxDigits + " digits.");
+    }
+}
@@ -0,0 +1,91 @@
+package com.maths.challenge.arithmetic;
+
+/**
+ * A node of the abstract syntax tree built by {@link ArithmeticParser}.
+ * Each node evaluates itself with IEEE 754 double arithmetic, the same number model JavaScript uses.
+ */
+public sealed interface ExpressionNode permits ExpressionNode.NumberNode, ExpressionNode.VariableNode,
+        ExpressionNode.NegateNode, ExpressionNode.BinaryNode {
+
+    /**
+     * Evaluates this node and its children.
+     *
+     * @return The value of the sub-expression.
+     */
+    double evaluate();
+
+    /**
+     * A numeric literal.
+     *
+     * @param value    The value of the literal.
+     * @param position The offset of the literal in the source expression, where its exact digits can be read.
+     */
+    record NumberNode(double value, int position) implements ExpressionNode {
+
+        @Override
+        public double evaluate() {
+            return value;
+        }
+    }
+
+    /**
+     * A variable of an expression template, which only has a value once the template is compiled and evaluated
+     * over columns of values (see {@link CompiledExpression}).
+     *
+     * @param index The index of the variable in the template, in order of first appearance.
+     */
+    record VariableNode(int index) implements ExpressionNode {
+
+        @Override
+        public double evaluate() {
+            throw new IllegalStateException("Variable " + index + " has no value outside a compiled expression");
+        }
+    }
+
+    /**
+     * A unary minus applied to an operand.
+     *
+     * @param operand The negated sub-expression.
+     */
+    record NegateNode(ExpressionNode operand) implements ExpressionNode {
+
+        @Override
+        public double evaluate() {
+            return -operand.evaluate();
+        }
+    }
+
+    /**
+     * A binary operation.
+     *
+     * @param operator The operator to apply.
+     * @param left     The left operand.
+     * @param right    The right operand.
+     */
+    record BinaryNode(Operator operator, ExpressionNode left, ExpressionNode right) implements ExpressionNode {
+
+        @Override
+        public double evaluate() {
+            double leftValue = left.evaluate();
+            double rightValue = right.evaluate();
+            return switch (operator) {
+                case ADD -> leftValue + rightValue;
+                case SUBTRACT -> leftValue - rightValue;
+                case MULTIPLY -> leftValue * rightValue;
+                case DIVIDE -> leftValue / rightValue;
+                case POWER -> Math.pow(leftValue, rightValue);
+            };
+        }
+    }
+
+    /**
+     * The binary operators supported by the parser.
+     */
+    enum Operator {
+        ADD,
+        SUBTRACT,
+        MULTIPLY,
+        DIVIDE,
+        POWER
+    }
+}
@@ -0,0 +1,168 @@
+package com.maths.challenge.arithmetic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Arithmetic engine that evaluates expressions with GraalVM's JavaScript context.
+ * Contexts are borrowed from a {@link GraalContextPool} sharing one polyglot engine, and parsed
+ * {@link Source}s are cached so that repeated expressions reuse the code Truffle has already compiled.
+ * An evaluation that runs more statements than allowed or takes longer than the evaluation timeout is cancelled,
+ * and its context is discarded. This engine is active when {@code robobob.arithmetic.engine} is set to {@code graal}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "robobob.arithmetic.engine", havingValue = "graal")
+public class GraalArithmeticEngine implements ArithmeticEngine {
+
+    /**
+     * The language identifier for the JavaScript context used by GraalVM.
+     */
+    public static final String JS_LANGUAGE = "js";
+
+    /**
+     * Pool of contexts used to evaluate expressions.
+     */
+    private final GraalContextPool contextPool;
+    /**
+     * Sources keyed by expression text.
+     */
+    private final Cache<String, Source> sourceCache;
+    /**
+     * The maximum number of statements one evaluation may run, reported when the limit is exceeded.
+     */
+    private final long maxStatements;
+    /**
+     * The maximum wall-clock time of one evaluation.
+     */
+    private final Duration evaluationTimeout;
+    /**
+     * Scheduler cancelling evaluations that run longer than the evaluation timeout.
+     */
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    /**
+     * Constructs a new GraalArithmeticEngine with the specified pool settings.
+     *
+     * @param poolSize                 The maximum number of contexts evaluating at the same time.
+     * @param acquireTimeout           How long a request waits for a free context.
+     * @param maxEvaluationsPerContext The number of evaluations after which a context is replaced.
+     * @param sourceCacheSize          The maximum number of cached sources.
+     * @param maxStatements            The maximum number of statements one evaluation may run.
+     * @param evaluationTimeout        The maximum wall-clock time of one evaluation.
+     * @param meterRegistry            The registry the pool and cache metrics are published to.
+     */
+    public GraalArithmeticEngine(@Value("${robobob.arithmetic.graal.pool-size:8}") int poolSize,
+                                 @Value("${robobob.arithmetic.graal.acquire-timeout:1s}") Duration acquireTimeout,
+                                 @Value("${robobob.arithmetic.graal.max-evaluations-per-context:10000}") int maxEvaluationsPerContext,
+                                 @Value("${robobob.arithmetic.graal.source-cache-size:1000}") long sourceCacheSize,
+                                 @Value("${robobob.arithmetic.graal.max-statements:10000}") long maxStatements,
+                                 @Value("${robobob.arithmetic.graal.evaluation-timeout:500ms}") Duration evaluationTimeout,
+                                 MeterRegistry meterRegistry) {
+        if (evaluationTimeout.isZero() || evaluationTimeout.isNegative()) {
+            throw new IllegalArgumentException("The evaluation timeout must be positive");
+        }
+        this.contextPool = new GraalContextPool(poolSize, acquireTimeout, maxEvaluationsPerContext, maxStatements,
+                meterRegistry);
+        this.maxStatements = maxStatements;
+        this.evaluationTimeout = evaluationTimeout;
+        this.watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "graal-evaluation-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // most evaluations finish long before their timeout, so cancelled checks must not pile up in the queue
+        this.watchdog.setRemoveOnCancelPolicy(true);
+        this.sourceCache = Caffeine.newBuilder()
+                .maximumSize(sourceCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sourceCache, "graalSources");
+    }
+
+    /**
+     * Evaluates the given arithmetic expression using a pooled GraalVM JavaScript context.
+     *
+     * @param expression The arithmetic expression to evaluate.
+     * @return The result of the evaluation.
+     * @throws ArithmeticException If an error occurs during evaluation.
+     */
+    @Override
+    public Number evaluate(String expression) throws ArithmeticException {
+        Source source = sourceCache.get(expression, key -> Source.create(JS_LANGUAGE, key));
+        GraalContextPool.PooledContext pooled = contextPool.borrow();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            timedOut.set(true);
+            pooled.context().close(true);
+        }, evaluationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        boolean healthy = true;
+        try {
+            pooled.resetLimits();
+            org.graalvm.polyglot.Value result = pooled.context().eval(source);
+
+            if (!result.fitsInDouble()) {
+                throw new ArithmeticEvaluationException("Expression did not evaluate to a numeric result.");
+            }
+
+            return ArithmeticEngine.toResult(result.asDouble());
+        } catch (PolyglotException exp) {
+            healthy = exp.isGuestException() && !exp.isCancelled() && !exp.isResourceExhausted();
+            if (timedOut.get()) {
+                throw timeoutExceeded();
+            }
+            if (exp.isResourceExhausted()) {
+                throw new ArithmeticLimitExceededException(Limit.STATEMENTS,
+                        "Expression ran more than " + maxStatements + " statements.");
+            }
+            log.error("Invalid expression", exp);
+            throw new ArithmeticSyntaxException("Invalid expression: " + expression);
+        } catch (IllegalStateException exp) {
+            // the watchdog closed the context between the evaluation and the conversion of its result
+            healthy = false;
+            if (timedOut.get()) {
+                throw timeoutExceeded();
+            }
+            throw exp;
+        } finally {
+            if (!timeout.cancel(false)) {
+                // the watchdog has closed, or is closing, the context
+                healthy = false;
+            }
+            contextPool.release(pooled, healthy);
+        }
+    }
+
+    private ArithmeticLimitExceededException timeoutExceeded() {
+        return new ArithmeticLimitExceededException(Limit.TIMEOUT,
+                "Expression took longer than " + evaluationTimeout.toMillis() + " ms to evaluate.");
+    }
+
+    /**
+     * Closes the pooled contexts and the shared engine when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        watchdog.shutdownNow();
+        contextPool.close();
+    }
+}
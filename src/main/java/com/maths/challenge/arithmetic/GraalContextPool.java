@@ -0,0 +1,266 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.exception.ArithmeticEngineUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.ResourceLimits;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of sandboxed GraalVM JavaScript {@link Context}s that share a single polyglot {@link Engine}.
+ * Sharing the engine lets contexts reuse the code Truffle has already parsed and compiled, and pooling removes
+ * the cost of building a context for every evaluation. A context is closed and replaced after a configurable
+ * number of evaluations so that a long-lived context cannot accumulate state. Every context limits the number of
+ * statements one evaluation may run; callers reset the limit with {@link PooledContext#resetLimits()}.
+ */
+@Slf4j
+public class GraalContextPool implements AutoCloseable {
+
+    /**
+     * The engine shared by every context of the pool.
+     */
+    private final Engine engine;
+    /**
+     * Contexts that are created and not currently borrowed.
+     */
+    private final Queue<PooledContext> idleContexts = new ConcurrentLinkedQueue<>();
+    /**
+     * Permits limiting the number of contexts that can be borrowed at the same time.
+     */
+    private final Semaphore permits;
+    /**
+     * The maximum number of contexts in the pool.
+     */
+    private final int poolSize;
+    /**
+     * How long a caller waits for a context before giving up.
+     */
+    private final Duration acquireTimeout;
+    /**
+     * The number of evaluations after which a context is closed and replaced.
+     */
+    private final int maxEvaluationsPerContext;
+    /**
+     * The statement limit applied to every context, shared so that contexts can share the engine.
+     */
+    private final ResourceLimits resourceLimits;
+    /**
+     * The number of contexts currently open, borrowed or idle.
+     */
+    private final AtomicInteger openContexts = new AtomicInteger();
+    /**
+     * Time spent waiting for a context.
+     */
+    private final Timer waitTimer;
+    /**
+     * Number of contexts closed after reaching the evaluation limit or failing.
+     */
+    private final Counter recycledCounter;
+    /**
+     * Number of callers that gave up waiting for a context.
+     */
+    private final Counter timeoutCounter;
+
+    /**
+     * Constructs a new GraalContextPool and registers its metrics.
+     *
+     * @param poolSize                 The maximum number of contexts in the pool.
+     * @param acquireTimeout           How long a caller waits for a context before giving up.
+     * @param maxEvaluationsPerContext The number of evaluations after which a context is replaced.
+     * @param maxStatements            The maximum number of statements one evaluation may run.
+     * @param meterRegistry            The registry the pool metrics are published to.
+     */
+    public GraalContextPool(int poolSize, Duration acquireTimeout, int maxEvaluationsPerContext, long maxStatements,
+                            MeterRegistry meterRegistry) {
+        if (poolSize < 1 || maxEvaluationsPerContext < 1 || maxStatements < 1) {
+            throw new IllegalArgumentException("Pool size, evaluations per context and statements must be positive");
+        }
+        this.resourceLimits = ResourceLimits.newBuilder()
+                .statementLimit(maxStatements, null)
+                .build();
+        this.engine = Engine.newBuilder().build();
+        this.permits = new Semaphore(poolSize, true);
+        this.poolSize = poolSize;
+        this.acquireTimeout = acquireTimeout;
+        this.maxEvaluationsPerContext = maxEvaluationsPerContext;
+
+        this.waitTimer = Timer.builder("robobob.arithmetic.graal.pool.wait")
+                .description("Time spent waiting for a GraalVM context")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.recycledCounter = Counter.builder("robobob.arithmetic.graal.pool.recycled")
+                .description("GraalVM contexts closed and replaced")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("robobob.arithmetic.graal.pool.timeouts")
+                .description("Callers that gave up waiting for a GraalVM context")
+                .register(meterRegistry);
+        Gauge.builder("robobob.arithmetic.graal.pool.size", this, GraalContextPool::getPoolSize)
+                .description("Maximum number of GraalVM contexts")
+                .register(meterRegistry);
+        Gauge.builder("robobob.arithmetic.graal.pool.active", this, GraalContextPool::getActiveCount)
+                .description("GraalVM contexts currently borrowed")
+                .register(meterRegistry);
+        Gauge.builder("robobob.arithmetic.graal.pool.open", this, GraalContextPool::getOpenCount)
+                .description("GraalVM contexts currently open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Borrows a context from the pool, creating one if the pool has not reached its size yet.
+     * The context must be handed back with {@link #release(PooledContext, boolean)}.
+     *
+     * @return A context that is exclusively owned by the caller until it is released.
+     * @throws ArithmeticEngineUnavailableException If no context becomes available within the acquire timeout.
+     */
+    public PooledContext borrow() {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                timeoutCounter.increment();
+                throw new ArithmeticEngineUnavailableException("No arithmetic evaluator became available in time.");
+            }
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            throw new ArithmeticEngineUnavailableException("Interrupted while waiting for an arithmetic evaluator.");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        PooledContext pooled = idleContexts.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            return createContext();
+        } catch (RuntimeException exp) {
+            permits.release();
+            throw exp;
+        }
+    }
+
+    /**
+     * Returns a borrowed context to the pool.
+     * The context is closed instead if it is no longer usable or has reached its evaluation limit.
+     *
+     * @param pooled  The context to return.
+     * @param healthy Whether the context can still be used for further evaluations.
+     */
+    public void release(PooledContext pooled, boolean healthy) {
+        try {
+            if (healthy && pooled.recordEvaluation() < maxEvaluationsPerContext) {
+                idleContexts.offer(pooled);
+            } else {
+                recycledCounter.increment();
+                closeContext(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes every idle context and the shared engine.
+     */
+    @Override
+    public void close() {
+        PooledContext pooled;
+        while ((pooled = idleContexts.poll()) != null) {
+            closeContext(pooled);
+        }
+        engine.close();
+    }
+
+    /**
+     * Returns the maximum number of contexts in the pool.
+     *
+     * @return The maximum number of contexts in the pool.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Returns the number of contexts currently borrowed.
+     *
+     * @return The number of contexts currently borrowed.
+     */
+    public int getActiveCount() {
+        return poolSize - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of contexts currently open, borrowed or idle.
+     *
+     * @return The number of contexts currently open, borrowed or idle.
+     */
+    public int getOpenCount() {
+        return openContexts.get();
+    }
+
+    private PooledContext createContext() {
+        Context context = Context.newBuilder(GraalArithmeticEngine.JS_LANGUAGE)
+                .engine(engine)
+                .allowAllAccess(false)
+                .allowHostAccess(HostAccess.NONE)
+                .resourceLimits(resourceLimits)
+                .build();
+        openContexts.incrementAndGet();
+        log.debug("Created GraalVM context, {} open", openContexts.get());
+        return new PooledContext(context);
+    }
+
+    private void closeContext(PooledContext pooled) {
+        openContexts.decrementAndGet();
+        try {
+            pooled.context().close(true);
+        } catch (RuntimeException exp) {
+            log.warn("Failed to close GraalVM context: {}", exp.getMessage());
+        }
+    }
+
+    /**
+     * A pooled context together with the number of evaluations it has run.
+     * Instances are only ever used by the thread that borrowed them.
+     */
+    public static final class PooledContext {
+
+        private final Context context;
+        private int evaluations;
+
+        private PooledContext(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * Returns the GraalVM context.
+         *
+         * @return The GraalVM context.
+         */
+        public Context context() {
+            return context;
+        }
+
+        /**
+         * Resets the statement count of the context, so that the limit applies to the next evaluation alone.
+         */
+        public void resetLimits() {
+            context.resetLimits();
+        }
+
+        private int recordEvaluation() {
+            return ++evaluations;
+        }
+    }
+}
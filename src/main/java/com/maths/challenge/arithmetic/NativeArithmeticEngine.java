@@ -0,0 +1,50 @@
+package com.maths.challenge.arithmetic;
+
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Arithmetic engine that tokenizes, parses and evaluates expressions in-process.
+ * It gives the same answers as {@link GraalArithmeticEngine} without creating a polyglot context per request.
+ * This engine is active unless {@code robobob.arithmetic.engine} is set to {@code graal}.
+ */
+@Component
+@ConditionalOnProperty(name = "robobob.arithmetic.engine", havingValue = "native", matchIfMissing = true)
+public class NativeArithmeticEngine implements ArithmeticEngine {
+
+    /**
+     * Evaluates the given arithmetic expression.
+     *
+     * @param expression The arithmetic expression to evaluate.
+     * @return The result of the evaluation.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    @Override
+    public Number evaluate(String expression) throws ArithmeticException {
+        return evaluate(expression, ArithmeticTokenizer.tokenize(expression));
+    }
+
+    /**
+     * Evaluates the tokens of an expression that has already been scanned, without reading the question again.
+     *
+     * @param expression The scanned arithmetic expression to evaluate.
+     * @return The result of the evaluation.
+     * @throws ArithmeticException If the expression is malformed or cannot be evaluated.
+     */
+    @Override
+    public Number evaluate(ArithmeticExpression expression) throws ArithmeticException {
+        return evaluate(expression.source(), expression.requireValid().tokens());
+    }
+
+    private Number evaluate(String expression, List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            throw new ArithmeticEvaluationException("Expression did not evaluate to a numeric result.");
+        }
+
+        ExpressionNode root = new ArithmeticParser(expression, tokens).parse();
+        return ArithmeticEngine.toResult(root.evaluate());
+    }
+}
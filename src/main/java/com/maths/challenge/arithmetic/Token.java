@@ -0,0 +1,12 @@
+package com.maths.challenge.arithmetic;
+
+/**
+ * A single token of an arithmetic expression.
+ *
+ * @param type     The kind of token.
+ * @param value    The numeric value for {@link TokenType#NUMBER} tokens, the index of the variable for
+ *                 {@link TokenType#VARIABLE} tokens, 0 otherwise.
+ * @param position The offset of the token in the source expression.
+ */
+public record Token(TokenType type, double value, int position) {
+}
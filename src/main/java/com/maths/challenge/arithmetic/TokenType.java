@@ -0,0 +1,16 @@
+package com.maths.challenge.arithmetic;
+
+/**
+ * The kinds of tokens that can appear in an arithmetic expression.
+ */
+public enum TokenType {
+    NUMBER,
+    PLUS,
+    MINUS,
+    MULTIPLY,
+    DIVIDE,
+    POWER,
+    LEFT_PAREN,
+    RIGHT_PAREN,
+    VARIABLE
+}
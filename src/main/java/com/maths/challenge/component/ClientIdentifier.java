@@ -0,0 +1,93 @@
+package com.maths.challenge.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the client asking a question, for the {@link ClientRateLimiter}.
+ * A client sending one of the configured API keys in the {@value #API_KEY_HEADER} header is identified by it; any
+ * other key is ignored, so a client cannot escape its limit, nor evict the buckets of other clients, by sending a new
+ * key with every request. Otherwise the client is identified by its address. When the request comes from one of the
+ * trusted proxies, the address is read from the {@value #FORWARDED_FOR_HEADER} header, from the last hop back to the
+ * first one not added by a trusted proxy; hops added before it could be forged by the client.
+ */
+@Component
+public class ClientIdentifier {
+
+    /**
+     * The header a client sends its API key in.
+     */
+    public static final String API_KEY_HEADER = "X-API-Key";
+    /**
+     * The header proxies append the address of their own client to.
+     */
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    /**
+     * The API keys clients are identified by.
+     */
+    private final Set<String> apiKeys;
+    /**
+     * The addresses of the proxies whose {@value #FORWARDED_FOR_HEADER} header is trusted.
+     */
+    private final Set<String> trustedProxies;
+
+    /**
+     * Constructs a new ClientIdentifier.
+     *
+     * @param apiKeys        The API keys clients are identified by; other keys are ignored.
+     * @param trustedProxies The addresses of the proxies whose {@value #FORWARDED_FOR_HEADER} header is trusted.
+     */
+    public ClientIdentifier(@Value("${robobob.rate-limit.api-keys:}") Set<String> apiKeys,
+                            @Value("${robobob.rate-limit.trusted-proxies:}") Set<String> trustedProxies) {
+        this.apiKeys = stripAll(apiKeys);
+        this.trustedProxies = stripAll(trustedProxies);
+    }
+
+    /**
+     * Returns the key a client is limited by: its API key if it is one of the configured keys, its address otherwise.
+     *
+     * @param apiKey        The value of the {@value #API_KEY_HEADER} header, or null.
+     * @param forwardedFor  The values of the {@value #FORWARDED_FOR_HEADER} headers, in order.
+     * @param remoteAddress The address the request came from, or null if it is not known.
+     * @return The key of the client.
+     */
+    public String clientKey(String apiKey, List<String> forwardedFor, String remoteAddress) {
+        if (apiKey != null && apiKeys.contains(apiKey.strip())) {
+            return "key:" + apiKey.strip();
+        }
+        return "address:" + clientAddress(forwardedFor, remoteAddress);
+    }
+
+    /**
+     * Returns the address of the client, following the forwarded hops back while they were added by trusted proxies.
+     */
+    private String clientAddress(List<String> forwardedFor, String remoteAddress) {
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        String address = remoteAddress;
+        for (int header = forwardedFor.size() - 1; header >= 0; header--) {
+            String[] hops = forwardedFor.get(header).split(",");
+            for (int hop = hops.length - 1; hop >= 0; hop--) {
+                String forwarded = hops[hop].strip();
+                if (!trustedProxies.contains(address) || forwarded.isEmpty()) {
+                    return address;
+                }
+                address = forwarded;
+            }
+        }
+        return address;
+    }
+
+    private static Set<String> stripAll(Set<String> values) {
+        return values.stream()
+                .map(String::strip)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,180 @@
+package com.maths.challenge.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maths.challenge.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate at which each client asks questions, with separate limits for basic and arithmetic questions.
+ * Clients are identified by the {@link ClientIdentifier}, from their API key or their address.
+ * <p>
+ * Each limit is a token bucket holding up to {@code burst} questions and refilled at {@code requests-per-second}.
+ * Rather than a token count and a refill time, a bucket is kept as the single time at which it will be full again
+ * (the generic cell rate algorithm), so a question is admitted by one compare-and-set and no lock is taken. The
+ * buckets of a client are held in a cache whose reads do not lock and whose bookkeeping is striped across threads,
+ * so clients only contend with their own concurrent questions. Clients that ask nothing for {@code idle-timeout}
+ * are evicted; their buckets would be full again by then, so eviction does not change any decision.
+ */
+@Slf4j
+@Component
+public class ClientRateLimiter {
+
+    /**
+     * The limits a question can count against.
+     */
+    public enum Limit {
+        BASIC,
+        ARITHMETIC
+    }
+
+    /**
+     * Whether questions are limited at all.
+     */
+    private final boolean enabled;
+    /**
+     * The nanoseconds between two questions at the sustained rate, by limit.
+     */
+    private final long[] intervals;
+    /**
+     * How far ahead of the current time a bucket may be full again before questions are rejected, by limit.
+     */
+    private final long[] tolerances;
+    /**
+     * The time each bucket of a client is full again, indexed by limit, keyed by client.
+     */
+    private final Cache<String, AtomicLongArray> clients;
+    /**
+     * Source of the current time, in nanoseconds.
+     */
+    private final LongSupplier clock;
+    /**
+     * Questions rejected, by limit.
+     */
+    private final Counter[] rejectedCounters;
+
+    /**
+     * Constructs a new ClientRateLimiter with the specified limits.
+     *
+     * @param enabled         Whether questions are limited at all.
+     * @param basicRate       The sustained number of basic questions a client may ask per second.
+     * @param basicBurst      The number of basic questions a client may ask at once.
+     * @param arithmeticRate  The sustained number of arithmetic questions a client may ask per second.
+     * @param arithmeticBurst The number of arithmetic questions a client may ask at once.
+     * @param idleTimeout     How long the buckets of a client that asks nothing are kept.
+     * @param maxClients      The maximum number of clients whose buckets are kept.
+     * @param meterRegistry   The registry the rejections and the number of clients are published to.
+     */
+    @Autowired
+    public ClientRateLimiter(@Value("${robobob.rate-limit.enabled:false}") boolean enabled,
+                             @Value("${robobob.rate-limit.basic.requests-per-second:50}") double basicRate,
+                             @Value("${robobob.rate-limit.basic.burst:100}") int basicBurst,
+                             @Value("${robobob.rate-limit.arithmetic.requests-per-second:10}") double arithmeticRate,
+                             @Value("${robobob.rate-limit.arithmetic.burst:20}") int arithmeticBurst,
+                             @Value("${robobob.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                             @Value("${robobob.rate-limit.max-clients:100000}") long maxClients,
+                             MeterRegistry meterRegistry) {
+        this(enabled, basicRate, basicBurst, arithmeticRate, arithmeticBurst, idleTimeout, maxClients, meterRegistry,
+                System::nanoTime);
+    }
+
+    ClientRateLimiter(boolean enabled, double basicRate, int basicBurst, double arithmeticRate, int arithmeticBurst,
+                      Duration idleTimeout, long maxClients, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.intervals = new long[]{interval(basicRate), interval(arithmeticRate)};
+        this.tolerances = new long[]{tolerance(intervals[0], basicBurst), tolerance(intervals[1], arithmeticBurst)};
+        long refill = Math.max(tolerances[0], tolerances[1]);
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(idleTimeout.toNanos(), refill)))
+                .ticker(clock::getAsLong)
+                .build();
+        this.rejectedCounters = new Counter[Limit.values().length];
+        for (Limit limit : Limit.values()) {
+            rejectedCounters[limit.ordinal()] = Counter.builder("robobob.rate-limit.rejected")
+                    .description("Questions rejected because their client exceeded its rate limit")
+                    .tag("type", limit.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("robobob.rate-limit.clients", this, ClientRateLimiter::clientCount)
+                .description("Clients whose rate limits are tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a question against the given limit of a client.
+     *
+     * @param client The key of the client, or null for questions asked by the application itself, which are not
+     *               limited.
+     * @param limit  The limit the question counts against.
+     * @throws RateLimitExceededException If the client has no question left in the bucket of that limit.
+     */
+    public void acquire(String client, Limit limit) {
+        if (!enabled || client == null) {
+            return;
+        }
+        int index = limit.ordinal();
+        AtomicLongArray buckets = clients.get(client, key -> newBuckets());
+        long now = clock.getAsLong();
+        while (true) {
+            long fullAt = buckets.get(index);
+            long nextFullAt = Math.max(fullAt, now) + intervals[index];
+            long wait = nextFullAt - tolerances[index] - now;
+            if (wait > 0) {
+                rejectedCounters[index].increment();
+                log.debug("Client {} exceeded its {} rate limit", client, limit);
+                throw new RateLimitExceededException("Too many " + limit.name().toLowerCase()
+                        + " questions, please slow down.", Duration.ofNanos(wait));
+            }
+            if (buckets.compareAndSet(index, fullAt, nextFullAt)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of clients whose buckets are kept, once the idle clients are evicted.
+     *
+     * @return The number of clients tracked.
+     */
+    long clientCount() {
+        clients.cleanUp();
+        return clients.estimatedSize();
+    }
+
+    /**
+     * Returns the buckets of a new client, all full.
+     */
+    private static AtomicLongArray newBuckets() {
+        AtomicLongArray buckets = new AtomicLongArray(Limit.values().length);
+        for (int index = 0; index < buckets.length(); index++) {
+            buckets.set(index, Long.MIN_VALUE);
+        }
+        return buckets;
+    }
+
+    private static long interval(double requestsPerSecond) {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("The rate limit must be positive");
+        }
+        return Math.max(1, Math.round(Duration.ofSeconds(1).toNanos() / requestsPerSecond));
+    }
+
+    private static long tolerance(long interval, int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("The burst of a rate limit must be at least 1");
+        }
+        return Math.multiplyExact(interval, burst);
+    }
+}
@@ -0,0 +1,56 @@
+package com.maths.challenge.component;
+
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.arithmetic.ArithmeticTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a question is arithmetic by scanning it once.
+ * The same scan produces the tokens the arithmetic engine evaluates, and rejects questions that are too long,
+ * nested too deeply or have too many operations before any evaluation is attempted.
+ */
+@Component
+public class QuestionClassifier {
+
+    /**
+     * The maximum length of an arithmetic question, in characters.
+     */
+    private final int maxLength;
+    /**
+     * The maximum nesting depth of parentheses in an arithmetic question.
+     */
+    private final int maxDepth;
+    /**
+     * The maximum number of operators in an arithmetic question.
+     */
+    private final int maxOperations;
+
+    /**
+     * Constructs a new QuestionClassifier with the specified limits.
+     *
+     * @param maxLength     The maximum length of an arithmetic question, in characters.
+     * @param maxDepth      The maximum nesting depth of parentheses in an arithmetic question.
+     * @param maxOperations The maximum number of operators in an arithmetic question.
+     */
+    public QuestionClassifier(@Value("${robobob.arithmetic.max-length:1000}") int maxLength,
+                              @Value("${robobob.arithmetic.max-depth:32}") int maxDepth,
+                              @Value("${robobob.arithmetic.max-operations:250}") int maxOperations) {
+        if (maxLength < 1 || maxDepth < 1 || maxOperations < 1) {
+            throw new IllegalArgumentException("The limits of arithmetic questions must be positive");
+        }
+        this.maxLength = maxLength;
+        this.maxDepth = maxDepth;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Scans the question, returning its arithmetic expression if it is an arithmetic question.
+     *
+     * @param question The question to classify.
+     * @return The scanned arithmetic expression, or null if the question is a basic question.
+     */
+    public ArithmeticExpression classify(String question) {
+        return ArithmeticTokenizer.scan(question, maxLength, maxDepth, maxOperations);
+    }
+}
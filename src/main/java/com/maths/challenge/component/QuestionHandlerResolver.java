@@ -1,28 +1,30 @@
 package com.maths.challenge.component;
 
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.component.ClientRateLimiter.Limit;
+import com.maths.challenge.exception.RateLimitExceededException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.ArithmeticQuestionHandler;
 import com.maths.challenge.service.QuestionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 /**
  * Resolves the appropriate {@link QuestionHandler} based on the type of question received.
  * It determines whether a question is an arithmetic expression or a basic question and delegates
- * the handling to the respective handler.
+ * the handling to the respective handler. Arithmetic questions are handed over with the expression scanned by the
+ * {@link QuestionClassifier}, so they are only read once. Questions asked by a client are counted against its
+ * {@link ClientRateLimiter rate limit} for their type once they are classified, before they are logged, counted or
+ * answered.
  */
 @Slf4j
 @Component
 public class QuestionHandlerResolver {
 
-    /**
-     * Regular expression pattern to identify arithmetic expressions.
-     */
-    private static final Pattern ARITHMETIC_PATTERN = Pattern.compile("^[0-9+\\-*/.\\s()]+$");
-
     /**
      * Handler for basic questions.
      */
@@ -30,42 +32,80 @@ public class QuestionHandlerResolver {
     /**
      * Handler for arithmetic questions.
      */
-    private final QuestionHandler arithmeticQuestionHandler;
+    private final ArithmeticQuestionHandler arithmeticQuestionHandler;
+    /**
+     * Classifier scanning each question once to tell arithmetic questions apart.
+     */
+    private final QuestionClassifier questionClassifier;
+    /**
+     * Limiter admitting the questions of each client.
+     */
+    private final ClientRateLimiter rateLimiter;
+    /**
+     * Number of questions classified as basic.
+     */
+    private final Counter basicQuestionCounter;
+    /**
+     * Number of questions classified as arithmetic.
+     */
+    private final Counter arithmeticQuestionCounter;
 
     /**
      * Constructs a new QuestionHandlerResolver with the specified question handlers.
      *
      * @param basicQuestionHandler      The handler for basic questions.
      * @param arithmeticQuestionHandler The handler for arithmetic questions.
+     * @param questionClassifier        The classifier scanning each question once to tell arithmetic questions apart.
+     * @param rateLimiter               The limiter admitting the questions of each client.
+     * @param meterRegistry             The registry the classification counters are published to.
      */
     public QuestionHandlerResolver(@Qualifier("BasicQuestionService") QuestionHandler basicQuestionHandler,
-                                   @Qualifier("ArithmeticService") QuestionHandler arithmeticQuestionHandler) {
+                                   @Qualifier("ArithmeticService") ArithmeticQuestionHandler arithmeticQuestionHandler,
+                                   QuestionClassifier questionClassifier,
+                                   ClientRateLimiter rateLimiter,
+                                   MeterRegistry meterRegistry) {
         this.basicQuestionHandler = basicQuestionHandler;
         this.arithmeticQuestionHandler = arithmeticQuestionHandler;
+        this.questionClassifier = questionClassifier;
+        this.rateLimiter = rateLimiter;
+        this.basicQuestionCounter = Counter.builder("robobob.questions.classified")
+                .description("Questions classified by type")
+                .tag("type", "basic")
+                .register(meterRegistry);
+        this.arithmeticQuestionCounter = Counter.builder("robobob.questions.classified")
+                .description("Questions classified by type")
+                .tag("type", "arithmetic")
+                .register(meterRegistry);
     }
 
     /**
-     * Handles the given question request by delegating it to the appropriate question handler.
+     * Handles the given question request by delegating it to the appropriate question handler, without a rate limit.
      *
      * @param questionRequest The question request to handle.
      * @return The answer response generated by the handler.
      */
     public AnswerResponse handle(QuestionRequest questionRequest) {
-        if (isArithmeticQuestion(questionRequest.getQuestion())) {
-            log.info("It is an arithmetic question : {}", questionRequest.getQuestion());
-            return this.arithmeticQuestionHandler.handleQuestion(questionRequest);
-        }
-        log.info("It is a basic question : {}", questionRequest.getQuestion());
-        return this.basicQuestionHandler.handleQuestion(questionRequest);
+        return handle(questionRequest, null);
     }
 
     /**
-     * Checks if the given question is an arithmetic expression.
+     * Handles a question asked by the given client, counting it against the client's rate limit for its type.
      *
-     * @param question The question string to check.
-     * @return true if the question is an arithmetic expression, false otherwise.
+     * @param questionRequest The question request to handle.
+     * @param client          The key of the client asking, or null if the question is not rate limited.
+     * @return The answer response generated by the handler.
+     * @throws RateLimitExceededException If the client asked too many questions of this type.
      */
-    private boolean isArithmeticQuestion(String question) {
-        return ARITHMETIC_PATTERN.matcher(question).matches();
+    public AnswerResponse handle(QuestionRequest questionRequest, String client) {
+        ArithmeticExpression expression = questionClassifier.classify(questionRequest.getQuestion());
+        rateLimiter.acquire(client, expression != null ? Limit.ARITHMETIC : Limit.BASIC);
+        if (expression != null) {
+            log.info("It is an arithmetic question : {}", questionRequest.getQuestion());
+            arithmeticQuestionCounter.increment();
+            return this.arithmeticQuestionHandler.handleExpression(questionRequest, expression);
+        }
+        log.info("It is a basic question : {}", questionRequest.getQuestion());
+        basicQuestionCounter.increment();
+        return this.basicQuestionHandler.handleQuestion(questionRequest);
     }
 }
@@ -0,0 +1,201 @@
+package com.maths.challenge.component;
+
+import com.maths.challenge.arithmetic.ArithmeticEngine;
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.repository.QuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers a corpus of representative questions at startup, so that the classes, JIT-compiled code and arithmetic
+ * engine the first requests need are ready before they arrive.
+ * The questions are classified by the {@link QuestionClassifier} and answered by the {@link ArithmeticEngine} or the
+ * {@link QuestionRepository} directly, rather than through the {@link QuestionHandlerResolver}, so that they are not
+ * logged, counted in the question metrics or stored in the arithmetic result cache; only the {@code robobob.warm-up}
+ * timer reports them. The warm-up runs as an {@link ApplicationRunner}: Spring Boot only reports the application as
+ * ready, and the readiness probe only accepts traffic, once it has finished. The corpus is asked for a number of
+ * rounds, or until the maximum duration has passed; {@value #ROUND_PLACEHOLDER} in a question is replaced with the
+ * number of the round, so that every round evaluates different expressions. Answers and failures are discarded.
+ */
+@Slf4j
+@Component
+public class QuestionWarmUp implements ApplicationRunner {
+
+    /**
+     * Placeholder replaced with the number of the round in the questions of the corpus.
+     */
+    static final String ROUND_PLACEHOLDER = "{n}";
+
+    /**
+     * Classifier telling arithmetic questions apart, as it does for every request.
+     */
+    private final QuestionClassifier questionClassifier;
+    /**
+     * Engine evaluating the arithmetic questions.
+     */
+    private final ArithmeticEngine arithmeticEngine;
+    /**
+     * Repository looking up the answers to the basic questions.
+     */
+    private final QuestionRepository questionRepository;
+    /**
+     * Whether the corpus is answered at startup.
+     */
+    private final boolean enabled;
+    /**
+     * The corpus, one question per line.
+     */
+    private final Resource corpus;
+    /**
+     * Number of times the corpus is answered.
+     */
+    private final int rounds;
+    /**
+     * Time after which no further round is started.
+     */
+    private final Duration maxDuration;
+    /**
+     * Time spent answering the corpus.
+     */
+    private final Timer warmUpTimer;
+    /**
+     * Duration of the last warm-up, reported once the application is ready.
+     */
+    private volatile Duration warmUpDuration = Duration.ZERO;
+
+    /**
+     * Constructs a new QuestionWarmUp with the specified corpus.
+     *
+     * @param questionClassifier The classifier telling arithmetic questions apart.
+     * @param arithmeticEngine   The engine evaluating the arithmetic questions.
+     * @param questionRepository The repository looking up the answers to the basic questions.
+     * @param enabled            Whether the corpus is answered at startup.
+     * @param corpus             The corpus, one question per line; blank lines and lines starting with # are skipped.
+     * @param rounds             Number of times the corpus is answered.
+     * @param maxDuration        Time after which no further round is started.
+     * @param meterRegistry      The registry the warm-up duration is published to.
+     */
+    public QuestionWarmUp(QuestionClassifier questionClassifier,
+                          ArithmeticEngine arithmeticEngine,
+                          QuestionRepository questionRepository,
+                          @Value("${robobob.warm-up.enabled:true}") boolean enabled,
+                          @Value("${robobob.warm-up.corpus:classpath:warm-up/questions.txt}") Resource corpus,
+                          @Value("${robobob.warm-up.rounds:200}") int rounds,
+                          @Value("${robobob.warm-up.max-duration:30s}") Duration maxDuration,
+                          MeterRegistry meterRegistry) {
+        this.questionClassifier = questionClassifier;
+        this.arithmeticEngine = arithmeticEngine;
+        this.questionRepository = questionRepository;
+        this.enabled = enabled;
+        this.corpus = corpus;
+        this.rounds = rounds;
+        this.maxDuration = maxDuration;
+        this.warmUpTimer = Timer.builder("robobob.warm-up")
+                .description("Time spent answering the warm-up questions at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Answers the corpus for the configured number of rounds, or until the maximum duration has passed.
+     * A corpus that cannot be read is logged and skipped, so it never prevents the application from starting.
+     *
+     * @return The number of questions asked.
+     */
+    int warmUp() {
+        if (!enabled) {
+            return 0;
+        }
+        List<String> questions;
+        try {
+            questions = readCorpus();
+        } catch (IOException exp) {
+            log.warn("Cannot read warm-up questions {}, starting without warm-up: {}", corpus, exp.getMessage());
+            return 0;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int asked = 0;
+        int round = 0;
+        while (round < rounds && !questions.isEmpty() && System.nanoTime() - deadline < 0) {
+            round++;
+            String roundNumber = Integer.toString(round);
+            for (String question : questions) {
+                ask(question.replace(ROUND_PLACEHOLDER, roundNumber));
+                asked++;
+            }
+        }
+        long duration = System.nanoTime() - start;
+        warmUpTimer.record(duration, TimeUnit.NANOSECONDS);
+        warmUpDuration = Duration.ofNanos(duration);
+        log.info("Warmed up with {} questions in {} rounds in {} ms", asked, round,
+                TimeUnit.NANOSECONDS.toMillis(duration));
+        return asked;
+    }
+
+    /**
+     * Reports how long the application took to be ready, including the warm-up.
+     *
+     * @param event The event published once the application is ready to serve requests.
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        log.info("Ready to answer questions in {} ms, of which warm-up {} ms",
+                timeTaken == null ? "unknown" : timeTaken.toMillis(), warmUpDuration.toMillis());
+    }
+
+    /**
+     * Answers a question and discards the answer; a failure never stops the warm-up.
+     *
+     * @param question The question.
+     */
+    private void ask(String question) {
+        try {
+            ArithmeticExpression expression = questionClassifier.classify(question);
+            if (expression != null) {
+                ArithmeticEngine.toAnswer(arithmeticEngine.evaluate(expression.requireValid()));
+            } else {
+                questionRepository.findAnswer(question);
+            }
+        } catch (RuntimeException exp) {
+            log.debug("Warm-up question {} failed: {}", question, exp.getMessage());
+        }
+    }
+
+    /**
+     * Reads the questions of the corpus.
+     *
+     * @return The questions, without blank lines and comments.
+     * @throws IOException If the corpus cannot be read.
+     */
+    private List<String> readCorpus() throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(corpus.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        }
+    }
+}
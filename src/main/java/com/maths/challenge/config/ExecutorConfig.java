@@ -0,0 +1,57 @@
+package com.maths.challenge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the executors used to answer several questions in parallel.
+ * With {@code spring.threads.virtual.enabled} on Java 21 or later, questions are answered on virtual threads, like
+ * the requests themselves; otherwise they are answered on a pool of platform threads.
+ */
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Creates the executor that evaluates the questions of a batch in parallel on platform threads.
+     *
+     * @param parallelism The maximum number of questions evaluated at the same time, or 0 for one per core.
+     * @return The executor for question evaluation.
+     */
+    @Bean("questionExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor questionExecutor(@Value("${robobob.batch.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Evaluating batched questions on {} threads", threads);
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * Creates the executor that evaluates the questions of a batch in parallel, one virtual thread per question.
+     * Questions blocked on a repository no longer hold a platform thread, so the number of questions in flight is
+     * only limited when a parallelism is configured.
+     *
+     * @param parallelism The maximum number of questions evaluated at the same time, or 0 for no limit.
+     * @return The executor for question evaluation.
+     */
+    @Bean("questionExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualQuestionExecutor(@Value("${robobob.batch.parallelism:0}") int parallelism) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("question-");
+        executor.setVirtualThreads(true);
+        if (parallelism > 0) {
+            executor.setConcurrencyLimit(parallelism);
+        }
+        log.info("Evaluating batched questions on virtual threads, at most {} at a time",
+                parallelism > 0 ? parallelism : "unlimited");
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.maths.challenge.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.repository.PreEncodedAnswers;
+import com.maths.challenge.resource.AnswerResponseHttpMessageConverter;
+import com.maths.challenge.resource.QuestionRequestHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration of the message converters reading questions and writing answers on the servlet endpoints without
+ * Jackson data binding, enabled by {@code robobob.json.fast-path.enabled}.
+ * They are placed ahead of the Jackson converter, which still reads and writes every other body.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "robobob.json.fast-path.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonConverterConfig implements WebMvcConfigurer {
+
+    /**
+     * The mapper reading and writing the bodies the converters do not handle themselves.
+     */
+    private final ObjectMapper objectMapper;
+    /**
+     * The encoded responses of the known answers, if a repository encodes them.
+     */
+    private final ObjectProvider<PreEncodedAnswers> preEncodedAnswers;
+
+    /**
+     * Constructs a new JsonConverterConfig.
+     *
+     * @param objectMapper      The mapper reading and writing the bodies the converters do not handle themselves.
+     * @param preEncodedAnswers The encoded responses of the known answers, if a repository encodes them.
+     */
+    public JsonConverterConfig(ObjectMapper objectMapper, ObjectProvider<PreEncodedAnswers> preEncodedAnswers) {
+        this.objectMapper = objectMapper;
+        this.preEncodedAnswers = preEncodedAnswers;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new QuestionRequestHttpMessageConverter(objectMapper));
+        converters.add(1, new AnswerResponseHttpMessageConverter(preEncodedAnswers.getIfAvailable(), objectMapper));
+    }
+}
@@ -0,0 +1,48 @@
+package com.maths.challenge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of the reactive transport, active with the {@code reactive} profile.
+ * Requests are served by Reactor Netty's event loop, and questions, whose evaluation blocks, are answered on a
+ * bounded scheduler so that the event loop only ever handles I/O.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    /**
+     * Creates the Netty server factory.
+     * Tomcat is on the classpath for the servlet transport and would otherwise be preferred for reactive
+     * applications too.
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Creates the scheduler questions are answered on.
+     *
+     * @param threadCap     The maximum number of threads, or 0 for ten per core.
+     * @param queuedTaskCap The maximum number of questions waiting for a thread before new ones are rejected.
+     * @return The scheduler for question evaluation.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler questionScheduler(@Value("${robobob.reactive.scheduler.thread-cap:0}") int threadCap,
+                                       @Value("${robobob.reactive.scheduler.queued-task-cap:10000}") int queuedTaskCap) {
+        int threads = threadCap > 0 ? threadCap : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+        log.info("Answering reactive requests on at most {} threads", threads);
+        return Schedulers.newBoundedElastic(threads, queuedTaskCap, "questions");
+    }
+}
@@ -0,0 +1,13 @@
+package com.maths.challenge.exception;
+
+/**
+ * Exception indicating that no arithmetic evaluator could be obtained in time.
+ * This exception is thrown when every pooled evaluation context is busy. It is thrown most often when the service
+ * is overloaded, so it is made cheap by not recording a stack trace or suppressed exceptions.
+ */
+public class ArithmeticEngineUnavailableException extends RuntimeException {
+
+    public ArithmeticEngineUnavailableException(String errorMessage) {
+        super(errorMessage, null, false, false);
+    }
+}
@@ -2,10 +2,21 @@ package com.maths.challenge.exception;
 
 /**
  * Custom exception for evaluation errors in arithmetic expressions.
+ * It describes a property of the expression rather than a failure of the service, so it has no stack trace.
  */
 public class ArithmeticEvaluationException extends ArithmeticException {
 
     public ArithmeticEvaluationException(String errorMessage) {
         super(errorMessage);
     }
+
+    /**
+     * Skips recording the stack trace of an expression that cannot be evaluated.
+     *
+     * @return This exception.
+     */
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,70 @@
+package com.maths.challenge.exception;
+
+/**
+ * Exception indicating that an arithmetic question exceeds one of the limits protecting the evaluation path.
+ * Questions that are too long, too deeply nested or contain too many operations are rejected before evaluation;
+ * the statement limit and the timeout stop an evaluation that is already running. As the limits guard against
+ * abusive questions, rejecting one does not pay for a stack trace.
+ */
+public class ArithmeticLimitExceededException extends ArithmeticException {
+
+    /**
+     * The limit that was exceeded.
+     */
+    private final Limit limit;
+
+    public ArithmeticLimitExceededException(Limit limit, String errorMessage) {
+        super(errorMessage);
+        this.limit = limit;
+    }
+
+    /**
+     * Skips recording the stack trace of a rejected question.
+     *
+     * @return This exception.
+     */
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+
+    /**
+     * Returns the limit that was exceeded.
+     *
+     * @return The limit that was exceeded.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * The limits enforced on arithmetic questions.
+     */
+    public enum Limit {
+        /**
+         * The maximum length of the question, in characters.
+         */
+        LENGTH,
+        /**
+         * The maximum nesting depth of parentheses.
+         */
+        DEPTH,
+        /**
+         * The maximum number of operators in the question.
+         */
+        OPERATIONS,
+        /**
+         * The maximum number of statements the GraalVM engine may run for one evaluation.
+         */
+        STATEMENTS,
+        /**
+         * The maximum number of digits of a result of the exact engine.
+         */
+        DIGITS,
+        /**
+         * The maximum wall-clock time of one evaluation. This is the only limit that depends on the load of the
+         * service rather than on the question itself.
+         */
+        TIMEOUT
+    }
+}
@@ -0,0 +1,72 @@
+package com.maths.challenge.exception;
+
+import com.maths.challenge.exception.GlobalExceptionHandler.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Error response whose content never changes, rendered for the frequent errors that carry no detail of the request.
+ * The timestamp of an error response is written to the second, so the rendered response is reused for every error
+ * of the same second instead of being built for each one.
+ */
+final class ErrorResponseTemplate {
+
+    /**
+     * The HTTP status of the response.
+     */
+    private final HttpStatus status;
+    /**
+     * The error of the response.
+     */
+    private final String error;
+    /**
+     * The messages of the response.
+     */
+    private final List<String> messages;
+    /**
+     * The response rendered most recently, reused until its second has passed.
+     */
+    private volatile Rendered rendered = new Rendered(Long.MIN_VALUE, null);
+
+    /**
+     * Constructs a new ErrorResponseTemplate.
+     *
+     * @param status   The HTTP status of the response.
+     * @param error    The error of the response.
+     * @param messages The messages of the response.
+     */
+    ErrorResponseTemplate(HttpStatus status, String error, List<String> messages) {
+        this.status = status;
+        this.error = error;
+        this.messages = List.copyOf(messages);
+    }
+
+    /**
+     * Renders the error response for the current second.
+     *
+     * @return The error response, shared with the other errors of the same second.
+     */
+    ErrorResponse render() {
+        long second = System.currentTimeMillis() / 1000;
+        Rendered current = rendered;
+        if (current.second() != second) {
+            // racing renders build equal responses; whichever is published last is reused
+            current = new Rendered(second, new ErrorResponse(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                    status, error, messages));
+            rendered = current;
+        }
+        return current.response();
+    }
+
+    /**
+     * A rendered response and the second it was rendered in.
+     *
+     * @param second   The second since the epoch the response was rendered in.
+     * @param response The rendered response.
+     */
+    private record Rendered(long second, ErrorResponse response) {
+    }
+}
@@ -1,10 +1,11 @@
 package com.maths.challenge.exception;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -25,16 +26,39 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * Global exception handler for REST API endpoints.
  * This class handles various exceptions and provides consistent error responses.
+ * The reactive endpoints are handled by {@link ReactiveExceptionHandler}, which shares {@link #toErrorResponse}.
  */
 @Slf4j
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    /**
+     * The response to a question that has no answer, the most frequent error.
+     */
+    private static final ErrorResponseTemplate NOT_FOUND = new ErrorResponseTemplate(HttpStatus.NOT_FOUND,
+            "Not found", List.of(QuestionNotFoundException.MESSAGE));
+
+    /**
+     * Registry the handled errors are counted in.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new GlobalExceptionHandler.
+     *
+     * @param meterRegistry The registry the handled errors are counted in.
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles validation errors when request parameters are invalid.
      *
@@ -60,7 +84,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 errors
         );
         log.warn("Validation failure: {}", errors);
-        return buildResponseEntity(errorResponse);
+        return buildResponseEntity(ex, errorResponse);
     }
 
     /**
@@ -73,13 +97,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ResponseEntity<Object> handleBadRequestException(BadRequestException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.BAD_REQUEST,
-                "Question is invalid",
-                Collections.singletonList(ex.getMessage())
-        );
+        ErrorResponse errorResponse = toErrorResponse(ex);
         log.warn("Bad request: {}", ex.getMessage());
-        return buildResponseEntity(errorResponse);
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Handles TooManyQuestionsException, indicating that a batch contains too many questions.
+     *
+     * @param ex The TooManyQuestionsException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(TooManyQuestionsException.class)
+    protected ResponseEntity<Object> handleTooManyQuestions(RuntimeException ex) {
+        ErrorResponse errorResponse = toErrorResponse(ex);
+        log.warn("Too many questions: {}", ex.getMessage());
+        return buildResponseEntity(ex, errorResponse);
     }
 
     /**
@@ -90,13 +123,9 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(QuestionNotFoundException.class)
     protected ResponseEntity<Object> handleInvalidParameterException(RuntimeException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.NOT_FOUND,
-                "Not found",
-                Collections.singletonList(ex.getMessage())
-        );
+        ErrorResponse errorResponse = toErrorResponse(ex);
         log.warn("Question not found: {}", ex.getMessage());
-        return buildResponseEntity(errorResponse);
+        return buildResponseEntity(ex, errorResponse);
     }
 
     /**
@@ -107,13 +136,51 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler({ArithmeticEvaluationException.class, ArithmeticSyntaxException.class})
     protected ResponseEntity<Object> handleArithmeticErrors(RuntimeException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.UNPROCESSABLE_ENTITY,
-                "Invalid arithmetic expression",
-                Collections.singletonList(ex.getMessage())
-        );
+        ErrorResponse errorResponse = toErrorResponse(ex);
         log.warn("Arithmetic error: {}", ex.getMessage());
-        return buildResponseEntity(errorResponse);
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Handles ArithmeticLimitExceededException, indicating that an arithmetic question exceeds an evaluation limit.
+     *
+     * @param ex The ArithmeticLimitExceededException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(ArithmeticLimitExceededException.class)
+    protected ResponseEntity<Object> handleArithmeticLimitExceeded(RuntimeException ex) {
+        ErrorResponse errorResponse = toErrorResponse(ex);
+        log.warn("Arithmetic limit exceeded: {}", ex.getMessage());
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Handles ArithmeticEngineUnavailableException, indicating that every arithmetic evaluator is busy.
+     *
+     * @param ex The ArithmeticEngineUnavailableException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(ArithmeticEngineUnavailableException.class)
+    protected ResponseEntity<Object> handleEngineUnavailable(RuntimeException ex) {
+        ErrorResponse errorResponse = toErrorResponse(ex);
+        log.warn("Arithmetic engine unavailable: {}", ex.getMessage());
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Handles RateLimitExceededException, indicating that the client asked too many questions, and tells the client
+     * when to ask again with the {@code Retry-After} header.
+     *
+     * @param ex The RateLimitExceededException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    protected ResponseEntity<Object> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ErrorResponse errorResponse = toErrorResponse(ex);
+        log.debug("Rate limit exceeded: {}", ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return buildResponseEntity(ex, errorResponse, headers);
     }
 
     /**
@@ -127,24 +194,106 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     protected ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
         log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
 
-        ErrorResponse errorResponse = new ErrorResponse(
+        ErrorResponse errorResponse = toErrorResponse(ex);
+
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Maps an exception raised while answering a question to its error response.
+     * The exception handlers and the endpoints that report errors per question share this mapping. The response to
+     * an unknown question is rendered from a template rather than built for every error.
+     *
+     * @param ex The exception to map.
+     * @return The error response for the exception.
+     */
+    public static ErrorResponse toErrorResponse(Throwable ex) {
+        if (ex instanceof BadRequestException) {
+            return new ErrorResponse(
+                    HttpStatus.BAD_REQUEST,
+                    "Question is invalid",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof TooManyQuestionsException) {
+            return new ErrorResponse(
+                    HttpStatus.BAD_REQUEST,
+                    "Too many questions",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof QuestionNotFoundException) {
+            if (QuestionNotFoundException.MESSAGE.equals(ex.getMessage())) {
+                return NOT_FOUND.render();
+            }
+            return new ErrorResponse(
+                    HttpStatus.NOT_FOUND,
+                    "Not found",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof ArithmeticEvaluationException || ex instanceof ArithmeticSyntaxException) {
+            return new ErrorResponse(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Invalid arithmetic expression",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof ArithmeticLimitExceededException) {
+            return new ErrorResponse(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Arithmetic limit exceeded",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof RateLimitExceededException) {
+            return new ErrorResponse(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many requests",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        if (ex instanceof ArithmeticEngineUnavailableException || ex instanceof RejectedExecutionException) {
+            return new ErrorResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service busy",
+                    Collections.singletonList(ex.getMessage())
+            );
+        }
+        return new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "An unexpected error occurred",
                 Collections.singletonList("Please check your question")
         );
+    }
 
-        return buildResponseEntity(errorResponse);
+    /**
+     * Builds a ResponseEntity from an ErrorResponse object and counts the handled exception.
+     *
+     * @param ex            The handled exception.
+     * @param errorResponse The ErrorResponse object.
+     * @return ResponseEntity containing the error response.
+     */
+    private ResponseEntity<Object> buildResponseEntity(Exception ex, ErrorResponse errorResponse) {
+        return buildResponseEntity(ex, errorResponse, HttpHeaders.EMPTY);
     }
 
     /**
-     * Builds a ResponseEntity from an ErrorResponse object.
+     * Builds a ResponseEntity with the given headers from an ErrorResponse object and counts the handled exception.
      *
+     * @param ex            The handled exception.
      * @param errorResponse The ErrorResponse object.
+     * @param headers       The headers of the response.
      * @return ResponseEntity containing the error response.
      */
-    private ResponseEntity<Object> buildResponseEntity(ErrorResponse errorResponse) {
+    private ResponseEntity<Object> buildResponseEntity(Exception ex, ErrorResponse errorResponse,
+                                                       HttpHeaders headers) {
+        meterRegistry.counter("robobob.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(errorResponse.getStatus())).increment();
         return ResponseEntity
                 .status(errorResponse.getStatus())
+                .headers(headers)
                 .body(errorResponse);
     }
 
@@ -152,22 +301,34 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      * Represents the error response structure.
      */
     @Getter
-    @AllArgsConstructor
     public static class ErrorResponse {
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-        private final LocalDateTime timestamp = LocalDateTime.now();
+        private final LocalDateTime timestamp;
         private final int status;
         private final String error;
         private final List<String> messages;
 
         /**
-         * Constructor for ErrorResponse with HttpStatus.
+         * Constructor for ErrorResponse with HttpStatus, timestamped now.
          *
          * @param status   The HttpStatus.
          * @param error    The error message.
          * @param messages The list of error messages.
          */
         public ErrorResponse(HttpStatus status, String error, List<String> messages) {
+            this(LocalDateTime.now(), status, error, messages);
+        }
+
+        /**
+         * Constructor for ErrorResponse with HttpStatus and timestamp.
+         *
+         * @param timestamp The time of the error.
+         * @param status    The HttpStatus.
+         * @param error     The error message.
+         * @param messages  The list of error messages.
+         */
+        public ErrorResponse(LocalDateTime timestamp, HttpStatus status, String error, List<String> messages) {
+            this.timestamp = timestamp;
             this.status = status.value();
             this.error = error;
             this.messages = messages;
@@ -2,12 +2,17 @@ package com.maths.challenge.exception;
 
 /**
  * Exception indicating that a requested question was not found.
- * This exception is thrown when a question is not found in the data source.
+ * This exception is thrown when a question is not found in the data source. Unknown questions are a large share
+ * of the traffic and the exception is always handled, so it does not record a stack trace or suppressed exceptions.
  */
 public class QuestionNotFoundException extends RuntimeException {
 
+    /**
+     * The message of the exception thrown when a question has no answer.
+     */
+    public static final String MESSAGE = "Question does not exist.";
+
     public QuestionNotFoundException(String errorMessage) {
-        super(errorMessage);
+        super(errorMessage, null, false, false);
     }
-
 }
@@ -0,0 +1,40 @@
+package com.maths.challenge.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception indicating that a client asked more questions than its rate limit allows.
+ * It is answered with 429 and a {@code Retry-After} header. A client over its limit can raise it on every request,
+ * so it does not record a stack trace or suppressed exceptions.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * How long the client has to wait before its next question is accepted.
+     */
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String errorMessage, Duration retryAfter) {
+        super(errorMessage, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client has to wait before its next question is accepted.
+     *
+     * @return The time until the next question is accepted.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the value of the {@code Retry-After} header, the wait rounded up to whole seconds.
+     *
+     * @return The number of seconds to wait, at least 1.
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+        return Math.max(seconds, 1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.maths.challenge.exception;
+
+import com.maths.challenge.exception.GlobalExceptionHandler.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception handler for the reactive REST API endpoints.
+ * It answers with the same error responses as {@link GlobalExceptionHandler}, which handles the servlet endpoints,
+ * by sharing its {@link GlobalExceptionHandler#toErrorResponse(Throwable) mapping}.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    /**
+     * Registry the handled errors are counted in.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new ReactiveExceptionHandler.
+     *
+     * @param meterRegistry The registry the handled errors are counted in.
+     */
+    public ReactiveExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Handles validation errors when the request body is invalid.
+     *
+     * @param ex The WebExchangeBindException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(WebExchangeBindException ex) {
+        List<String> errors = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .map(FieldError::getDefaultMessage)
+                .toList();
+        log.warn("Validation failure: {}", errors);
+        return buildResponseEntity(ex, new ErrorResponse(HttpStatus.BAD_REQUEST, "Validation failed", errors));
+    }
+
+    /**
+     * Handles ServerWebInputException, indicating a request body that cannot be read.
+     *
+     * @param ex The ServerWebInputException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInput(ServerWebInputException ex) {
+        log.warn("Bad request: {}", ex.getReason());
+        return buildResponseEntity(ex, new ErrorResponse(HttpStatus.BAD_REQUEST, "Question is invalid",
+                Collections.singletonList(ex.getReason())));
+    }
+
+    /**
+     * Handles RateLimitExceededException, telling the client when to ask again with the {@code Retry-After} header.
+     *
+     * @param ex The RateLimitExceededException.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        log.debug("Rate limit exceeded: {}", ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return buildResponseEntity(ex, GlobalExceptionHandler.toErrorResponse(ex), headers);
+    }
+
+    /**
+     * Handles every other exception with the mapping shared with the servlet endpoints.
+     *
+     * @param ex The Exception.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex) {
+        ErrorResponse errorResponse = GlobalExceptionHandler.toErrorResponse(ex);
+        if (errorResponse.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && errorResponse.getStatus() != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
+        } else {
+            log.warn("{}: {}", errorResponse.getError(), ex.getMessage());
+        }
+        return buildResponseEntity(ex, errorResponse);
+    }
+
+    /**
+     * Builds a ResponseEntity from an ErrorResponse object and counts the handled exception.
+     *
+     * @param ex            The handled exception.
+     * @param errorResponse The ErrorResponse object.
+     * @return ResponseEntity containing the error response.
+     */
+    private ResponseEntity<ErrorResponse> buildResponseEntity(Exception ex, ErrorResponse errorResponse) {
+        return buildResponseEntity(ex, errorResponse, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * Builds a ResponseEntity with the given headers from an ErrorResponse object and counts the handled exception.
+     *
+     * @param ex            The handled exception.
+     * @param errorResponse The ErrorResponse object.
+     * @param headers       The headers of the response.
+     * @return ResponseEntity containing the error response.
+     */
+    private ResponseEntity<ErrorResponse> buildResponseEntity(Exception ex, ErrorResponse errorResponse,
+                                                              HttpHeaders headers) {
+        meterRegistry.counter("robobob.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(errorResponse.getStatus())).increment();
+        return ResponseEntity
+                .status(errorResponse.getStatus())
+                .headers(headers)
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,13 @@
+package com.maths.challenge.exception;
+
+/**
+ * Exception indicating that a request contains more questions than allowed.
+ * This exception is thrown when a batch exceeds the configured maximum size. It is reported to the caller as a bad
+ * request, so it does not record a stack trace or suppressed exceptions.
+ */
+public class TooManyQuestionsException extends RuntimeException {
+
+    public TooManyQuestionsException(String errorMessage) {
+        super(errorMessage, null, false, false);
+    }
+}
@@ -1,30 +1,331 @@
 package com.maths.challenge.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maths.challenge.exception.QuestionNotFoundException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
- * Repository implementation for retrieving answers from an external data source (e.g., a database).
+ * Repository implementation retrieving answers from a database through the pooled {@code spring.datasource}.
  * This repository is active when the "local" profile is NOT active.
- * It logs the retrieval process and currently returns a placeholder AnswerResponse.
+ * Questions are looked up by their {@link QuestionNormalizer normalized} form, which the {@code questions} table
+ * indexes (see {@code db/questions-schema.sql}). Answers, and questions without one, are kept in a bounded
+ * read-through cache with a time to live, which is filled with a bulk query at startup so that popular questions
+ * never reach the database.
+ * The known questions are also loaded into a {@link QuestionBloomFilter} at startup, then again periodically and
+ * when a reload is requested through the {@code questions} actuator endpoint, and the {@link UnknownQuestionGuard}
+ * answers the questions that are certainly unknown without reaching the cache or the database. A question added
+ * to the database is only answered once the filter has been loaded again.
  */
 @Slf4j
 @Repository
 @Profile("!local")
-public class ExternalRepository implements QuestionRepository {
+public class ExternalRepository implements ReloadableQuestionRepository {
+
+    /**
+     * Query looking up the answer to a normalized question.
+     */
+    static final String ANSWER_QUERY = "SELECT answer FROM questions WHERE normalized_question = ?";
+
+    /**
+     * Template running the queries on pooled connections.
+     */
+    private final JdbcTemplate jdbcTemplate;
+    /**
+     * Answers by normalized question; an empty answer marks a question the database does not know.
+     */
+    private final Cache<String, Optional<String>> answerCache;
+    /**
+     * Whether the cache is filled at startup.
+     */
+    private final boolean warmUpEnabled;
+    /**
+     * Query returning the normalized questions and answers the cache is filled with at startup.
+     */
+    private final String warmUpQuery;
+    /**
+     * The maximum number of answers loaded at startup.
+     */
+    private final int warmUpMaxRows;
+    /**
+     * Guard answering questions that are certainly unknown without a lookup.
+     */
+    private final UnknownQuestionGuard unknownQuestionGuard;
+    /**
+     * Query returning every normalized question, loaded into the filter.
+     */
+    private final String filterQuery;
+    /**
+     * How often the filter is loaded again, or zero if it is only loaded at startup and on demand.
+     */
+    private final Duration filterRefreshInterval;
+    /**
+     * Filter over the questions of the database, or null if it is disabled or could not be loaded yet.
+     */
+    private volatile QuestionBloomFilter filter;
+    /**
+     * Whether the questions have been loaded at least once.
+     */
+    private volatile boolean loaded;
+    /**
+     * Lock serializing loads of the filter.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    /**
+     * Executor loading the filter again periodically, or null if it is not refreshed.
+     */
+    private ScheduledExecutorService filterRefresher;
+    /**
+     * Time spent looking up answers, including cache hits.
+     */
+    private final Timer lookupTimer;
+    /**
+     * Time spent querying the database on a cache miss.
+     */
+    private final Timer queryTimer;
+    /**
+     * Number of questions that were not found.
+     */
+    private final Counter notFoundCounter;
+
+    /**
+     * Constructs a new ExternalRepository.
+     *
+     * @param jdbcTemplate          The template running the queries on pooled connections.
+     * @param cacheMaximumSize      The maximum number of cached answers.
+     * @param cacheExpireAfterWrite How long a cached answer, or missing answer, is used before it is queried again.
+     * @param warmUpEnabled         Whether the cache is filled at startup.
+     * @param warmUpQuery           The query returning the normalized questions and answers loaded at startup.
+     * @param warmUpMaxRows         The maximum number of answers loaded at startup.
+     * @param unknownQuestionGuard  The guard answering questions that are certainly unknown without a lookup.
+     * @param filterQuery           The query returning every normalized question, loaded into the filter.
+     * @param filterRefreshInterval How often the filter is loaded again, or zero to only load it at startup and on
+     *                              demand.
+     * @param meterRegistry         The registry the lookup and cache metrics are published to.
+     */
+    public ExternalRepository(JdbcTemplate jdbcTemplate,
+                              @Value("${robobob.external.cache.maximum-size:10000}") long cacheMaximumSize,
+                              @Value("${robobob.external.cache.expire-after-write:10m}") Duration cacheExpireAfterWrite,
+                              @Value("${robobob.external.warm-up.enabled:true}") boolean warmUpEnabled,
+                              @Value("${robobob.external.warm-up.query:SELECT normalized_question, answer FROM questions}")
+                              String warmUpQuery,
+                              @Value("${robobob.external.warm-up.max-rows:10000}") int warmUpMaxRows,
+                              UnknownQuestionGuard unknownQuestionGuard,
+                              @Value("${robobob.external.filter.query:SELECT normalized_question FROM questions}")
+                              String filterQuery,
+                              @Value("${robobob.external.filter.refresh-interval:5m}") Duration filterRefreshInterval,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.answerCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheExpireAfterWrite)
+                .recordStats()
+                .build();
+        this.warmUpEnabled = warmUpEnabled;
+        this.warmUpQuery = warmUpQuery;
+        this.warmUpMaxRows = (int) Math.min(warmUpMaxRows, cacheMaximumSize);
+        this.unknownQuestionGuard = unknownQuestionGuard;
+        this.filterQuery = filterQuery;
+        this.filterRefreshInterval = filterRefreshInterval;
+        CaffeineCacheMetrics.monitor(meterRegistry, answerCache, "externalAnswers");
+        this.lookupTimer = Timer.builder("robobob.repository.lookup")
+                .description("Time spent looking up the answer to a basic question")
+                .tag("repository", "external")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("robobob.repository.query")
+                .description("Time spent querying the database for the answer to a basic question")
+                .tag("repository", "external")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.notFoundCounter = Counter.builder("robobob.questions.not.found")
+                .description("Basic questions that have no answer")
+                .tag("repository", "external")
+                .register(meterRegistry);
+        unknownQuestionGuard.monitor("external", () -> filter);
+    }
+
+    /**
+     * Fills the cache with the answers returned by the warm-up query, loads the filter and starts refreshing it.
+     * A database that cannot be reached at startup only leaves the cache empty and the questions unfiltered.
+     */
+    @PostConstruct
+    public void init() {
+        warmUp();
+        if (unknownQuestionGuard.isEnabled()) {
+            reload();
+            if (filterRefreshInterval.isPositive()) {
+                filterRefresher = Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "question-filter-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                long interval = filterRefreshInterval.toMillis();
+                filterRefresher.scheduleWithFixedDelay(this::reload, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Stops refreshing the filter.
+     */
+    @PreDestroy
+    public void close() {
+        if (filterRefresher != null) {
+            filterRefresher.shutdownNow();
+        }
+    }
+
+    private void warmUp() {
+        if (!warmUpEnabled || warmUpMaxRows < 1) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            JdbcTemplate warmUpTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+            warmUpTemplate.setMaxRows(warmUpMaxRows);
+            warmUpTemplate.setFetchSize(Math.min(warmUpMaxRows, 1000));
+            warmUpTemplate.query(warmUpQuery, resultSet -> {
+                answerCache.put(resultSet.getString(1), Optional.ofNullable(resultSet.getString(2)));
+            });
+            log.info("Loaded {} answers from the database in {} ms", answerCache.estimatedSize(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (DataAccessException exp) {
+            log.error("Cannot load answers from the database, starting with an empty cache: {}", exp.getMessage());
+        }
+    }
 
     /**
-     * Retrieves the answer to a given question from the external data source.
+     * Retrieves the answer to a given question, from the cache or else from the database.
      *
      * @param questionRequest The question request containing the question to answer.
-     * @return An AnswerResponse containing the answer (currently a placeholder).
+     * @return An AnswerResponse containing the answer.
+     * @throws QuestionNotFoundException If the database has no answer to the question.
      */
     @Override
     public AnswerResponse getAnswer(QuestionRequest questionRequest) {
-        log.info("Retrieving answer to a question : {} from database", questionRequest.getQuestion());
-        return new AnswerResponse(null);
+        return lookupTimer.record(() -> lookup(questionRequest));
+    }
+
+    private AnswerResponse lookup(QuestionRequest questionRequest) {
+        String question = questionRequest.getQuestion();
+        QuestionBloomFilter current = filter;
+        if (unknownQuestionGuard.isDefiniteMiss(current, question)) {
+            return notFound(question);
+        }
+        String normalizedQuestion = QuestionNormalizer.normalize(question);
+        Optional<String> answer = answerCache.getIfPresent(normalizedQuestion);
+        if (answer == null) {
+            log.info("Retrieving answer to a question : {} from database", question);
+            // queried outside the cache's map lock, so that a virtual thread waiting on the database is not pinned
+            answer = Optional.ofNullable(queryTimer.record(() -> jdbcTemplate.query(ANSWER_QUERY,
+                    resultSet -> resultSet.next() ? resultSet.getString(1) : null, normalizedQuestion)));
+            answerCache.put(normalizedQuestion, answer);
+        }
+
+        if (answer.isEmpty()) {
+            unknownQuestionGuard.recordFalsePositive(current);
+            return notFound(question);
+        }
+        return new AnswerResponse(answer.get());
+    }
+
+    /**
+     * Looks up the answer to a question in the cache only, without recording a cache hit or miss.
+     *
+     * @param question The question to answer.
+     * @return The cached answer, or null if the question is not cached or has no answer.
+     */
+    @Override
+    public String findAnswer(String question) {
+        Optional<String> answer = answerCache.asMap().get(QuestionNormalizer.normalize(question));
+        return answer == null ? null : answer.orElse(null);
+    }
+
+    private AnswerResponse notFound(String question) {
+        log.warn("Question not found: {}", question);
+        notFoundCounter.increment();
+        throw new QuestionNotFoundException(QuestionNotFoundException.MESSAGE);
+    }
+
+    /**
+     * Loads the questions of the database into a new filter and publishes it, and forgets the cached questions
+     * without an answer, which may have been added since.
+     * Loads are serialized; lookups keep using the previous filter until the new one is published, and keep it if
+     * the database cannot be queried. When the question filter is disabled, only the cached questions without an
+     * answer are forgotten.
+     *
+     * @return true if a new filter was published, false if the previous one is kept.
+     */
+    @Override
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            return loadFilter();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean loadFilter() {
+        if (!unknownQuestionGuard.isEnabled()) {
+            answerCache.asMap().values().removeIf(Optional::isEmpty);
+            this.loaded = true;
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            QuestionBloomFilter.Builder builder = new QuestionBloomFilter.Builder();
+            jdbcTemplate.query(filterQuery, resultSet -> {
+                builder.add(resultSet.getString(1));
+            });
+            QuestionBloomFilter loaded = unknownQuestionGuard.buildFilter(builder);
+            filter = loaded;
+            answerCache.asMap().values().removeIf(Optional::isEmpty);
+            this.loaded = true;
+            log.info("Loaded {} questions into a filter of {} bits from the database in {} ms",
+                    loaded.questionCount(), loaded.bitCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (RuntimeException exp) {
+            log.error("Cannot load questions from the database, keeping the previous filter: {}", exp.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of questions in the current filter.
+     *
+     * @return The number of questions loaded from the database, or 0 if the filter is disabled or not loaded.
+     */
+    @Override
+    public int getEntryCount() {
+        QuestionBloomFilter current = filter;
+        return current == null ? 0 : current.questionCount();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return loaded;
     }
 }
@@ -0,0 +1,89 @@
+package com.maths.challenge.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Finds the closest known question to a question that has no exact match, when fuzzy matching is enabled.
+ * Matching uses a {@link TrigramIndex} built when the questions are loaded, and accepts the most similar known
+ * question if its similarity reaches the configured threshold.
+ */
+@Component
+public class FuzzyQuestionMatcher {
+
+    /**
+     * Whether questions without an exact match are matched approximately.
+     */
+    private final boolean enabled;
+    /**
+     * The minimum similarity of a match.
+     */
+    private final double threshold;
+    /**
+     * The maximum number of known questions scored per search.
+     */
+    private final int maxCandidates;
+    /**
+     * The metric used to score the similarity of two questions.
+     */
+    private final SimilarityMetric metric;
+
+    /**
+     * Constructs a new FuzzyQuestionMatcher with the specified settings.
+     *
+     * @param enabled       Whether questions without an exact match are matched approximately.
+     * @param threshold     The minimum similarity of a match, between 0 and 1.
+     * @param maxCandidates The maximum number of known questions scored per search.
+     * @param metric        The metric used to score the similarity of two questions.
+     */
+    public FuzzyQuestionMatcher(@Value("${robobob.basic-questions-fuzzy.enabled:false}") boolean enabled,
+                                @Value("${robobob.basic-questions-fuzzy.threshold:0.5}") double threshold,
+                                @Value("${robobob.basic-questions-fuzzy.max-candidates:200}") int maxCandidates,
+                                @Value("${robobob.basic-questions-fuzzy.metric:JACCARD}") SimilarityMetric metric) {
+        if (!(threshold >= 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("The similarity threshold must be between 0 and 1");
+        }
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("The maximum number of candidates must be positive");
+        }
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxCandidates = maxCandidates;
+        this.metric = metric;
+    }
+
+    /**
+     * Returns whether questions without an exact match are matched approximately.
+     *
+     * @return true if fuzzy matching is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the index searched for approximate matches.
+     *
+     * @param answersByQuestion The answers, by normalized question.
+     * @return The index, or null if fuzzy matching is disabled.
+     */
+    TrigramIndex buildIndex(Map<String, String> answersByQuestion) {
+        return enabled ? new TrigramIndex(answersByQuestion) : null;
+    }
+
+    /**
+     * Finds the known question closest to the given question.
+     *
+     * @param index    The index built by {@link #buildIndex(Map)}, or null if fuzzy matching is disabled.
+     * @param question The question asked, as written by the caller.
+     * @return The closest known question, or null if none is similar enough.
+     */
+    TrigramIndex.Match findClosest(TrigramIndex index, String question) {
+        if (index == null) {
+            return null;
+        }
+        return index.find(QuestionNormalizer.normalize(question), metric, maxCandidates, threshold);
+    }
+}
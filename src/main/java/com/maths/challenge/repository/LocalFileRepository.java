@@ -3,64 +3,187 @@ package com.maths.challenge.repository;
 import com.maths.challenge.exception.QuestionNotFoundException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 /**
  * Repository implementation for retrieving answers from a local file.
- * This repository is active when the "local" profile is active.
- * It loads question-answer pairs from a file into memory during application startup.
+ * This repository is active when the "local" profile is active, unless {@code robobob.basic-questions-store} selects
+ * the {@link MappedFileRepository}.
+ * It loads question-answer pairs from a file into memory during application startup, and loads the file again when
+ * it changes or when a reload is requested through the {@code questions} actuator endpoint. Each load builds a new
+ * immutable snapshot off the request path and publishes it with a single volatile write, so lookups never block
+ * and never see a partially loaded file. A load that fails keeps the previous snapshot.
+ * Questions are matched after {@link QuestionNormalizer normalization}, so differences in case, whitespace and
+ * trailing punctuation do not matter. When fuzzy matching is enabled, a question without an exact match is answered
+ * with the answer to the closest known question found by the {@link FuzzyQuestionMatcher}. Otherwise, questions
+ * are first tested against a {@link QuestionBloomFilter} of the snapshot, and the {@link UnknownQuestionGuard}
+ * answers those that are certainly unknown without a lookup. The JSON responses of the answers are
+ * {@link PreEncodedAnswers encoded} on every load.
  */
 @Slf4j
 @Repository
 @Profile("local")
-public class LocalFileRepository implements QuestionRepository {
+@ConditionalOnProperty(name = "robobob.basic-questions-store", havingValue = "heap", matchIfMissing = true)
+public class LocalFileRepository implements ReloadableQuestionRepository {
 
     /**
      * Delimiter used to separate questions and answers in the file.
      */
     private static final String QUESTION_ANSWER_DELIMITER = "=";
     /**
-     * In-memory map to store question-answer pairs.
+     * Immutable snapshot of the question-answer pairs, replaced as a whole on every successful load.
      */
-    private final Map<String, String> questionAnswerMap;
+    private volatile Snapshot snapshot = new Snapshot(new NormalizedQuestionIndex(Map.of()), null, null, false);
     /**
      * Path to the file containing question-answer pairs.
      */
     private final String questionsFilePath;
+    /**
+     * Whether the file is watched for changes.
+     */
+    private final boolean watchEnabled;
+    /**
+     * How long the file must be quiet after a change before it is loaded again.
+     */
+    private final Duration watchDebounce;
+    /**
+     * Matcher answering questions that have no exact match.
+     */
+    private final FuzzyQuestionMatcher fuzzyMatcher;
+    /**
+     * Guard answering questions that are certainly unknown without a lookup.
+     */
+    private final UnknownQuestionGuard unknownQuestionGuard;
+    /**
+     * The JSON responses of the loaded answers, encoded on every load.
+     */
+    private final PreEncodedAnswers preEncodedAnswers;
+    /**
+     * Time spent looking up answers.
+     */
+    private final Timer lookupTimer;
+    /**
+     * Number of questions that were not found.
+     */
+    private final Counter notFoundCounter;
+    /**
+     * Number of questions answered with the closest known question.
+     */
+    private final Counter fuzzyMatchCounter;
+    /**
+     * Time spent on loads that published a new snapshot.
+     */
+    private final Timer reloadTimer;
+    /**
+     * Number of loads that failed and kept the previous snapshot.
+     */
+    private final Counter reloadFailureCounter;
+    /**
+     * Watcher loading the file again when it changes, or null if the file is not watched.
+     */
+    private QuestionsFileWatcher fileWatcher;
+    /**
+     * Lock serializing loads. Unlike a monitor, it does not pin a virtual thread reading the file while holding it.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     /**
      * Constructs a new LocalFileRepository with the specified file path.
      *
-     * @param questionsFilePath The path to the file containing question-answer pairs.
+     * @param questionsFilePath    The path to the file containing question-answer pairs.
+     * @param watchEnabled         Whether the file is watched for changes.
+     * @param watchDebounce        How long the file must be quiet after a change before it is loaded again.
+     * @param fuzzyMatcher         The matcher answering questions that have no exact match.
+     * @param unknownQuestionGuard The guard answering questions that are certainly unknown without a lookup.
+     * @param preEncodedAnswers    The JSON responses of the loaded answers, encoded on every load.
+     * @param meterRegistry        The registry the lookup and reload metrics are published to.
      */
-    public LocalFileRepository(@Value("${robobob.basic-questions-file}") String questionsFilePath) {
+    public LocalFileRepository(@Value("${robobob.basic-questions-file}") String questionsFilePath,
+                               @Value("${robobob.basic-questions-watch.enabled:true}") boolean watchEnabled,
+                               @Value("${robobob.basic-questions-watch.debounce:500ms}") Duration watchDebounce,
+                               FuzzyQuestionMatcher fuzzyMatcher,
+                               UnknownQuestionGuard unknownQuestionGuard,
+                               PreEncodedAnswers preEncodedAnswers,
+                               MeterRegistry meterRegistry) {
         this.questionsFilePath = questionsFilePath;
-        this.questionAnswerMap = new ConcurrentHashMap<>();
+        this.watchEnabled = watchEnabled;
+        this.watchDebounce = watchDebounce;
+        this.fuzzyMatcher = fuzzyMatcher;
+        this.unknownQuestionGuard = unknownQuestionGuard;
+        this.preEncodedAnswers = preEncodedAnswers;
+        this.lookupTimer = Timer.builder("robobob.repository.lookup")
+                .description("Time spent looking up the answer to a basic question")
+                .tag("repository", "local")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.notFoundCounter = Counter.builder("robobob.questions.not.found")
+                .description("Basic questions that have no answer")
+                .tag("repository", "local")
+                .register(meterRegistry);
+        this.fuzzyMatchCounter = Counter.builder("robobob.questions.fuzzy.matched")
+                .description("Basic questions answered with the closest known question")
+                .tag("repository", "local")
+                .register(meterRegistry);
+        this.reloadTimer = Timer.builder("robobob.repository.reload")
+                .description("Time spent loading the questions file")
+                .tag("repository", "local")
+                .register(meterRegistry);
+        this.reloadFailureCounter = Counter.builder("robobob.repository.reload.failures")
+                .description("Loads of the questions file that kept the previous questions")
+                .tag("repository", "local")
+                .register(meterRegistry);
+        Gauge.builder("robobob.repository.entries", this, LocalFileRepository::getEntryCount)
+                .description("Question-answer pairs currently loaded")
+                .tag("repository", "local")
+                .register(meterRegistry);
+        unknownQuestionGuard.monitor("local", () -> snapshot.filter());
     }
 
     /**
-     * Loads question-answer pairs from the file into memory during application startup.
-     *
-     * @throws IOException If an error occurs while reading the file.
+     * Loads question-answer pairs from the file into memory during application startup, and starts watching the
+     * file for changes if enabled. A missing or invalid file leaves the repository empty until it is fixed.
      */
     @PostConstruct
     public void init() {
-        try {
-            loadQuestions();
-        } catch (IOException exp) {
-            log.error("Error reading questions file: {}", exp.getMessage(), exp);
+        reload();
+        if (watchEnabled) {
+            try {
+                fileWatcher = new QuestionsFileWatcher(Path.of(questionsFilePath), watchDebounce, this::reload);
+            } catch (IOException | RuntimeException exp) {
+                log.error("Cannot watch questions file {}: {}", questionsFilePath, exp.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops watching the questions file.
+     */
+    @PreDestroy
+    public void close() {
+        if (fileWatcher != null) {
+            fileWatcher.close();
         }
     }
 
@@ -73,40 +196,150 @@ public class LocalFileRepository implements QuestionRepository {
      */
     @Override
     public AnswerResponse getAnswer(QuestionRequest questionRequest) {
-        String question = questionRequest.getQuestion().trim().toLowerCase();
+        return lookupTimer.record(() -> lookup(questionRequest));
+    }
+
+    private AnswerResponse lookup(QuestionRequest questionRequest) {
+        String question = questionRequest.getQuestion();
         log.info("Retrieving answer to a question : {} from local storage", question);
-        if (!questionAnswerMap.containsKey(question)) {
-            log.warn("Question not found: {}", question);
-            throw new QuestionNotFoundException("Question does not exist.");
+        Snapshot current = snapshot;
+        if (unknownQuestionGuard.isDefiniteMiss(current.filter(), question)) {
+            return notFound(question);
+        }
+        String answer = current.exactIndex().find(question);
+        if (answer == null) {
+            unknownQuestionGuard.recordFalsePositive(current.filter());
+            TrigramIndex.Match match = fuzzyMatcher.findClosest(current.fuzzyIndex(), question);
+            if (match != null) {
+                log.info("Answering question : {} as the known question : {} (similarity {})", question,
+                        match.question(), match.score());
+                fuzzyMatchCounter.increment();
+                return new AnswerResponse(match.answer());
+            }
+            return notFound(question);
         }
 
-        return new AnswerResponse(questionAnswerMap.get(question));
+        return new AnswerResponse(answer);
+    }
+
+    @Override
+    public String findAnswer(String question) {
+        Snapshot current = snapshot;
+        String answer = current.exactIndex().find(question);
+        if (answer == null) {
+            TrigramIndex.Match match = fuzzyMatcher.findClosest(current.fuzzyIndex(), question);
+            return match == null ? null : match.answer();
+        }
+        return answer;
+    }
+
+    private AnswerResponse notFound(String question) {
+        log.warn("Question not found: {}", question);
+        notFoundCounter.increment();
+        throw new QuestionNotFoundException(QuestionNotFoundException.MESSAGE);
     }
 
     /**
-     * Loads question-answer pairs from the file into the in-memory map.
+     * Loads the questions file again and publishes it as the new snapshot.
+     * Loads are serialized; lookups keep using the previous snapshot until the new one is published, and keep it
+     * if the file cannot be read or contains no question-answer pairs.
      *
-     * @throws IOException If an error occurs while reading the file.
+     * @return true if a new snapshot was published, false if the previous one is kept.
+     */
+    @Override
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            return loadSnapshot();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the questions file and publishes the new snapshot, unless the load fails.
+     *
+     * @return true if a new snapshot was published, false if the previous one is kept.
      */
-    private void loadQuestions() throws IOException {
-        Path path = Path.of(questionsFilePath);
-        if (!Files.exists(path)) {
+    private boolean loadSnapshot() {
+        long start = System.nanoTime();
+        try {
+            Map<String, String> loaded = loadQuestions();
+            if (loaded.isEmpty()) {
+                throw new IOException("No question-answer pairs found");
+            }
+            TrigramIndex fuzzyIndex = fuzzyMatcher.buildIndex(loaded);
+            // a question without an exact match may still have a fuzzy one, so the filter only guards exact matching
+            QuestionBloomFilter filter = fuzzyIndex == null ? unknownQuestionGuard.buildFilter(loaded.keySet()) : null;
+            snapshot = new Snapshot(new NormalizedQuestionIndex(loaded), fuzzyIndex, filter, true);
+            preEncodedAnswers.publish(loaded.values());
+            long duration = System.nanoTime() - start;
+            reloadTimer.record(duration, TimeUnit.NANOSECONDS);
+            log.info("Loaded {} question-answer pairs from file: {} in {} ms", loaded.size(), questionsFilePath,
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+            return true;
+        } catch (NoSuchFileException exp) {
+            reloadFailureCounter.increment();
             log.error("Questions file does not exist: {}", questionsFilePath);
-            return;
+            return false;
+        } catch (IOException | RuntimeException exp) {
+            reloadFailureCounter.increment();
+            log.error("Error reading questions file, keeping {} previously loaded questions: {}",
+                    getEntryCount(), exp.getMessage(), exp);
+            return false;
         }
+    }
 
-        try (Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8)) {
-            long count = lines.map(String::trim)
+    /**
+     * Returns the number of question-answer pairs currently loaded.
+     *
+     * @return The number of question-answer pairs in the current snapshot.
+     */
+    @Override
+    public int getEntryCount() {
+        return snapshot.exactIndex().size();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return snapshot.loaded();
+    }
+
+    /**
+     * Reads the question-answer pairs from the file, normalizing the questions.
+     * When several lines have the same normalized question, the last one wins.
+     *
+     * @return The answers of the file, by normalized question.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    private Map<String, String> loadQuestions() throws IOException {
+        Map<String, String> loaded = new LinkedHashMap<>();
+        try (Stream<String> lines = Files.lines(Path.of(questionsFilePath), StandardCharsets.UTF_8)) {
+            lines.map(String::trim)
                     .filter(line -> line.contains(QUESTION_ANSWER_DELIMITER))
-                    .peek(line -> {
+                    .forEach(line -> {
                         String[] parts = line.split(QUESTION_ANSWER_DELIMITER, 2);
-                        if (parts.length == 2) {
-                            questionAnswerMap.put(parts[0].trim().toLowerCase(), parts[1].trim());
+                        String question = QuestionNormalizer.normalize(parts[0]);
+                        if (parts.length == 2 && !question.isEmpty()) {
+                            loaded.put(question, parts[1].trim());
                         } else {
                             log.warn("Skipping invalid line format: {}", line);
                         }
-                    }).count();
-            log.info("Loaded {} question-answer pairs from file: {}", count, questionsFilePath);
+                    });
         }
+        return loaded;
+    }
+
+    /**
+     * The indexes built from one version of the questions file, published together.
+     *
+     * @param exactIndex The index of the normalized questions.
+     * @param fuzzyIndex The trigram index of the normalized questions, or null if fuzzy matching is disabled.
+     * @param filter     The filter of the normalized questions, or null if the question filter is disabled or
+     *                   fuzzy matching is enabled.
+     * @param loaded     Whether the snapshot was loaded from the questions file, false for the empty initial one.
+     */
+    private record Snapshot(NormalizedQuestionIndex exactIndex, TrigramIndex fuzzyIndex, QuestionBloomFilter filter,
+                            boolean loaded) {
     }
 }
@@ -0,0 +1,245 @@
+package com.maths.challenge.repository;
+
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Repository implementation answering questions from a memory-mapped file, for question banks too large to hold
+ * on the heap.
+ * This repository is active when the "local" profile is active and {@code robobob.basic-questions-store} is set to
+ * {@code mapped}. The file is indexed by a {@link MappedQuestionIndex}, so heap usage does not grow with the number
+ * of questions and loading the file does not create a String per line. Like {@link LocalFileRepository}, it loads
+ * the file again when it changes or when a reload is requested, and keeps the previous index if a load fails.
+ * As the mapped file backs the index that is serving lookups, a new version must be published by moving a complete
+ * file into place rather than by rewriting the file in place.
+ */
+@Slf4j
+@Repository
+@Profile("local")
+@ConditionalOnProperty(name = "robobob.basic-questions-store", havingValue = "mapped")
+public class MappedFileRepository implements ReloadableQuestionRepository {
+
+    /**
+     * Index over the currently mapped questions file, replaced as a whole on every successful load.
+     */
+    private volatile MappedQuestionIndex questionIndex;
+    /**
+     * Path to the file containing question-answer pairs.
+     */
+    private final String questionsFilePath;
+    /**
+     * Whether the file is watched for changes.
+     */
+    private final boolean watchEnabled;
+    /**
+     * How long the file must be quiet after a change before it is loaded again.
+     */
+    private final Duration watchDebounce;
+    /**
+     * Time spent looking up answers.
+     */
+    private final Timer lookupTimer;
+    /**
+     * Number of questions that were not found.
+     */
+    private final Counter notFoundCounter;
+    /**
+     * Time spent on loads that published a new index.
+     */
+    private final Timer reloadTimer;
+    /**
+     * Number of loads that failed and kept the previous index.
+     */
+    private final Counter reloadFailureCounter;
+    /**
+     * Watcher loading the file again when it changes, or null if the file is not watched.
+     */
+    private QuestionsFileWatcher fileWatcher;
+    /**
+     * Lock serializing loads. Unlike a monitor, it does not pin a virtual thread reading the file while holding it.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * Constructs a new MappedFileRepository with the specified file path.
+     *
+     * @param questionsFilePath The path to the file containing question-answer pairs.
+     * @param watchEnabled      Whether the file is watched for changes.
+     * @param watchDebounce     How long the file must be quiet after a change before it is loaded again.
+     * @param fuzzyMatcher      The fuzzy matcher, only checked to warn that this store does not support it.
+     * @param meterRegistry     The registry the lookup and reload metrics are published to.
+     */
+    public MappedFileRepository(@Value("${robobob.basic-questions-file}") String questionsFilePath,
+                                @Value("${robobob.basic-questions-watch.enabled:true}") boolean watchEnabled,
+                                @Value("${robobob.basic-questions-watch.debounce:500ms}") Duration watchDebounce,
+                                FuzzyQuestionMatcher fuzzyMatcher,
+                                MeterRegistry meterRegistry) {
+        if (fuzzyMatcher.isEnabled()) {
+            log.warn("Fuzzy matching is not supported by the mapped questions store and will be ignored");
+        }
+        this.questionsFilePath = questionsFilePath;
+        this.watchEnabled = watchEnabled;
+        this.watchDebounce = watchDebounce;
+        this.lookupTimer = Timer.builder("robobob.repository.lookup")
+                .description("Time spent looking up the answer to a basic question")
+                .tag("repository", "mapped")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.notFoundCounter = Counter.builder("robobob.questions.not.found")
+                .description("Basic questions that have no answer")
+                .tag("repository", "mapped")
+                .register(meterRegistry);
+        this.reloadTimer = Timer.builder("robobob.repository.reload")
+                .description("Time spent loading the questions file")
+                .tag("repository", "mapped")
+                .register(meterRegistry);
+        this.reloadFailureCounter = Counter.builder("robobob.repository.reload.failures")
+                .description("Loads of the questions file that kept the previous questions")
+                .tag("repository", "mapped")
+                .register(meterRegistry);
+        Gauge.builder("robobob.repository.entries", this, MappedFileRepository::getEntryCount)
+                .description("Question-answer pairs currently loaded")
+                .tag("repository", "mapped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Maps and indexes the questions file during application startup, and starts watching the file for changes if
+     * enabled. A missing or invalid file leaves the repository empty until it is fixed.
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+        if (watchEnabled) {
+            try {
+                fileWatcher = new QuestionsFileWatcher(Path.of(questionsFilePath), watchDebounce, this::reload);
+            } catch (IOException | RuntimeException exp) {
+                log.error("Cannot watch questions file {}: {}", questionsFilePath, exp.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops watching the questions file.
+     */
+    @PreDestroy
+    public void close() {
+        if (fileWatcher != null) {
+            fileWatcher.close();
+        }
+    }
+
+    /**
+     * Retrieves the answer for the given question request from the mapped file.
+     *
+     * @param questionRequest The request containing the question to answer.
+     * @return An AnswerResponse object containing the answer.
+     * @throws QuestionNotFoundException If the question is not found in the file.
+     */
+    @Override
+    public AnswerResponse getAnswer(QuestionRequest questionRequest) {
+        return lookupTimer.record(() -> lookup(questionRequest));
+    }
+
+    private AnswerResponse lookup(QuestionRequest questionRequest) {
+        String question = questionRequest.getQuestion();
+        log.info("Retrieving answer to a question : {} from mapped storage", question);
+        MappedQuestionIndex index = questionIndex;
+        String answer = index == null ? null : index.find(question);
+        if (answer == null) {
+            log.warn("Question not found: {}", question);
+            notFoundCounter.increment();
+            throw new QuestionNotFoundException(QuestionNotFoundException.MESSAGE);
+        }
+
+        return new AnswerResponse(answer);
+    }
+
+    @Override
+    public String findAnswer(String question) {
+        MappedQuestionIndex index = questionIndex;
+        return index == null ? null : index.find(question);
+    }
+
+    /**
+     * Maps and indexes the questions file again and publishes the new index.
+     * Loads are serialized; lookups keep using the previous index until the new one is published, and keep it if
+     * the file cannot be read or contains no question-answer pairs.
+     *
+     * @return true if a new index was published, false if the previous one is kept.
+     */
+    @Override
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            return loadIndex();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the questions file and publishes the new index, unless the load fails.
+     *
+     * @return true if a new index was published, false if the previous one is kept.
+     */
+    private boolean loadIndex() {
+        long start = System.nanoTime();
+        try {
+            MappedQuestionIndex loaded = MappedQuestionIndex.load(Path.of(questionsFilePath));
+            if (loaded.size() == 0) {
+                throw new IOException("No question-answer pairs found");
+            }
+            questionIndex = loaded;
+            long duration = System.nanoTime() - start;
+            reloadTimer.record(duration, TimeUnit.NANOSECONDS);
+            log.info("Indexed {} question-answer pairs from file: {} in {} ms", loaded.size(), questionsFilePath,
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+            return true;
+        } catch (NoSuchFileException exp) {
+            reloadFailureCounter.increment();
+            log.error("Questions file does not exist: {}", questionsFilePath);
+            return false;
+        } catch (IOException | RuntimeException exp) {
+            reloadFailureCounter.increment();
+            log.error("Error indexing questions file, keeping {} previously indexed questions: {}",
+                    getEntryCount(), exp.getMessage(), exp);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of question-answer pairs currently indexed.
+     *
+     * @return The number of question-answer pairs in the current index.
+     */
+    @Override
+    public int getEntryCount() {
+        MappedQuestionIndex index = questionIndex;
+        return index == null ? 0 : index.size();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return questionIndex != null;
+    }
+}
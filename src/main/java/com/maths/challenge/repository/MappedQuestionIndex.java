@@ -0,0 +1,366 @@
+package com.maths.challenge.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Immutable index over a memory-mapped questions file.
+ * The file itself stays in the page cache; the index is an open-addressing hash table held in direct memory, whose
+ * slots pack the hash of a question with the byte offset of its line. Questions are normalized, hashed and compared
+ * as {@link QuestionNormalizer} does, code point by code point directly on the UTF-8 bytes of the file, and answers
+ * are only decoded when they are looked up. Nothing is allocated per entry on the heap, whatever the size of the
+ * file.
+ */
+final class MappedQuestionIndex {
+
+    /**
+     * The largest file that can be mapped as a single buffer.
+     */
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+    /**
+     * The largest number of slots the index can hold in a single direct buffer, whose size in bytes must fit an int.
+     */
+    static final int MAX_SLOTS = 1 << 27;
+    /**
+     * Marker of an empty slot; occupied slots store the line offset plus one.
+     */
+    private static final long EMPTY_SLOT = 0L;
+    /**
+     * The separator between a question and its answer.
+     */
+    private static final byte DELIMITER = '=';
+    /**
+     * The replacement for malformed UTF-8 sequences.
+     */
+    private static final int REPLACEMENT = 0xFFFD;
+
+    /**
+     * The mapped contents of the questions file.
+     */
+    private final ByteBuffer data;
+    /**
+     * The hash table slots, each holding the question hash in the high half and the line offset plus one in the
+     * low half.
+     */
+    private final LongBuffer slots;
+    /**
+     * The mask selecting a slot from a hash.
+     */
+    private final int mask;
+    /**
+     * The number of distinct questions in the index.
+     */
+    private final int size;
+
+    private MappedQuestionIndex(ByteBuffer data) {
+        this.data = data;
+        int capacity = capacity(countEntryLines());
+        this.slots = ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();
+        this.mask = capacity - 1;
+        this.size = indexEntryLines();
+    }
+
+    /**
+     * Maps the given questions file and indexes its questions.
+     *
+     * @param path The questions file, in the {@code question=answer} per line format.
+     * @return The index over the file.
+     * @throws IOException If the file cannot be read or is larger than 2 GB.
+     */
+    static MappedQuestionIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > MAX_FILE_SIZE) {
+                throw new IOException("Questions file is larger than 2 GB: " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            return new MappedQuestionIndex(data);
+        }
+    }
+
+    /**
+     * Returns the number of slots of an index over the given number of lines: a power of two, so that at most three
+     * quarters of the slots are used and at least one always stays empty.
+     *
+     * @param lines The number of question lines to index.
+     * @return The number of slots.
+     * @throws IllegalStateException If the slots would not fit in a single direct buffer.
+     */
+    static int capacity(int lines) {
+        long wantedSlots = Math.max(2L, lines + lines / 3L);
+        if (wantedSlots > MAX_SLOTS) {
+            throw new IllegalStateException("Too many questions to index: " + lines);
+        }
+        return Integer.highestOneBit((int) wantedSlots * 2 - 1);
+    }
+
+    /**
+     * Returns the number of distinct questions in the index.
+     *
+     * @return The number of questions.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the answer to a question, as written by the caller.
+     *
+     * @param question The question to look up; it does not need to be normalized.
+     * @return The answer, or null if the normalized question is not in the file.
+     */
+    String find(String question) {
+        int end = QuestionNormalizer.contentEnd(question);
+        int start = QuestionNormalizer.contentStart(question, end);
+        int hash = QuestionNormalizer.hash(question);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = slots.get(slot);
+            if (entry == EMPTY_SLOT) {
+                return null;
+            }
+            int line = lineOf(entry);
+            if (hashOf(entry) == hash && keyEquals(line, question, start, end)) {
+                return answer(line);
+            }
+        }
+    }
+
+    private int countEntryLines() {
+        int limit = data.limit();
+        int count = 0;
+        boolean hasDelimiter = false;
+        for (int index = 0; index < limit; index++) {
+            byte value = data.get(index);
+            if (value == DELIMITER) {
+                hasDelimiter = true;
+            } else if (value == '\n') {
+                count += hasDelimiter ? 1 : 0;
+                hasDelimiter = false;
+            }
+        }
+        return count + (hasDelimiter ? 1 : 0);
+    }
+
+    private int indexEntryLines() {
+        int limit = data.limit();
+        int distinct = 0;
+        int line = 0;
+        while (line < limit) {
+            int delimiter = findDelimiterOrLineEnd(line);
+            if (delimiter < limit && data.get(delimiter) == DELIMITER) {
+                int keyEnd = keyEnd(line, delimiter);
+                int keyStart = keyStart(line, keyEnd);
+                if (keyStart < keyEnd) {
+                    distinct += insert(line, keyStart, keyEnd) ? 1 : 0;
+                }
+            }
+            line = lineEnd(delimiter) + 1;
+        }
+        return distinct;
+    }
+
+    /**
+     * Adds the line to the table, replacing an earlier line with the same normalized question.
+     *
+     * @return true if the question was not in the table yet.
+     */
+    private boolean insert(int line, int keyStart, int keyEnd) {
+        int hash = hashKey(keyStart, keyEnd);
+        long newEntry = ((long) hash << 32) | (line + 1L);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = slots.get(slot);
+            if (entry == EMPTY_SLOT) {
+                slots.put(slot, newEntry);
+                return true;
+            }
+            if (hashOf(entry) == hash && keysEqual(lineOf(entry), keyStart, keyEnd)) {
+                // later lines win, as they would in a map
+                slots.put(slot, newEntry);
+                return false;
+            }
+        }
+    }
+
+    private String answer(int line) {
+        int start = findDelimiterOrLineEnd(line) + 1;
+        int end = lineEnd(start);
+        while (start < end && isTrimmed(data.get(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(data.get(end - 1))) {
+            end--;
+        }
+        byte[] bytes = new byte[end - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean keyEquals(int line, String question, int start, int end) {
+        int delimiter = findDelimiterOrLineEnd(line);
+        int keyEnd = keyEnd(line, delimiter);
+        int keyIndex = keyStart(line, keyEnd);
+        int index = start;
+        while (keyIndex < keyEnd && index < end) {
+            long keyNext = nextKey(keyIndex, keyEnd);
+            long next = QuestionNormalizer.next(question, index, end);
+            if (QuestionNormalizer.codePointOf(keyNext) != QuestionNormalizer.codePointOf(next)) {
+                return false;
+            }
+            keyIndex = QuestionNormalizer.indexOf(keyNext);
+            index = QuestionNormalizer.indexOf(next);
+        }
+        return keyIndex == keyEnd && index == end;
+    }
+
+    private boolean keysEqual(int line, int otherStart, int otherEnd) {
+        int delimiter = findDelimiterOrLineEnd(line);
+        int keyEnd = keyEnd(line, delimiter);
+        int keyIndex = keyStart(line, keyEnd);
+        int otherIndex = otherStart;
+        while (keyIndex < keyEnd && otherIndex < otherEnd) {
+            long keyNext = nextKey(keyIndex, keyEnd);
+            long otherNext = nextKey(otherIndex, otherEnd);
+            if (QuestionNormalizer.codePointOf(keyNext) != QuestionNormalizer.codePointOf(otherNext)) {
+                return false;
+            }
+            keyIndex = QuestionNormalizer.indexOf(keyNext);
+            otherIndex = QuestionNormalizer.indexOf(otherNext);
+        }
+        return keyIndex == keyEnd && otherIndex == otherEnd;
+    }
+
+    private int hashKey(int start, int end) {
+        int hash = 0;
+        for (int index = start; index < end; ) {
+            long next = nextKey(index, end);
+            hash = 31 * hash + QuestionNormalizer.codePointOf(next);
+            index = QuestionNormalizer.indexOf(next);
+        }
+        return QuestionNormalizer.mix(hash);
+    }
+
+    /**
+     * Reads the next code point of the normalized question, as {@link QuestionNormalizer} does on a String.
+     */
+    private long nextKey(int index, int end) {
+        int encoded = decode(index, end);
+        int codePoint = codePointOf(encoded);
+        if (!QuestionNormalizer.isSpace(codePoint)) {
+            return QuestionNormalizer.pack(index + widthOf(encoded), QuestionNormalizer.fold(codePoint));
+        }
+        int after = index + widthOf(encoded);
+        while (after < end && QuestionNormalizer.isSpace(codePointOf(encoded = decode(after, end)))) {
+            after += widthOf(encoded);
+        }
+        return QuestionNormalizer.pack(after, ' ');
+    }
+
+    /**
+     * Finds the offset of the first byte of the question that is not whitespace.
+     */
+    private int keyStart(int line, int keyEnd) {
+        int index = line;
+        while (index < keyEnd) {
+            int encoded = decode(index, keyEnd);
+            if (!QuestionNormalizer.isSpace(codePointOf(encoded))) {
+                break;
+            }
+            index += widthOf(encoded);
+        }
+        return index;
+    }
+
+    /**
+     * Finds the offset after the last byte of the question that is neither whitespace nor trailing punctuation.
+     */
+    private int keyEnd(int line, int delimiter) {
+        int end = delimiter;
+        while (end > line) {
+            int start = end - 1;
+            while (start > line && end - start < 4 && (data.get(start) & 0xC0) == 0x80) {
+                start--;
+            }
+            int codePoint = codePointOf(decode(start, end));
+            if (!QuestionNormalizer.isSpace(codePoint) && !QuestionNormalizer.isTrailingPunctuation(codePoint)) {
+                break;
+            }
+            end = start;
+        }
+        return end;
+    }
+
+    private int findDelimiterOrLineEnd(int from) {
+        int index = from;
+        while (index < data.limit() && data.get(index) != DELIMITER && data.get(index) != '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    private int lineEnd(int from) {
+        int index = from;
+        while (index < data.limit() && data.get(index) != '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Decodes the UTF-8 sequence at the given offset.
+     *
+     * @return The code point in the low 24 bits and the length of the sequence in the high 8 bits.
+     */
+    private int decode(int index, int end) {
+        int lead = data.get(index) & 0xFF;
+        if (lead < 0x80) {
+            return encoded(lead, 1);
+        }
+        int continuation = lead >= 0xF0 ? 3 : lead >= 0xE0 ? 2 : lead >= 0xC0 ? 1 : 0;
+        if (continuation == 0 || index + continuation >= end) {
+            return encoded(REPLACEMENT, 1);
+        }
+        int codePoint = lead & (0x3F >> continuation);
+        for (int offset = 1; offset <= continuation; offset++) {
+            int next = data.get(index + offset) & 0xFF;
+            if ((next & 0xC0) != 0x80) {
+                return encoded(REPLACEMENT, 1);
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        return encoded(codePoint, continuation + 1);
+    }
+
+    private static int encoded(int codePoint, int width) {
+        return (width << 24) | codePoint;
+    }
+
+    private static int codePointOf(int encoded) {
+        return encoded & 0xFFFFFF;
+    }
+
+    private static int widthOf(int encoded) {
+        return encoded >>> 24;
+    }
+
+    private static int hashOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int lineOf(long entry) {
+        return (int) entry - 1;
+    }
+
+    /**
+     * Checks for the characters removed by {@link String#trim()}.
+     */
+    private static boolean isTrimmed(byte value) {
+        return value >= 0 && value <= ' ';
+    }
+}
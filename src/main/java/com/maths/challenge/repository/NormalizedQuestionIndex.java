@@ -0,0 +1,84 @@
+package com.maths.challenge.repository;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressing table from normalized questions to their answers.
+ * Lookups hash and compare the raw question against the normalized questions with {@link QuestionNormalizer}, so a
+ * lookup allocates nothing, whether the question is found or not.
+ */
+final class NormalizedQuestionIndex {
+
+    /**
+     * The normalized questions, by slot; null for an empty slot.
+     */
+    private final String[] questions;
+    /**
+     * The answers, by slot.
+     */
+    private final String[] answers;
+    /**
+     * The hashes of the normalized questions, by slot.
+     */
+    private final int[] hashes;
+    /**
+     * The mask selecting a slot from a hash.
+     */
+    private final int mask;
+    /**
+     * The number of questions in the table.
+     */
+    private final int size;
+
+    /**
+     * Builds a table over the given answers.
+     *
+     * @param answersByQuestion The answers, by normalized question.
+     */
+    NormalizedQuestionIndex(Map<String, String> answersByQuestion) {
+        // at most half of the slots are used, which keeps probe sequences short for misses
+        int capacity = Integer.highestOneBit(Math.max(2, answersByQuestion.size() * 2) * 2 - 1);
+        this.questions = new String[capacity];
+        this.answers = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = answersByQuestion.size();
+        answersByQuestion.forEach(this::insert);
+    }
+
+    private void insert(String question, String answer) {
+        int hash = QuestionNormalizer.hash(question);
+        int slot = hash & mask;
+        while (questions[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        questions[slot] = question;
+        answers[slot] = answer;
+        hashes[slot] = hash;
+    }
+
+    /**
+     * Returns the number of questions in the table.
+     *
+     * @return The number of questions.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the answer to a question, as written by the caller.
+     *
+     * @param question The question to look up; it does not need to be normalized.
+     * @return The answer, or null if the normalized question is not in the table.
+     */
+    String find(CharSequence question) {
+        int hash = QuestionNormalizer.hash(question);
+        for (int slot = hash & mask; questions[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && QuestionNormalizer.matches(question, questions[slot])) {
+                return answers[slot];
+            }
+        }
+        return null;
+    }
+}
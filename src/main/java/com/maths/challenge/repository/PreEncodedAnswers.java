@@ -0,0 +1,82 @@
+package com.maths.challenge.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.generated.model.AnswerResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The JSON {@link AnswerResponse} of every known answer, encoded when the questions are loaded so that answering a
+ * basic question does not serialize its response again.
+ * The encoded responses are those the application's {@link ObjectMapper} writes, and are replaced as a whole on every
+ * load. An answer that is not known, or that the last load no longer contains, is not found and is serialized as
+ * usual.
+ */
+@Slf4j
+@Component
+public class PreEncodedAnswers {
+
+    /**
+     * Whether the answers are encoded when the questions are loaded.
+     */
+    private final boolean enabled;
+    /**
+     * The mapper writing the responses, as it does for every other response.
+     */
+    private final ObjectMapper objectMapper;
+    /**
+     * The UTF-8 JSON response of each known answer, by answer.
+     */
+    private volatile Map<String, byte[]> encodedAnswers = Map.of();
+
+    /**
+     * Constructs a new PreEncodedAnswers.
+     *
+     * @param enabled      Whether the answers are encoded when the questions are loaded.
+     * @param objectMapper The mapper writing the responses.
+     */
+    public PreEncodedAnswers(@Value("${robobob.json.fast-path.enabled:true}") boolean enabled,
+                             ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Encodes the response of each of the given answers and publishes them, replacing the previous ones.
+     *
+     * @param answers The answers of the loaded questions.
+     */
+    void publish(Collection<String> answers) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, byte[]> encoded = new HashMap<>();
+        for (String answer : answers) {
+            if (!encoded.containsKey(answer)) {
+                try {
+                    encoded.put(answer, objectMapper.writeValueAsBytes(new AnswerResponse(answer)));
+                } catch (JsonProcessingException exp) {
+                    log.warn("Cannot encode answer {}, it will be serialized on every response: {}", answer,
+                            exp.getMessage());
+                }
+            }
+        }
+        encodedAnswers = encoded;
+    }
+
+    /**
+     * Finds the encoded response of the given answer.
+     *
+     * @param answer The answer to respond with.
+     * @return The UTF-8 JSON response, which must not be modified, or null if the answer is not known.
+     */
+    public byte[] find(String answer) {
+        return answer == null ? null : encodedAnswers.get(answer);
+    }
+}
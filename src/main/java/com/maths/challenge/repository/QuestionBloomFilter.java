@@ -0,0 +1,180 @@
+package com.maths.challenge.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over a set of normalized questions, telling questions that are certainly unknown apart
+ * from questions that may be known.
+ * Questions are hashed with {@link QuestionNormalizer#hash(CharSequence)}, so a request is tested without being
+ * normalized into a new String, and the bit positions are derived from that hash by double hashing. The filter is
+ * sized for the number of questions it holds and the requested false-positive rate.
+ */
+final class QuestionBloomFilter {
+
+    /**
+     * The maximum number of bit positions set per question.
+     */
+    private static final int MAX_HASH_FUNCTIONS = 16;
+    /**
+     * The smallest number of bits of a filter.
+     */
+    private static final long MIN_BITS = Long.SIZE;
+
+    /**
+     * The bits of the filter.
+     */
+    private final long[] bits;
+    /**
+     * The number of usable bits.
+     */
+    private final long bitCount;
+    /**
+     * The number of bit positions set per question.
+     */
+    private final int hashFunctions;
+    /**
+     * The number of questions added to the filter.
+     */
+    private final int questionCount;
+
+    /**
+     * Builds the filter over the given question hashes.
+     *
+     * @param hashes            The {@link QuestionNormalizer#hash(CharSequence) hashes} of the questions.
+     * @param questionCount     The number of hashes to add, from the start of the array.
+     * @param falsePositiveRate The rate at which unknown questions may be reported as possibly known.
+     */
+    private QuestionBloomFilter(int[] hashes, int questionCount, double falsePositiveRate) {
+        double optimalBits = -questionCount * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long words = (Math.max(MIN_BITS, (long) Math.ceil(optimalBits)) + Long.SIZE - 1) / Long.SIZE;
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many questions for a Bloom filter: " + questionCount);
+        }
+        this.bits = new long[(int) words];
+        this.bitCount = words * Long.SIZE;
+        this.hashFunctions = questionCount == 0 ? 1 : (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS,
+                Math.round((double) bitCount / questionCount * Math.log(2))));
+        this.questionCount = questionCount;
+        for (int index = 0; index < questionCount; index++) {
+            add(hashes[index]);
+        }
+    }
+
+    /**
+     * Builds a filter over the given normalized questions.
+     *
+     * @param normalizedQuestions The normalized questions.
+     * @param falsePositiveRate   The rate at which unknown questions may be reported as possibly known.
+     * @return The filter.
+     */
+    static QuestionBloomFilter of(Collection<String> normalizedQuestions, double falsePositiveRate) {
+        Builder builder = new Builder();
+        normalizedQuestions.forEach(builder::add);
+        return builder.build(falsePositiveRate);
+    }
+
+    /**
+     * Tests whether the given question may be one of the questions of the filter.
+     *
+     * @param question The question asked, as written by the caller.
+     * @return false if the question is certainly unknown, true if it may be known.
+     */
+    boolean mightContain(CharSequence question) {
+        int hash = QuestionNormalizer.hash(question);
+        long first = Integer.toUnsignedLong(hash);
+        long second = Integer.toUnsignedLong(QuestionNormalizer.mix(~hash)) | 1;
+        for (int function = 0; function < hashFunctions; function++) {
+            long bit = (first + function * second) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of bits of the filter.
+     *
+     * @return The size of the filter, in bits.
+     */
+    long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Returns the number of bit positions set per question.
+     *
+     * @return The number of hash functions.
+     */
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the number of questions added to the filter.
+     *
+     * @return The number of questions.
+     */
+    int questionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Estimates the rate at which unknown questions are reported as possibly known, from the size of the filter and
+     * the number of questions it holds.
+     *
+     * @return The expected false-positive rate, between 0 and 1.
+     */
+    double expectedFalsePositiveRate() {
+        double unsetRatio = Math.exp(-(double) hashFunctions * questionCount / bitCount);
+        return Math.pow(1 - unsetRatio, hashFunctions);
+    }
+
+    private void add(int hash) {
+        long first = Integer.toUnsignedLong(hash);
+        long second = Integer.toUnsignedLong(QuestionNormalizer.mix(~hash)) | 1;
+        for (int function = 0; function < hashFunctions; function++) {
+            long bit = (first + function * second) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Collects the hashes of the questions a filter is built over, so that questions read one by one, from a file or
+     * a database, do not have to be kept until the number of questions is known.
+     */
+    static final class Builder {
+
+        /**
+         * The hashes of the questions added so far.
+         */
+        private int[] hashes = new int[64];
+        /**
+         * The number of questions added so far.
+         */
+        private int size;
+
+        /**
+         * Adds a question to the filter being built.
+         *
+         * @param normalizedQuestion The normalized question.
+         */
+        void add(CharSequence normalizedQuestion) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[size++] = QuestionNormalizer.hash(normalizedQuestion);
+        }
+
+        /**
+         * Builds the filter over the questions added so far.
+         *
+         * @param falsePositiveRate The rate at which unknown questions may be reported as possibly known.
+         * @return The filter.
+         */
+        QuestionBloomFilter build(double falsePositiveRate) {
+            return new QuestionBloomFilter(hashes, size, falsePositiveRate);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.maths.challenge.repository;
+
+/**
+ * Normalizes basic questions so that trivial differences in how a question is written do not prevent a match.
+ * A normalized question is case folded code point by code point, has no leading or trailing whitespace, has every run of whitespace replaced
+ * by a single space, and has no trailing sentence punctuation: "What  is your NAME ?" and "what is your name"
+ * normalize to the same question.
+ * <p>
+ * Questions are normalized once when they are loaded. Requests are not normalized into a new String: their hash is
+ * computed and they are compared with the normalized questions code point by code point, on the fly.
+ */
+public final class QuestionNormalizer {
+
+    /**
+     * The code point emitted for a run of whitespace.
+     */
+    private static final int SPACE = ' ';
+
+    private QuestionNormalizer() {
+    }
+
+    /**
+     * Normalizes the given question.
+     *
+     * @param question The question to normalize.
+     * @return The normalized question.
+     */
+    public static String normalize(CharSequence question) {
+        int end = contentEnd(question);
+        StringBuilder normalized = new StringBuilder(end);
+        for (int index = contentStart(question, end); index < end; ) {
+            long next = next(question, index, end);
+            normalized.appendCodePoint(codePointOf(next));
+            index = indexOf(next);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Computes the hash of the normalized form of the given question, without normalizing it into a new String.
+     * A question and its normalized form have the same hash.
+     *
+     * @param question The question to hash.
+     * @return The hash of the normalized question.
+     */
+    public static int hash(CharSequence question) {
+        int end = contentEnd(question);
+        int hash = 0;
+        for (int index = contentStart(question, end); index < end; ) {
+            long next = next(question, index, end);
+            hash = 31 * hash + codePointOf(next);
+            index = indexOf(next);
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Checks whether the given question normalizes to the given normalized question, without normalizing it into a
+     * new String.
+     *
+     * @param question           The question to compare.
+     * @param normalizedQuestion A question returned by {@link #normalize(CharSequence)}.
+     * @return true if the question normalizes to the normalized question.
+     */
+    public static boolean matches(CharSequence question, String normalizedQuestion) {
+        int end = contentEnd(question);
+        int index = contentStart(question, end);
+        int normalizedIndex = 0;
+        int normalizedLength = normalizedQuestion.length();
+        while (index < end && normalizedIndex < normalizedLength) {
+            long next = next(question, index, end);
+            int normalizedCodePoint = normalizedQuestion.codePointAt(normalizedIndex);
+            if (codePointOf(next) != normalizedCodePoint) {
+                return false;
+            }
+            index = indexOf(next);
+            normalizedIndex += Character.charCount(normalizedCodePoint);
+        }
+        return index == end && normalizedIndex == normalizedLength;
+    }
+
+    /**
+     * Finds the offset after the last character of the question that is neither whitespace nor trailing
+     * punctuation.
+     */
+    static int contentEnd(CharSequence question) {
+        int end = question.length();
+        while (end > 0) {
+            int codePoint = Character.codePointBefore(question, end);
+            if (!isSpace(codePoint) && !isTrailingPunctuation(codePoint)) {
+                break;
+            }
+            end -= Character.charCount(codePoint);
+        }
+        return end;
+    }
+
+    /**
+     * Finds the offset of the first character of the question that is not whitespace.
+     */
+    static int contentStart(CharSequence question, int end) {
+        int start = 0;
+        while (start < end) {
+            int codePoint = Character.codePointAt(question, start);
+            if (!isSpace(codePoint)) {
+                break;
+            }
+            start += Character.charCount(codePoint);
+        }
+        return start;
+    }
+
+    /**
+     * Reads the next code point of the normalized question, between the content start and end offsets.
+     *
+     * @return The normalized code point in the low half and the offset after it in the high half.
+     */
+    static long next(CharSequence question, int index, int end) {
+        int codePoint = Character.codePointAt(question, index);
+        if (!isSpace(codePoint)) {
+            return pack(index + Character.charCount(codePoint), fold(codePoint));
+        }
+        int after = index;
+        while (after < end && isSpace(codePoint = Character.codePointAt(question, after))) {
+            after += Character.charCount(codePoint);
+        }
+        return pack(after, SPACE);
+    }
+
+    /**
+     * Packs a normalized code point with the offset after it, as returned by {@code next}.
+     */
+    static long pack(int index, int codePoint) {
+        return ((long) index << 32) | codePoint;
+    }
+
+    /**
+     * Extracts the normalized code point from the result of {@code next}.
+     */
+    static int codePointOf(long next) {
+        return (int) next;
+    }
+
+    /**
+     * Extracts the offset after the normalized code point from the result of {@code next}.
+     */
+    static int indexOf(long next) {
+        return (int) (next >>> 32);
+    }
+
+    /**
+     * Case folds a code point, so that upper, lower and title case variants of a letter compare equal.
+     */
+    static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    static boolean isSpace(int codePoint) {
+        return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
+    }
+
+    /**
+     * Checks for punctuation that ends a sentence or clause, such as {@code ?}, {@code !} or {@code .}.
+     */
+    static boolean isTrailingPunctuation(int codePoint) {
+        if (codePoint < 0x80) {
+            return codePoint == '?' || codePoint == '!' || codePoint == '.' || codePoint == ','
+                    || codePoint == ';' || codePoint == ':';
+        }
+        return Character.getType(codePoint) == Character.OTHER_PUNCTUATION;
+    }
+
+    /**
+     * Spreads the bits of a polynomial hash, so that the low bits used to pick a slot depend on the whole question.
+     */
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
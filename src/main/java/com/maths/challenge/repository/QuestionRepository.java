@@ -18,4 +18,13 @@ public interface QuestionRepository {
      */
     AnswerResponse getAnswer(QuestionRequest questionRequest);
 
+    /**
+     * Looks up the answer to a question like {@link #getAnswer(QuestionRequest)}, but without logging it, recording
+     * it in the metrics or querying a database, so that the warm-up can run the lookup without being taken for
+     * traffic.
+     *
+     * @param question The question to answer.
+     * @return The answer, or null if the question is unknown.
+     */
+    String findAnswer(String question);
 }
@@ -0,0 +1,54 @@
+package com.maths.challenge.repository;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint reporting the questions loaded by the {@link ReloadableQuestionRepository} and reloading them
+ * on demand.
+ * {@code GET /actuator/questions} returns the number of loaded questions and {@code POST /actuator/questions}
+ * loads the questions again, from the questions file or from the database.
+ */
+@Component
+@Endpoint(id = "questions")
+public class QuestionsEndpoint {
+
+    /**
+     * Repository holding the loaded questions.
+     */
+    private final ReloadableQuestionRepository questionRepository;
+
+    /**
+     * Constructs a new QuestionsEndpoint for the given repository.
+     *
+     * @param questionRepository The repository holding the loaded questions.
+     */
+    public QuestionsEndpoint(ReloadableQuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Reports the number of questions currently loaded.
+     *
+     * @return The number of loaded questions.
+     */
+    @ReadOperation
+    public Map<String, Object> questions() {
+        return Map.of("entries", questionRepository.getEntryCount());
+    }
+
+    /**
+     * Loads the questions again, keeping the current questions if they cannot be loaded.
+     *
+     * @return Whether the questions were loaded, and the number of questions now loaded.
+     */
+    @WriteOperation
+    public Map<String, Object> reload() {
+        boolean reloaded = questionRepository.reload();
+        return Map.of("reloaded", reloaded, "entries", questionRepository.getEntryCount());
+    }
+}
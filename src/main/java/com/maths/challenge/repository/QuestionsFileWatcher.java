@@ -0,0 +1,120 @@
+package com.maths.challenge.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a file for changes and runs an action on a dedicated daemon thread when it changes.
+ * The directory of the file is watched, since editors and deployment tools usually replace a file rather than
+ * write it in place. Changes are debounced, so a file written in several steps triggers a single action once it
+ * has been quiet for the debounce delay.
+ */
+@Slf4j
+public class QuestionsFileWatcher implements AutoCloseable {
+
+    /**
+     * The service notified of changes in the directory of the file.
+     */
+    private final WatchService watchService;
+    /**
+     * The name of the watched file within its directory.
+     */
+    private final Path fileName;
+    /**
+     * How long the file must be quiet before the action runs.
+     */
+    private final Duration debounce;
+    /**
+     * The action run after the file changed.
+     */
+    private final Runnable onChange;
+    /**
+     * The thread waiting for changes.
+     */
+    private final Thread watcherThread;
+
+    /**
+     * Starts watching the given file.
+     *
+     * @param file     The file to watch.
+     * @param debounce How long the file must be quiet before the action runs.
+     * @param onChange The action run after the file changed.
+     * @throws IOException If the directory of the file cannot be watched.
+     */
+    public QuestionsFileWatcher(Path file, Duration debounce, Runnable onChange) throws IOException {
+        Path absoluteFile = file.toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.fileName = absoluteFile.getFileName();
+        this.debounce = debounce;
+        this.onChange = onChange;
+        absoluteFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.watcherThread = new Thread(this::watch, "questions-file-watcher");
+        this.watcherThread.setDaemon(true);
+        this.watcherThread.start();
+        log.info("Watching questions file for changes: {}", absoluteFile);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = concernsFile(key);
+                // keep collecting events until the file has been quiet for the debounce delay
+                while (changed && (key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(key);
+                }
+                if (changed) {
+                    runAction();
+                }
+            }
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException exp) {
+            // the watcher was closed
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean concernsFile = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                concernsFile = true;
+            }
+        }
+        key.reset();
+        return concernsFile;
+    }
+
+    private void runAction() {
+        try {
+            onChange.run();
+        } catch (RuntimeException exp) {
+            log.error("Handling a change of the questions file failed: {}", exp.getMessage(), exp);
+        }
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() {
+        watcherThread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException exp) {
+            log.warn("Error closing the questions file watcher: {}", exp.getMessage());
+        }
+    }
+}
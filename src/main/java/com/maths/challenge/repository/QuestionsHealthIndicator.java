@@ -0,0 +1,36 @@
+package com.maths.challenge.repository;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the questions file as down until it has been loaded once.
+ * The local profile includes this indicator in the readiness group, so an instance whose questions file could not be
+ * loaded at startup does not receive traffic; a failed reload keeps the previous questions and the instance up.
+ */
+@Component
+@Profile("local")
+public class QuestionsHealthIndicator implements HealthIndicator {
+
+    /**
+     * Repository loading the questions file.
+     */
+    private final ReloadableQuestionRepository questionRepository;
+
+    /**
+     * Constructs a new QuestionsHealthIndicator for the given repository.
+     *
+     * @param questionRepository The repository loading the questions file.
+     */
+    public QuestionsHealthIndicator(ReloadableQuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = questionRepository.isLoaded() ? Health.up() : Health.down();
+        return builder.withDetail("entries", questionRepository.getEntryCount()).build();
+    }
+}
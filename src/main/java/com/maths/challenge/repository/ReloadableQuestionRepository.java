@@ -0,0 +1,29 @@
+package com.maths.challenge.repository;
+
+/**
+ * A {@link QuestionRepository} whose questions are loaded from a file or a database and can be loaded again while
+ * it serves lookups.
+ */
+public interface ReloadableQuestionRepository extends QuestionRepository {
+
+    /**
+     * Loads the questions again and publishes them, keeping the current questions if they cannot be loaded.
+     *
+     * @return true if the new questions were published, false if the current ones are kept.
+     */
+    boolean reload();
+
+    /**
+     * Returns the number of questions currently loaded.
+     *
+     * @return The number of loaded questions.
+     */
+    int getEntryCount();
+
+    /**
+     * Returns whether the questions have been loaded at least once.
+     *
+     * @return true once a load succeeded, false until then.
+     */
+    boolean isLoaded();
+}
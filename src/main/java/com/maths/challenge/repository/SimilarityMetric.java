@@ -0,0 +1,45 @@
+package com.maths.challenge.repository;
+
+/**
+ * Similarity between two questions, computed from the number of character trigrams they share.
+ */
+public enum SimilarityMetric {
+
+    /**
+     * Shared trigrams over the trigrams of either question.
+     */
+    JACCARD {
+        @Override
+        double score(int shared, int queryTrigrams, int questionTrigrams) {
+            return (double) shared / (queryTrigrams + questionTrigrams - shared);
+        }
+    },
+    /**
+     * Twice the shared trigrams over the total trigrams of both questions.
+     */
+    DICE {
+        @Override
+        double score(int shared, int queryTrigrams, int questionTrigrams) {
+            return 2.0 * shared / (queryTrigrams + questionTrigrams);
+        }
+    },
+    /**
+     * Cosine of the angle between the trigram sets of both questions, seen as binary vectors.
+     */
+    COSINE {
+        @Override
+        double score(int shared, int queryTrigrams, int questionTrigrams) {
+            return shared / Math.sqrt((double) queryTrigrams * questionTrigrams);
+        }
+    };
+
+    /**
+     * Scores the similarity of two questions.
+     *
+     * @param shared           The number of distinct trigrams both questions have.
+     * @param queryTrigrams    The number of distinct trigrams of the question asked.
+     * @param questionTrigrams The number of distinct trigrams of the known question.
+     * @return The similarity, between 0 and 1.
+     */
+    abstract double score(int shared, int queryTrigrams, int questionTrigrams);
+}
@@ -0,0 +1,231 @@
+package com.maths.challenge.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable inverted index from character trigrams to the normalized questions containing them, used to find the
+ * known question closest to a question that has no exact match.
+ * Postings are stored in flat arrays: the sorted distinct trigrams, and for each of them a range of question ids in
+ * ascending order. A search only reads the posting lists of the trigrams of the question asked, and never looks at
+ * more than a fixed number of candidate questions, so its cost does not grow with the number of questions.
+ */
+final class TrigramIndex {
+
+    /**
+     * The number of bits used to encode a code point in a trigram.
+     */
+    private static final int CODE_POINT_BITS = 21;
+    /**
+     * The code point padding both ends of a question, so that its first and last characters form trigrams too.
+     */
+    private static final int PADDING = ' ';
+
+    /**
+     * The distinct trigrams of all questions, sorted.
+     */
+    private final long[] trigrams;
+    /**
+     * The start of the postings of each trigram, with a final entry marking the end of the last one.
+     */
+    private final int[] offsets;
+    /**
+     * The ids of the questions containing each trigram, in ascending order within each trigram.
+     */
+    private final int[] postings;
+    /**
+     * The number of distinct trigrams of each question.
+     */
+    private final int[] trigramCounts;
+    /**
+     * The normalized questions, by id.
+     */
+    private final String[] questions;
+    /**
+     * The answers, by question id.
+     */
+    private final String[] answers;
+
+    /**
+     * Builds the index over the given answers.
+     *
+     * @param answersByQuestion The answers, by normalized question.
+     */
+    TrigramIndex(Map<String, String> answersByQuestion) {
+        int size = answersByQuestion.size();
+        this.questions = new String[size];
+        this.answers = new String[size];
+        this.trigramCounts = new int[size];
+        long[][] questionTrigrams = new long[size][];
+        int total = 0;
+        int id = 0;
+        for (Map.Entry<String, String> entry : answersByQuestion.entrySet()) {
+            questions[id] = entry.getKey();
+            answers[id] = entry.getValue();
+            questionTrigrams[id] = trigramsOf(entry.getKey());
+            trigramCounts[id] = questionTrigrams[id].length;
+            total += trigramCounts[id];
+            id++;
+        }
+
+        long[] all = new long[total];
+        int position = 0;
+        for (long[] current : questionTrigrams) {
+            System.arraycopy(current, 0, all, position, current.length);
+            position += current.length;
+        }
+        this.trigrams = distinct(all);
+
+        this.offsets = new int[trigrams.length + 1];
+        for (long[] current : questionTrigrams) {
+            for (long trigram : current) {
+                offsets[Arrays.binarySearch(trigrams, trigram) + 1]++;
+            }
+        }
+        for (int index = 0; index < trigrams.length; index++) {
+            offsets[index + 1] += offsets[index];
+        }
+
+        // questions are added in id order, so each posting list ends up sorted
+        this.postings = new int[total];
+        int[] next = Arrays.copyOf(offsets, trigrams.length);
+        for (int questionId = 0; questionId < size; questionId++) {
+            for (long trigram : questionTrigrams[questionId]) {
+                postings[next[Arrays.binarySearch(trigrams, trigram)]++] = questionId;
+            }
+        }
+    }
+
+    /**
+     * Finds the known question most similar to the given question.
+     * Candidates are collected from the posting lists of the rarest trigrams of the question first, up to the
+     * maximum number of candidates, and each candidate is then scored against all trigrams of the question.
+     *
+     * @param normalizedQuestion The normalized question to match.
+     * @param metric             The similarity metric used to score candidates.
+     * @param maxCandidates      The maximum number of known questions scored.
+     * @param threshold          The minimum similarity of a match.
+     * @return The most similar known question, or null if no candidate reaches the threshold.
+     */
+    Match find(String normalizedQuestion, SimilarityMetric metric, int maxCandidates, double threshold) {
+        long[] queryTrigrams = trigramsOf(normalizedQuestion);
+        int[] lists = new int[queryTrigrams.length];
+        int listCount = 0;
+        for (long trigram : queryTrigrams) {
+            int list = Arrays.binarySearch(trigrams, trigram);
+            if (list >= 0) {
+                lists[listCount++] = list;
+            }
+        }
+        if (listCount == 0) {
+            return null;
+        }
+        lists = sortByLength(Arrays.copyOf(lists, listCount));
+
+        int[] candidates = collectCandidates(lists, maxCandidates);
+        Match best = null;
+        for (int candidate : candidates) {
+            int shared = 0;
+            for (int list : lists) {
+                if (Arrays.binarySearch(postings, offsets[list], offsets[list + 1], candidate) >= 0) {
+                    shared++;
+                }
+            }
+            double score = metric.score(shared, queryTrigrams.length, trigramCounts[candidate]);
+            if (score >= threshold && (best == null || score > best.score()
+                    || (score == best.score() && candidate < best.id()))) {
+                best = new Match(candidate, questions[candidate], answers[candidate], score);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Collects the distinct question ids of the given posting lists, in order, until the maximum is reached.
+     */
+    private int[] collectCandidates(int[] lists, int maxCandidates) {
+        int[] candidates = new int[maxCandidates];
+        int[] seen = new int[Integer.highestOneBit(Math.max(2, maxCandidates * 2) * 2 - 1)];
+        Arrays.fill(seen, -1);
+        int mask = seen.length - 1;
+        int count = 0;
+        for (int list : lists) {
+            for (int posting = offsets[list]; posting < offsets[list + 1]; posting++) {
+                int candidate = postings[posting];
+                int slot = QuestionNormalizer.mix(candidate) & mask;
+                while (seen[slot] != -1 && seen[slot] != candidate) {
+                    slot = (slot + 1) & mask;
+                }
+                if (seen[slot] == -1) {
+                    seen[slot] = candidate;
+                    candidates[count++] = candidate;
+                    if (count == maxCandidates) {
+                        return candidates;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private int[] sortByLength(int[] lists) {
+        return Arrays.stream(lists)
+                .boxed()
+                .sorted((left, right) -> Integer.compare(length(left), length(right)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int length(int list) {
+        return offsets[list + 1] - offsets[list];
+    }
+
+    /**
+     * Returns the distinct trigrams of a normalized question, padded with a space at both ends, sorted.
+     */
+    static long[] trigramsOf(String normalizedQuestion) {
+        if (normalizedQuestion.isEmpty()) {
+            return new long[0];
+        }
+        int[] codePoints = new int[normalizedQuestion.codePointCount(0, normalizedQuestion.length()) + 2];
+        codePoints[0] = PADDING;
+        codePoints[codePoints.length - 1] = PADDING;
+        int position = 1;
+        for (int index = 0; index < normalizedQuestion.length(); ) {
+            int codePoint = normalizedQuestion.codePointAt(index);
+            codePoints[position++] = codePoint;
+            index += Character.charCount(codePoint);
+        }
+
+        long[] trigrams = new long[codePoints.length - 2];
+        for (int index = 0; index < trigrams.length; index++) {
+            trigrams[index] = ((long) codePoints[index] << (2 * CODE_POINT_BITS))
+                    | ((long) codePoints[index + 1] << CODE_POINT_BITS)
+                    | codePoints[index + 2];
+        }
+        return distinct(trigrams);
+    }
+
+    private static long[] distinct(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int index = 0; index < sorted.length; index++) {
+            if (index == 0 || sorted[index] != sorted[index - 1]) {
+                sorted[count++] = sorted[index];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * A known question matched by a search.
+     *
+     * @param id       The id of the question in the index.
+     * @param question The normalized known question.
+     * @param answer   The answer to the known question.
+     * @param score    The similarity of the known question to the question asked.
+     */
+    record Match(int id, String question, String answer, double score) {
+    }
+}
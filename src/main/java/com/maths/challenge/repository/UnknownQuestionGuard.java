@@ -0,0 +1,158 @@
+package com.maths.challenge.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Answers questions that are certainly unknown without looking them up in the store, when the question filter is
+ * enabled.
+ * The repositories build a {@link QuestionBloomFilter} whenever they load their questions, and ask the guard before
+ * each lookup. A question the filter rejects is not known; a question it lets through is looked up as usual, and is
+ * counted as a false positive if it turns out to be unknown.
+ */
+@Component
+public class UnknownQuestionGuard {
+
+    /**
+     * Whether questions are tested against a filter before being looked up.
+     */
+    private final boolean enabled;
+    /**
+     * The rate at which unknown questions may be let through.
+     */
+    private final double falsePositiveRate;
+    /**
+     * The registry the filter metrics are published to.
+     */
+    private final MeterRegistry meterRegistry;
+    /**
+     * Number of questions the filter rejected without a lookup.
+     */
+    private final Counter rejectedCounter;
+    /**
+     * Number of questions the filter let through to a lookup.
+     */
+    private final Counter passedCounter;
+    /**
+     * Number of questions the filter let through that turned out to be unknown.
+     */
+    private final Counter falsePositiveCounter;
+
+    /**
+     * Constructs a new UnknownQuestionGuard with the specified settings.
+     *
+     * @param enabled           Whether questions are tested against a filter before being looked up.
+     * @param falsePositiveRate The rate at which unknown questions may be let through, between 0 and 1 exclusive.
+     * @param meterRegistry     The registry the filter metrics are published to.
+     */
+    public UnknownQuestionGuard(@Value("${robobob.question-filter.enabled:true}") boolean enabled,
+                                @Value("${robobob.question-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                MeterRegistry meterRegistry) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false-positive rate must be between 0 and 1 exclusive");
+        }
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = outcomeCounter("rejected");
+        this.passedCounter = outcomeCounter("passed");
+        this.falsePositiveCounter = outcomeCounter("false_positive");
+    }
+
+    /**
+     * Returns whether questions are tested against a filter before being looked up.
+     *
+     * @return true if the question filter is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the filter over the given questions.
+     *
+     * @param normalizedQuestions The normalized questions.
+     * @return The filter, or null if the question filter is disabled.
+     */
+    QuestionBloomFilter buildFilter(Collection<String> normalizedQuestions) {
+        return enabled ? QuestionBloomFilter.of(normalizedQuestions, falsePositiveRate) : null;
+    }
+
+    /**
+     * Builds the filter over the questions collected by the given builder.
+     *
+     * @param builder The builder the questions were added to.
+     * @return The filter, or null if the question filter is disabled.
+     */
+    QuestionBloomFilter buildFilter(QuestionBloomFilter.Builder builder) {
+        return enabled ? builder.build(falsePositiveRate) : null;
+    }
+
+    /**
+     * Tests whether the given question is certainly unknown.
+     *
+     * @param filter   The filter over the known questions, or null if there is none.
+     * @param question The question asked, as written by the caller.
+     * @return true if the question is certainly unknown, false if it must be looked up.
+     */
+    boolean isDefiniteMiss(QuestionBloomFilter filter, CharSequence question) {
+        if (filter == null) {
+            return false;
+        }
+        if (filter.mightContain(question)) {
+            passedCounter.increment();
+            return false;
+        }
+        rejectedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Records that a question let through by the given filter was unknown.
+     *
+     * @param filter The filter that let the question through, or null if there is none.
+     */
+    void recordFalsePositive(QuestionBloomFilter filter) {
+        if (filter != null) {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    /**
+     * Publishes the size and the expected false-positive rate of the filter currently used by a repository.
+     *
+     * @param repository The name of the repository, used as a tag.
+     * @param filter     Supplies the filter currently used by the repository, or null if there is none.
+     */
+    void monitor(String repository, Supplier<QuestionBloomFilter> filter) {
+        Gauge.builder("robobob.questions.filter.size", () -> {
+                    QuestionBloomFilter current = filter.get();
+                    return current == null ? 0 : current.bitCount();
+                })
+                .description("Size of the question filter")
+                .baseUnit("bits")
+                .tag("repository", repository)
+                .register(meterRegistry);
+        Gauge.builder("robobob.questions.filter.expected.false.positive.rate", () -> {
+                    QuestionBloomFilter current = filter.get();
+                    return current == null ? 0 : current.expectedFalsePositiveRate();
+                })
+                .description("Expected rate of unknown questions let through by the question filter")
+                .tag("repository", repository)
+                .register(meterRegistry);
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("robobob.questions.filter")
+                .description("Questions tested against the question filter: rejected as unknown, passed to a lookup, "
+                        + "or passed and found to be unknown")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
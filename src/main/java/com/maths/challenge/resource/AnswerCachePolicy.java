@@ -0,0 +1,62 @@
+package com.maths.challenge.resource;
+
+import com.maths.challenge.generated.model.AnswerResponse;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * Validators and cache directives of the answers served by {@code GET /api/questions}.
+ * The ETag of an answer is derived from the answer alone, so every instance gives the same answer the same ETag and it
+ * changes only when the answer does. Both MVC and WebFlux answer a request whose {@code If-None-Match} holds the
+ * current ETag with a 304 response.
+ */
+final class AnswerCachePolicy {
+
+    /**
+     * The offset basis of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    /**
+     * The prime of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The cache directives of every answer.
+     */
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructs a new AnswerCachePolicy.
+     *
+     * @param maxAge How long caches may serve an answer without validating it again.
+     */
+    AnswerCachePolicy(Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Computes the strong ETag of the given answer.
+     *
+     * @param answerResponse The answer.
+     * @return The quoted ETag.
+     */
+    String etag(AnswerResponse answerResponse) {
+        long hash = FNV_OFFSET_BASIS;
+        String answer = String.valueOf(answerResponse.getAnswer());
+        for (int index = 0; index < answer.length(); index++) {
+            hash = (hash ^ answer.charAt(index)) * FNV_PRIME;
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the cache directives of every answer.
+     *
+     * @return The Cache-Control header of the answers.
+     */
+    CacheControl cacheControl() {
+        return cacheControl;
+    }
+}
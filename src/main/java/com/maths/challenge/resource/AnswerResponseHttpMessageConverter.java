@@ -0,0 +1,107 @@
+package com.maths.challenge.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.repository.PreEncodedAnswers;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes an {@link AnswerResponse} as JSON without data binding.
+ * The response to a known basic question is written from the bytes {@link PreEncodedAnswers encoded} when the
+ * questions were loaded. An answer made of printable ASCII characters that need no escaping, such as the result of
+ * an arithmetic question, is written directly; any other answer is written by the application's
+ * {@link ObjectMapper}. With the default mapper settings, every path writes the same bytes.
+ */
+public class AnswerResponseHttpMessageConverter extends AbstractHttpMessageConverter<AnswerResponse> {
+
+    /**
+     * The JSON preceding the answer.
+     */
+    private static final byte[] PREFIX = "{\"answer\":\"".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * The JSON following the answer.
+     */
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The encoded responses of the known answers, or null if there are none.
+     */
+    private final PreEncodedAnswers preEncodedAnswers;
+    /**
+     * The mapper writing the answers the converter does not write itself.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new AnswerResponseHttpMessageConverter.
+     *
+     * @param preEncodedAnswers The encoded responses of the known answers, or null if there are none.
+     * @param objectMapper      The mapper writing the answers the converter does not write itself.
+     */
+    public AnswerResponseHttpMessageConverter(PreEncodedAnswers preEncodedAnswers, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.preEncodedAnswers = preEncodedAnswers;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AnswerResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected AnswerResponse readInternal(Class<? extends AnswerResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Answer responses are only written", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(AnswerResponse answerResponse, HttpOutputMessage outputMessage) throws IOException {
+        String answer = answerResponse.getAnswer();
+        byte[] encoded = preEncodedAnswers == null ? null : preEncodedAnswers.find(answer);
+        if (encoded == null && !isPlainAscii(answer)) {
+            encoded = objectMapper.writeValueAsBytes(answerResponse);
+        }
+        if (encoded != null) {
+            outputMessage.getHeaders().setContentLength(encoded.length);
+            outputMessage.getBody().write(encoded);
+            return;
+        }
+        outputMessage.getHeaders().setContentLength(PREFIX.length + answer.length() + SUFFIX.length);
+        OutputStream body = outputMessage.getBody();
+        body.write(PREFIX);
+        body.write(answer.getBytes(StandardCharsets.US_ASCII));
+        body.write(SUFFIX);
+    }
+
+    /**
+     * Tests whether the given answer is written as is in a JSON string.
+     *
+     * @param answer The answer.
+     * @return true if the answer only has printable ASCII characters other than quotes and backslashes.
+     */
+    static boolean isPlainAscii(String answer) {
+        if (answer == null) {
+            return false;
+        }
+        for (int index = 0; index < answer.length(); index++) {
+            char character = answer.charAt(index);
+            if (character < ' ' || character > '~' || character == '"' || character == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
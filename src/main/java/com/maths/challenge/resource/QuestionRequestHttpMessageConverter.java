@@ -0,0 +1,117 @@
+package com.maths.challenge.resource;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link QuestionRequest} from a JSON request body without data binding.
+ * The body is parsed straight from the request stream with a streaming parser, whose buffers Jackson recycles, and
+ * the request is built from its {@code question} field; the body is never copied into an array. A body holding
+ * anything else, such as other fields or a question that is not a string, is read by the application's
+ * {@link ObjectMapper} from the tokens already parsed followed by the rest of the stream, so its errors are reported
+ * as before.
+ */
+public class QuestionRequestHttpMessageConverter extends AbstractHttpMessageConverter<QuestionRequest> {
+
+    /**
+     * The name of the field holding the question.
+     */
+    private static final String QUESTION_FIELD = "question";
+    /**
+     * The tokens of a body made of a single object with a single string {@code question} field.
+     */
+    private static final JsonToken[] QUESTION_TOKENS =
+            {JsonToken.START_OBJECT, JsonToken.FIELD_NAME, JsonToken.VALUE_STRING, JsonToken.END_OBJECT};
+
+    /**
+     * The mapper reading the bodies the converter does not read itself.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new QuestionRequestHttpMessageConverter.
+     *
+     * @param objectMapper The mapper reading the bodies the converter does not read itself.
+     */
+    public QuestionRequestHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return QuestionRequest.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected QuestionRequest readInternal(Class<? extends QuestionRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputMessage.getBody())) {
+            int matched = 0;
+            String question = null;
+            while (matched < QUESTION_TOKENS.length && parser.nextToken() == QUESTION_TOKENS[matched]) {
+                if (parser.currentToken() == JsonToken.FIELD_NAME && !QUESTION_FIELD.equals(parser.currentName())) {
+                    break;
+                }
+                if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                    question = parser.getText();
+                }
+                matched++;
+            }
+            if (matched == QUESTION_TOKENS.length) {
+                // like the object mapper, content after the object is not read
+                return new QuestionRequest(question);
+            }
+            return objectMapper.readValue(replay(parser, matched, question), clazz);
+        } catch (JsonProcessingException exp) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + exp.getOriginalMessage(), exp,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(QuestionRequest questionRequest, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Question requests are only read");
+    }
+
+    /**
+     * Returns a parser over the whole body, for a body the converter does not read itself: the tokens already matched
+     * are replayed from a buffer, followed by the current and remaining tokens of the body.
+     *
+     * @param parser   The parser of the body, positioned on the first token that did not match.
+     * @param matched  The number of leading tokens of {@link #QUESTION_TOKENS} that matched.
+     * @param question The question read, if its token matched.
+     * @return The parser over the whole body.
+     * @throws IOException If the tokens cannot be buffered.
+     */
+    private static JsonParser replay(JsonParser parser, int matched, String question) throws IOException {
+        TokenBuffer consumed = new TokenBuffer(parser);
+        for (int index = 0; index < matched; index++) {
+            switch (QUESTION_TOKENS[index]) {
+                case START_OBJECT -> consumed.writeStartObject();
+                case FIELD_NAME -> consumed.writeFieldName(QUESTION_FIELD);
+                case VALUE_STRING -> consumed.writeString(question);
+                default -> consumed.writeEndObject();
+            }
+        }
+        return JsonParserSequence.createFlattened(true, consumed.asParser(), parser);
+    }
+}
@@ -0,0 +1,55 @@
+package com.maths.challenge.resource;
+
+import com.maths.challenge.component.ClientIdentifier;
+import com.maths.challenge.service.StreamingQuestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Collections;
+
+/**
+ * REST controller for answering a stream of questions.
+ * Questions are posted as newline-delimited JSON {@code QuestionRequest} records and answered with one
+ * newline-delimited JSON {@code BatchAnswer} record per question, written as soon as it is ready. Every question
+ * counts against the rate limit of the client asking.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QuestionStreamResource {
+
+    private final StreamingQuestionService streamingQuestionService;
+    private final ClientIdentifier clientIdentifier;
+
+    public QuestionStreamResource(StreamingQuestionService streamingQuestionService,
+                                  ClientIdentifier clientIdentifier) {
+        this.streamingQuestionService = streamingQuestionService;
+        this.clientIdentifier = clientIdentifier;
+    }
+
+    /**
+     * Answers the newline-delimited JSON questions of the request body.
+     *
+     * @param questions The request body containing one question record per line.
+     * @param request   The request, identifying the client the questions count against.
+     * @return A ResponseEntity streaming one answer record per question.
+     */
+    @PostMapping(path = "/api/questions/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamQuestions(InputStream questions, HttpServletRequest request) {
+        log.info("Received question stream");
+        String client = clientIdentifier.clientKey(request.getHeader(ClientIdentifier.API_KEY_HEADER),
+                Collections.list(request.getHeaders(ClientIdentifier.FORWARDED_FOR_HEADER)), request.getRemoteAddr());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> streamingQuestionService.answerAll(questions, output, client));
+    }
+}
@@ -1,29 +1,62 @@
 package com.maths.challenge.resource;
 
+import com.maths.challenge.component.ClientIdentifier;
 import com.maths.challenge.component.QuestionHandlerResolver;
 import com.maths.challenge.generated.api.QuestionApi;
 import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.BatchAnswer;
 import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.BatchQuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * REST controller for handling question requests.
  * This class implements the {@link QuestionApi} interface and exposes an endpoint
  * to receive and process questions, delegating the handling to a {@link QuestionHandlerResolver}.
+ * Questions asked with {@code GET} get answers that HTTP caches can store and validate, as set by the
+ * {@link AnswerCachePolicy}. Every question, on its own or in a batch, counts against the rate limit of the client
+ * asking, as identified by the {@link ClientIdentifier}.
  */
 @Slf4j
 @RestController
 @RequestMapping("/")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class QuestionsResource implements QuestionApi {
 
     private final QuestionHandlerResolver questionResolver;
+    private final BatchQuestionService batchQuestionService;
+    private final AnswerCachePolicy answerCachePolicy;
+    private final ClientIdentifier clientIdentifier;
+    private final HttpServletRequest request;
+    private final Timer askTimer;
 
-    public QuestionsResource(QuestionHandlerResolver questionResolver) {
+    public QuestionsResource(QuestionHandlerResolver questionResolver, BatchQuestionService batchQuestionService,
+                             @Value("${robobob.http.cache.max-age:1h}") Duration cacheMaxAge,
+                             ClientIdentifier clientIdentifier,
+                             HttpServletRequest request,
+                             MeterRegistry meterRegistry) {
         this.questionResolver = questionResolver;
+        this.batchQuestionService = batchQuestionService;
+        this.answerCachePolicy = new AnswerCachePolicy(cacheMaxAge);
+        this.clientIdentifier = clientIdentifier;
+        this.request = request;
+        this.askTimer = Timer.builder("robobob.questions.asked")
+                .description("Time spent answering a question asked on its own")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
@@ -35,9 +68,47 @@ public class QuestionsResource implements QuestionApi {
     @Override
     public ResponseEntity<AnswerResponse> askQuestion(@Valid QuestionRequest questionRequest) {
         log.info("Received question: {}", questionRequest.getQuestion());
-        AnswerResponse answer = questionResolver.handle(questionRequest);
+        AnswerResponse answer = askTimer.record(() -> questionResolver.handle(questionRequest, clientKey()));
         log.info("Answer: {}", answer.getAnswer());
         return ResponseEntity.ok(answer);
     }
 
+    /**
+     * Handles a question asked in the query string and returns the answer response with its ETag and cache
+     * directives. Spring MVC answers a request whose If-None-Match holds the same ETag with a 304 response.
+     *
+     * @param q The question to handle.
+     * @return A ResponseEntity containing the answer response.
+     */
+    @Override
+    public ResponseEntity<AnswerResponse> getAnswer(String q) {
+        log.info("Received question: {}", q);
+        AnswerResponse answer = askTimer.record(() -> questionResolver.handle(new QuestionRequest(q), clientKey()));
+        log.info("Answer: {}", answer.getAnswer());
+        return ResponseEntity.ok()
+                .eTag(answerCachePolicy.etag(answer))
+                .cacheControl(answerCachePolicy.cacheControl())
+                .body(answer);
+    }
+
+    /**
+     * Handles a batch of question requests and returns one answer per question, in order.
+     *
+     * @param questionRequests The question requests to handle.
+     * @return A ResponseEntity containing the answers.
+     */
+    @Override
+    public ResponseEntity<List<BatchAnswer>> askQuestionBatch(@Valid List<QuestionRequest> questionRequests) {
+        log.info("Received batch of {} questions", questionRequests.size());
+        return ResponseEntity.ok(batchQuestionService.handleBatch(questionRequests, clientKey()));
+    }
+
+    /**
+     * Returns the key the client of the current request is rate limited by.
+     */
+    private String clientKey() {
+        return clientIdentifier.clientKey(request.getHeader(ClientIdentifier.API_KEY_HEADER),
+                Collections.list(request.getHeaders(ClientIdentifier.FORWARDED_FOR_HEADER)), request.getRemoteAddr());
+    }
+
 }
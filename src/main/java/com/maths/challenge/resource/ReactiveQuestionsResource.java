@@ -0,0 +1,177 @@
+package com.maths.challenge.resource;
+
+import com.maths.challenge.component.ClientIdentifier;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.BatchAnswer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.BatchQuestionService;
+import com.maths.challenge.service.StreamingQuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reactive REST controller for handling question requests, active with the {@code reactive} profile.
+ * It serves the same endpoints and contract as {@link QuestionsResource} and {@link QuestionStreamResource}, and
+ * answers every question on the bounded question scheduler, off the event loop.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveQuestionsResource {
+
+    private final QuestionHandlerResolver questionResolver;
+    private final BatchQuestionService batchQuestionService;
+    private final StreamingQuestionService streamingQuestionService;
+    private final Scheduler questionScheduler;
+    private final int window;
+    private final AnswerCachePolicy answerCachePolicy;
+    private final ClientIdentifier clientIdentifier;
+    private final Timer askTimer;
+
+    public ReactiveQuestionsResource(QuestionHandlerResolver questionResolver,
+                                     BatchQuestionService batchQuestionService,
+                                     StreamingQuestionService streamingQuestionService,
+                                     @Qualifier("questionScheduler") Scheduler questionScheduler,
+                                     @Value("${robobob.stream.window:64}") int window,
+                                     @Value("${robobob.http.cache.max-age:1h}") Duration cacheMaxAge,
+                                     ClientIdentifier clientIdentifier,
+                                     MeterRegistry meterRegistry) {
+        this.questionResolver = questionResolver;
+        this.batchQuestionService = batchQuestionService;
+        this.streamingQuestionService = streamingQuestionService;
+        this.questionScheduler = questionScheduler;
+        this.window = window;
+        this.answerCachePolicy = new AnswerCachePolicy(cacheMaxAge);
+        this.clientIdentifier = clientIdentifier;
+        this.askTimer = Timer.builder("robobob.questions.asked")
+                .description("Time spent answering a question asked on its own")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Handles the incoming question request and returns the answer response.
+     *
+     * @param questionRequest The question request to handle.
+     * @param exchange        The exchange, identifying the client the question counts against.
+     * @return The answer response, once the question is answered.
+     */
+    @PostMapping(path = "/api/questions",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AnswerResponse> askQuestion(@Valid @RequestBody Mono<QuestionRequest> questionRequest,
+                                            ServerWebExchange exchange) {
+        String client = clientKey(exchange);
+        return questionRequest.flatMap(request -> Mono.fromCallable(() -> {
+            log.info("Received question: {}", request.getQuestion());
+            AnswerResponse answer = askTimer.record(() -> questionResolver.handle(request, client));
+            log.info("Answer: {}", answer.getAnswer());
+            return answer;
+        }).subscribeOn(questionScheduler));
+    }
+
+    /**
+     * Handles a question asked in the query string and returns the answer response with its ETag and cache
+     * directives. WebFlux answers a request whose If-None-Match holds the same ETag with a 304 response.
+     *
+     * @param q        The question to handle.
+     * @param exchange The exchange, identifying the client the question counts against.
+     * @return The answer response, once the question is answered.
+     */
+    @GetMapping(path = "/api/questions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<AnswerResponse>> getAnswer(@RequestParam("q") String q, ServerWebExchange exchange) {
+        if (q.isEmpty()) {
+            return Mono.error(new ServerWebInputException("Question must not be empty"));
+        }
+        String client = clientKey(exchange);
+        return Mono.fromCallable(() -> {
+            log.info("Received question: {}", q);
+            AnswerResponse answer = askTimer.record(() -> questionResolver.handle(new QuestionRequest(q), client));
+            log.info("Answer: {}", answer.getAnswer());
+            return ResponseEntity.ok()
+                    .eTag(answerCachePolicy.etag(answer))
+                    .cacheControl(answerCachePolicy.cacheControl())
+                    .body(answer);
+        }).subscribeOn(questionScheduler);
+    }
+
+    /**
+     * Handles a batch of question requests and returns one answer per question, in order.
+     *
+     * @param questionRequests The question requests to handle.
+     * @param exchange         The exchange, identifying the client the questions count against.
+     * @return The answers, once every question is answered.
+     */
+    @PostMapping(path = "/api/questions/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<BatchAnswer>> askQuestionBatch(@Valid @RequestBody Mono<List<QuestionRequest>> questionRequests,
+                                                    ServerWebExchange exchange) {
+        String client = clientKey(exchange);
+        return questionRequests.flatMap(requests -> {
+            log.info("Received batch of {} questions", requests.size());
+            batchQuestionService.checkBatchSize(requests.size());
+            return Flux.fromIterable(requests)
+                    .index()
+                    .flatMapSequential(request -> Mono.fromCallable(() ->
+                                    batchQuestionService.answer(request.getT1().intValue(), request.getT2(), client))
+                            .subscribeOn(questionScheduler))
+                    .collectList();
+        });
+    }
+
+    /**
+     * Answers the newline-delimited JSON questions of the request body, one answer record per question, in order.
+     * At most a window of questions is answered ahead of the answers already written.
+     *
+     * @param records  The request body, split into lines.
+     * @param exchange The exchange, identifying the client the questions count against.
+     * @return One answer record per non-blank line, each written as soon as it and the previous ones are ready.
+     */
+    @PostMapping(path = "/api/questions/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchAnswer> streamQuestions(@RequestBody Flux<String> records, ServerWebExchange exchange) {
+        log.info("Received question stream");
+        String client = clientKey(exchange);
+        return records.filter(record -> !record.isBlank())
+                .index()
+                .flatMapSequential(record -> Mono.fromCallable(() -> streamingQuestionService.answerRecord(
+                                record.getT1().intValue(), record.getT2(), client))
+                        .subscribeOn(questionScheduler), window);
+    }
+
+    /**
+     * Returns the key the client of the given exchange is rate limited by.
+     */
+    private String clientKey(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return clientIdentifier.clientKey(headers.getFirst(ClientIdentifier.API_KEY_HEADER),
+                headers.getOrEmpty(ClientIdentifier.FORWARDED_FOR_HEADER),
+                address == null ? null : address.getHostString());
+    }
+}
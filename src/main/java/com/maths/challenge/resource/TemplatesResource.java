@@ -0,0 +1,91 @@
+package com.maths.challenge.resource;
+
+import com.maths.challenge.component.ClientIdentifier;
+import com.maths.challenge.component.ClientRateLimiter;
+import com.maths.challenge.component.ClientRateLimiter.Limit;
+import com.maths.challenge.exception.RateLimitExceededException;
+import com.maths.challenge.service.TemplateEvaluationService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * REST controller evaluating an expression template over many rows of variable values, for example to generate a
+ * worksheet of {@code a * b + c} questions in one request.
+ * The values are read into primitive arrays and the results are written from one, without boxing a number per row.
+ * Rows whose result is not a finite number, such as a division by zero, are answered {@code "NaN"},
+ * {@code "Infinity"} or {@code "-Infinity"}. Every template counts as one question against the arithmetic rate limit
+ * of the client.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TemplatesResource {
+
+    private final TemplateEvaluationService templateEvaluationService;
+    private final ClientIdentifier clientIdentifier;
+    private final ClientRateLimiter rateLimiter;
+
+    public TemplatesResource(TemplateEvaluationService templateEvaluationService, ClientIdentifier clientIdentifier,
+                             ClientRateLimiter rateLimiter) {
+        this.templateEvaluationService = templateEvaluationService;
+        this.clientIdentifier = clientIdentifier;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Evaluates the template of the request over the values of its variables.
+     *
+     * @param request     The template and the values of each of its variables, by name.
+     * @param httpRequest The request, identifying the client the template counts against.
+     * @return A ResponseEntity containing the result of each row, in order.
+     * @throws BadRequestException        If the template is missing or the values do not match its variables.
+     * @throws RateLimitExceededException If the client asked too many arithmetic questions.
+     */
+    @PostMapping(path = "/api/templates/evaluate",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TemplateResults> evaluate(@RequestBody TemplateRequest request,
+                                                    HttpServletRequest httpRequest) throws BadRequestException {
+        if (request.template() == null || request.template().isBlank()) {
+            throw new BadRequestException("The template is required");
+        }
+        rateLimiter.acquire(clientIdentifier.clientKey(httpRequest.getHeader(ClientIdentifier.API_KEY_HEADER),
+                Collections.list(httpRequest.getHeaders(ClientIdentifier.FORWARDED_FOR_HEADER)),
+                httpRequest.getRemoteAddr()), Limit.ARITHMETIC);
+        log.info("Received template: {}", request.template());
+        Map<String, double[]> variables = request.variables() == null ? Map.of() : request.variables();
+        try {
+            return ResponseEntity.ok(new TemplateResults(
+                    templateEvaluationService.evaluate(request.template(), variables)));
+        } catch (IllegalArgumentException exp) {
+            throw new BadRequestException(exp.getMessage());
+        }
+    }
+
+    /**
+     * A template and the values of its variables.
+     *
+     * @param template  The template, an arithmetic expression whose operands may be named variables.
+     * @param variables The values of each variable of the template, by name, all of the same length.
+     */
+    public record TemplateRequest(String template, Map<String, double[]> variables) {
+    }
+
+    /**
+     * The results of a template.
+     *
+     * @param results The result of each row, in the order of the values.
+     */
+    public record TemplateResults(double[] results) {
+    }
+}
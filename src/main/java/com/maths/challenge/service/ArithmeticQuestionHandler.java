@@ -0,0 +1,22 @@
+package com.maths.challenge.service;
+
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+
+/**
+ * Interface for handling arithmetic question requests.
+ * Besides answering a raw question, implementations can answer a question whose expression has already been
+ * scanned while classifying it, so that the question is not read twice.
+ */
+public interface ArithmeticQuestionHandler extends QuestionHandler {
+
+    /**
+     * Handles a question whose arithmetic expression has already been scanned.
+     *
+     * @param questionRequest The request containing the question to be handled.
+     * @param expression      The expression scanned from the question.
+     * @return An AnswerResponse object containing the answer.
+     */
+    AnswerResponse handleExpression(QuestionRequest questionRequest, ArithmeticExpression expression);
+}
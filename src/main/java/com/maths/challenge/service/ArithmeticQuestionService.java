@@ -1,28 +1,81 @@
 package com.maths.challenge.service;
 
-import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.arithmetic.ArithmeticEngine;
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
 import com.maths.challenge.exception.ArithmeticSyntaxException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.HostAccess;
-import org.graalvm.polyglot.PolyglotException;
-import org.graalvm.polyglot.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 /**
  * Service implementation for handling arithmetic question requests.
- * It uses GraalVM's JavaScript context to evaluate arithmetic expressions.
+ * It delegates the evaluation of arithmetic expressions to the configured {@link ArithmeticEngine},
+ * answering repeated expressions from an {@link ArithmeticResultCache}. Questions that failed to scan are
+ * rejected before the cache or the engine is consulted. Questions rejected by one of the evaluation limits are
+ * counted per limit.
  */
 @Slf4j
 @Service("ArithmeticService")
-public class ArithmeticQuestionService implements QuestionHandler {
+public class ArithmeticQuestionService implements ArithmeticQuestionHandler {
+
+    /**
+     * Engine used to evaluate arithmetic expressions.
+     */
+    private final ArithmeticEngine arithmeticEngine;
+    /**
+     * Cache of answers to previously evaluated expressions.
+     */
+    private final ArithmeticResultCache resultCache;
+    /**
+     * Classifier scanning questions that were not scanned by the resolver.
+     */
+    private final QuestionClassifier questionClassifier;
+    /**
+     * Time spent handling arithmetic questions, including cache hits.
+     */
+    private final Timer handleTimer;
+    /**
+     * Time spent evaluating expressions that were not cached.
+     */
+    private final Timer evaluationTimer;
+    /**
+     * Registry the rejected questions are counted in.
+     */
+    private final MeterRegistry meterRegistry;
 
     /**
-     * The language identifier for the JavaScript context used by GraalVM.
+     * Constructs a new ArithmeticQuestionService with the specified arithmetic engine and result cache.
+     *
+     * @param arithmeticEngine   The engine used to evaluate arithmetic expressions.
+     * @param resultCache        The cache of answers to previously evaluated expressions.
+     * @param questionClassifier The classifier scanning questions that were not scanned by the resolver.
+     * @param meterRegistry      The registry the handling and evaluation timers are published to.
      */
-    public static final String JS_LANGUAGE = "js";
+    public ArithmeticQuestionService(ArithmeticEngine arithmeticEngine, ArithmeticResultCache resultCache,
+                                     QuestionClassifier questionClassifier, MeterRegistry meterRegistry) {
+        this.arithmeticEngine = arithmeticEngine;
+        this.resultCache = resultCache;
+        this.questionClassifier = questionClassifier;
+        this.meterRegistry = meterRegistry;
+        this.handleTimer = Timer.builder("robobob.questions.handled")
+                .description("Time spent handling a question")
+                .tag("handler", "arithmetic")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.evaluationTimer = Timer.builder("robobob.arithmetic.evaluation")
+                .description("Time spent evaluating an arithmetic expression")
+                .tag("engine", arithmeticEngine.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     /**
      * Handles the given arithmetic question request by evaluating the expression.
@@ -32,49 +85,42 @@ public class ArithmeticQuestionService implements QuestionHandler {
      */
     @Override
     public AnswerResponse handleQuestion(QuestionRequest questionRequest) {
-        try {
-            Number evaluate = evaluate(questionRequest.getQuestion());
-            return new AnswerResponse(evaluate.toString());
-        } catch (ArithmeticException exp) {
+        ArithmeticExpression expression = questionClassifier.classify(questionRequest.getQuestion());
+        if (expression == null) {
+            ArithmeticSyntaxException exp =
+                    new ArithmeticSyntaxException("Invalid expression: " + questionRequest.getQuestion());
             log.error("Arithmetic evaluation failed: {}", exp.getMessage());
             throw exp;
         }
+        return handleExpression(questionRequest, expression);
     }
 
     /**
-     * Evaluates the given arithmetic expression using GraalVM's JavaScript context.
+     * Handles an arithmetic question whose expression was scanned while classifying it.
      *
-     * @param expression The arithmetic expression to evaluate.
-     * @return The result of the evaluation as a BigDecimal.
-     * @throws ArithmeticException If an error occurs during evaluation.
+     * @param questionRequest The question request containing the arithmetic expression.
+     * @param expression      The expression scanned from the question.
+     * @return An AnswerResponse object containing the result of the evaluation.
      */
-    private Number evaluate(String expression) throws ArithmeticException {
-        try (Context context = Context.newBuilder(JS_LANGUAGE)
-                .allowAllAccess(false)
-                .allowHostAccess(HostAccess.NONE)
-                .build()) {
-
-            Value result = context.eval(JS_LANGUAGE, expression);
-
-            if (!result.fitsInDouble()) {
-                throw new ArithmeticEvaluationException("Expression did not evaluate to a numeric result.");
-            }
-
-            double doubleValue = result.asDouble();
-
-            if (Double.isInfinite(doubleValue) || Double.isNaN(doubleValue)) {
-                throw new ArithmeticEvaluationException("Expression evaluated to an invalid number (Infinity or NaN).");
-            }
-
-            // checks if value is a whole number
-            if (doubleValue == Math.floor(doubleValue)) {
-                return (int) doubleValue;
-            }
+    @Override
+    public AnswerResponse handleExpression(QuestionRequest questionRequest, ArithmeticExpression expression) {
+        return handleTimer.record(() -> answer(expression));
+    }
 
-            return doubleValue;
-        } catch (PolyglotException exp) {
-            log.error("Invalid expression", exp);
-            throw new ArithmeticSyntaxException("Invalid expression: " + expression);
+    private AnswerResponse answer(ArithmeticExpression expression) {
+        try {
+            expression.requireValid();
+            String answer = resultCache.getAnswer(expression.source(), source -> evaluationTimer.record(
+                    () -> ArithmeticEngine.toAnswer(arithmeticEngine.evaluate(expression))));
+            return new AnswerResponse(answer);
+        } catch (ArithmeticLimitExceededException exp) {
+            meterRegistry.counter("robobob.arithmetic.rejected",
+                    "limit", exp.getLimit().name().toLowerCase(Locale.ROOT)).increment();
+            log.warn("Arithmetic question rejected: {}", exp.getMessage());
+            throw exp;
+        } catch (ArithmeticException exp) {
+            log.error("Arithmetic evaluation failed: {}", exp.getMessage());
+            throw exp;
         }
     }
 
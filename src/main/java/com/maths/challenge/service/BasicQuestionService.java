@@ -3,6 +3,8 @@ package com.maths.challenge.service;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
 import com.maths.challenge.repository.QuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,14 +20,24 @@ public class BasicQuestionService implements QuestionHandler {
      * Repository for retrieving answers to questions.
      */
     private final QuestionRepository questionRepository;
+    /**
+     * Time spent handling basic questions.
+     */
+    private final Timer handleTimer;
 
     /**
      * Constructs a new BasicQuestionService with the specified question repository.
      *
      * @param questionRepository The repository for retrieving answers.
+     * @param meterRegistry      The registry the handling timer is published to.
      */
-    public BasicQuestionService(QuestionRepository questionRepository) {
+    public BasicQuestionService(QuestionRepository questionRepository, MeterRegistry meterRegistry) {
         this.questionRepository = questionRepository;
+        this.handleTimer = Timer.builder("robobob.questions.handled")
+                .description("Time spent handling a question")
+                .tag("handler", "basic")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
@@ -36,6 +48,6 @@ public class BasicQuestionService implements QuestionHandler {
      */
     @Override
     public AnswerResponse handleQuestion(QuestionRequest questionRequest) {
-        return questionRepository.getAnswer(questionRequest);
+        return handleTimer.record(() -> questionRepository.getAnswer(questionRequest));
     }
 }
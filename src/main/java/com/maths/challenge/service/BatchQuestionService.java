@@ -0,0 +1,129 @@
+package com.maths.challenge.service;
+
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.GlobalExceptionHandler;
+import com.maths.challenge.exception.GlobalExceptionHandler.ErrorResponse;
+import com.maths.challenge.exception.TooManyQuestionsException;
+import com.maths.challenge.generated.model.BatchAnswer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Service answering a batch of questions in parallel.
+ * Each question is resolved through the {@link QuestionHandlerResolver} on the question executor, and its outcome is
+ * reported individually so that one question that cannot be answered does not fail the rest of the batch. Every
+ * question counts against the rate limit of the client asking, and a question over the limit is answered with 429.
+ */
+@Slf4j
+@Service
+public class BatchQuestionService {
+
+    /**
+     * Resolver delegating each question to its handler.
+     */
+    private final QuestionHandlerResolver questionResolver;
+    /**
+     * Executor the questions of a batch are evaluated on.
+     */
+    private final Executor questionExecutor;
+    /**
+     * The maximum number of questions in a batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Constructs a new BatchQuestionService.
+     *
+     * @param questionResolver The resolver delegating each question to its handler.
+     * @param questionExecutor The executor the questions of a batch are evaluated on.
+     * @param maxBatchSize     The maximum number of questions in a batch.
+     */
+    public BatchQuestionService(QuestionHandlerResolver questionResolver,
+                                @Qualifier("questionExecutor") Executor questionExecutor,
+                                @Value("${robobob.batch.max-size:100}") int maxBatchSize) {
+        this.questionResolver = questionResolver;
+        this.questionExecutor = questionExecutor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Answers every question of the batch in parallel.
+     *
+     * @param questionRequests The questions to answer.
+     * @param client           The key of the client asking, or null if the questions are not rate limited.
+     * @return One answer per question, in the order of the questions.
+     * @throws TooManyQuestionsException If the batch contains more questions than allowed.
+     */
+    public List<BatchAnswer> handleBatch(List<QuestionRequest> questionRequests, String client) {
+        checkBatchSize(questionRequests.size());
+
+        List<CompletableFuture<BatchAnswer>> answers = new ArrayList<>(questionRequests.size());
+        for (int index = 0; index < questionRequests.size(); index++) {
+            int position = index;
+            QuestionRequest questionRequest = questionRequests.get(index);
+            answers.add(CompletableFuture.supplyAsync(() -> answer(position, questionRequest, client),
+                    questionExecutor));
+        }
+        return answers.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Checks that a batch does not contain more questions than allowed.
+     *
+     * @param size The number of questions in the batch.
+     * @throws TooManyQuestionsException If the batch contains more questions than allowed.
+     */
+    public void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new TooManyQuestionsException("A batch can contain at most " + maxBatchSize + " questions.");
+        }
+    }
+
+    /**
+     * Answers a single question, turning any failure into an error answer.
+     *
+     * @param index           The position of the question in the batch.
+     * @param questionRequest The question to answer.
+     * @param client          The key of the client asking, or null if the question is not rate limited.
+     * @return The answer or error for the question.
+     */
+    public BatchAnswer answer(int index, QuestionRequest questionRequest, String client) {
+        if (questionRequest == null || questionRequest.getQuestion() == null || questionRequest.getQuestion().isEmpty()) {
+            return toBatchAnswer(index, new ErrorResponse(
+                    HttpStatus.BAD_REQUEST,
+                    "Validation failed",
+                    Collections.singletonList("question must not be empty")
+            ));
+        }
+
+        try {
+            return new BatchAnswer()
+                    .index(index)
+                    .status(HttpStatus.OK.value())
+                    .answer(questionResolver.handle(questionRequest, client).getAnswer());
+        } catch (RuntimeException exp) {
+            log.warn("Question {} of batch failed: {}", index, exp.getMessage());
+            return toBatchAnswer(index, GlobalExceptionHandler.toErrorResponse(exp));
+        }
+    }
+
+    private static BatchAnswer toBatchAnswer(int index, ErrorResponse errorResponse) {
+        return new BatchAnswer()
+                .index(index)
+                .status(errorResponse.getStatus())
+                .error(errorResponse.getError())
+                .messages(errorResponse.getMessages());
+    }
+}
@@ -0,0 +1,226 @@
+package com.maths.challenge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.maths.challenge.generated.model.BatchAnswer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Service answering a stream of newline-delimited JSON questions.
+ * Records are read one at a time and answered in parallel on the question executor, but never more than a fixed
+ * window ahead of the answers already written. Answers are written in input order as soon as they are ready, so
+ * memory use does not depend on the size of the input and a slow reader of the response slows down the reading of
+ * the request.
+ */
+@Slf4j
+@Service
+public class StreamingQuestionService {
+
+    /**
+     * The line separator between NDJSON records.
+     */
+    private static final byte[] RECORD_SEPARATOR = {'\n'};
+
+    /**
+     * Service answering a single question of a batch.
+     */
+    private final BatchQuestionService batchQuestionService;
+    /**
+     * Executor the questions are evaluated on.
+     */
+    private final Executor questionExecutor;
+    /**
+     * Reader for question records.
+     */
+    private final ObjectReader questionReader;
+    /**
+     * Writer for answer records.
+     */
+    private final ObjectWriter answerWriter;
+    /**
+     * The maximum number of questions being answered ahead of the output.
+     */
+    private final int window;
+    /**
+     * The maximum length of a single record, in characters.
+     */
+    private final int maxRecordLength;
+
+    /**
+     * Constructs a new StreamingQuestionService.
+     *
+     * @param batchQuestionService The service answering a single question of a batch.
+     * @param questionExecutor     The executor the questions are evaluated on.
+     * @param objectMapper         The object mapper used to read and write records.
+     * @param window               The maximum number of questions being answered ahead of the output.
+     * @param maxRecordLength      The maximum length of a single record, in characters.
+     */
+    public StreamingQuestionService(BatchQuestionService batchQuestionService,
+                                    @Qualifier("questionExecutor") Executor questionExecutor,
+                                    ObjectMapper objectMapper,
+                                    @Value("${robobob.stream.window:64}") int window,
+                                    @Value("${robobob.stream.max-record-length:4096}") int maxRecordLength) {
+        this.batchQuestionService = batchQuestionService;
+        this.questionExecutor = questionExecutor;
+        this.questionReader = objectMapper.readerFor(QuestionRequest.class);
+        this.answerWriter = objectMapper.writerFor(BatchAnswer.class);
+        this.window = window;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads question records from the input and writes one answer record per question to the output.
+     * Blank lines are skipped. A record that cannot be read is answered with a 400 record and does not stop the stream.
+     *
+     * @param input  The NDJSON question records.
+     * @param output The stream the NDJSON answer records are written to.
+     * @param client The key of the client asking, or null if the questions are not rate limited.
+     * @return The number of questions answered.
+     * @throws IOException If reading the input or writing the output fails.
+     */
+    public long answerAll(InputStream input, OutputStream output, String client) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Deque<CompletableFuture<BatchAnswer>> pending = new ArrayDeque<>(window);
+        StringBuilder line = new StringBuilder();
+        int index = 0;
+
+        RecordStatus status;
+        while ((status = readRecord(reader, line)) != RecordStatus.END) {
+            if (status == RecordStatus.COMPLETE && isBlank(line)) {
+                continue;
+            }
+            pending.add(submit(index++, status, line, client));
+            if (pending.size() >= window) {
+                write(pending.poll().join(), output);
+            }
+            if (!reader.ready()) {
+                // the client is not sending anything right now and may be waiting for these answers
+                writePending(pending, output);
+            }
+        }
+
+        writePending(pending, output);
+        log.info("Answered {} streamed questions", index);
+        return index;
+    }
+
+    /**
+     * Answers a single question record, for callers that split the stream into records themselves.
+     * A record that is too long or cannot be read is answered with a 400 record.
+     *
+     * @param index  The position of the record in the stream, blank records excluded.
+     * @param record The question record, without its line terminator.
+     * @param client The key of the client asking, or null if the question is not rate limited.
+     * @return The answer or error for the record.
+     */
+    public BatchAnswer answerRecord(int index, String record, String client) {
+        if (record.length() > maxRecordLength) {
+            return tooLongRecord(index);
+        }
+
+        try {
+            return batchQuestionService.answer(index, questionReader.readValue(record), client);
+        } catch (JsonProcessingException exp) {
+            log.warn("Invalid record {} in question stream: {}", index, exp.getOriginalMessage());
+            return invalidRecord(index, exp.getOriginalMessage());
+        }
+    }
+
+    private CompletableFuture<BatchAnswer> submit(int index, RecordStatus status, StringBuilder line, String client) {
+        if (status == RecordStatus.TOO_LONG) {
+            return CompletableFuture.completedFuture(tooLongRecord(index));
+        }
+        String record = line.toString();
+        return CompletableFuture.supplyAsync(() -> answerRecord(index, record, client), questionExecutor);
+    }
+
+    private void writePending(Deque<CompletableFuture<BatchAnswer>> pending, OutputStream output) throws IOException {
+        while (!pending.isEmpty()) {
+            write(pending.poll().join(), output);
+        }
+        output.flush();
+    }
+
+    private void write(BatchAnswer answer, OutputStream output) throws IOException {
+        output.write(answerWriter.writeValueAsBytes(answer));
+        output.write(RECORD_SEPARATOR);
+    }
+
+    /**
+     * Reads the next line into the buffer, keeping at most the maximum record length.
+     *
+     * @param reader The reader to read from.
+     * @param line   The buffer receiving the line, without its line terminator.
+     * @return Whether a complete line, an over-long line or the end of the input was read.
+     * @throws IOException If reading fails.
+     */
+    private RecordStatus readRecord(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int next;
+        while ((next = reader.read()) != -1 && next != '\n') {
+            if (line.length() < maxRecordLength) {
+                line.append((char) next);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (next == -1 && line.isEmpty() && !tooLong) {
+            return RecordStatus.END;
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return tooLong ? RecordStatus.TOO_LONG : RecordStatus.COMPLETE;
+    }
+
+    private static boolean isBlank(CharSequence line) {
+        for (int index = 0; index < line.length(); index++) {
+            if (!Character.isWhitespace(line.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BatchAnswer tooLongRecord(int index) {
+        return invalidRecord(index, "Record is longer than " + maxRecordLength + " characters");
+    }
+
+    private static BatchAnswer invalidRecord(int index, String message) {
+        return new BatchAnswer()
+                .index(index)
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid record")
+                .messages(Collections.singletonList(message));
+    }
+
+    /**
+     * The outcome of reading one line of the input.
+     */
+    private enum RecordStatus {
+        COMPLETE,
+        TOO_LONG,
+        END
+    }
+}
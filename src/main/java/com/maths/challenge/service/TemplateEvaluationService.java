@@ -0,0 +1,213 @@
+package com.maths.challenge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maths.challenge.arithmetic.CompiledExpression;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.TooManyQuestionsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Service evaluating an expression template, such as {@code a * b + c}, over columns of variable values, to answer
+ * many questions of the same shape at once.
+ * Templates are {@link CompiledExpression compiled} once and cached, within the nesting and operator limits of an
+ * arithmetic question ({@code robobob.arithmetic.max-depth} and {@code max-operations}), and each evaluation runs
+ * the compiled program over primitive arrays. Evaluations of at least {@code parallel-threshold} rows are split into
+ * ranges evaluated on a fork/join pool, so that large worksheets use every core.
+ */
+@Slf4j
+@Service
+public class TemplateEvaluationService {
+
+    /**
+     * Compiled templates keyed by template text.
+     */
+    private final Cache<String, CompiledExpression> compiledTemplates;
+    /**
+     * Pool the rows of large evaluations are split across.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The maximum length of a template, in characters.
+     */
+    private final int maxLength;
+    /**
+     * The maximum nesting depth of parentheses in a template.
+     */
+    private final int maxDepth;
+    /**
+     * The maximum number of operators in a template.
+     */
+    private final int maxOperations;
+    /**
+     * The maximum number of rows of one evaluation.
+     */
+    private final int maxRows;
+    /**
+     * The number of rows from which an evaluation is split across the pool, and below which a range is not split.
+     */
+    private final int parallelThreshold;
+    /**
+     * Time spent evaluating a template over all its rows, including compilation.
+     */
+    private final Timer evaluationTimer;
+
+    /**
+     * Constructs a new TemplateEvaluationService with the specified limits.
+     *
+     * @param maxLength         The maximum length of a template, in characters.
+     * @param maxDepth          The maximum nesting depth of parentheses in a template.
+     * @param maxOperations     The maximum number of operators in a template.
+     * @param maxRows           The maximum number of rows of one evaluation.
+     * @param parallelThreshold The number of rows from which an evaluation is split across cores.
+     * @param parallelism       The number of threads evaluating rows, or 0 for one per core.
+     * @param cacheSize         The maximum number of compiled templates kept.
+     * @param meterRegistry     The registry the evaluation timer and cache metrics are published to.
+     */
+    public TemplateEvaluationService(@Value("${robobob.templates.max-length:1000}") int maxLength,
+                                     @Value("${robobob.arithmetic.max-depth:32}") int maxDepth,
+                                     @Value("${robobob.arithmetic.max-operations:250}") int maxOperations,
+                                     @Value("${robobob.templates.max-rows:1000000}") int maxRows,
+                                     @Value("${robobob.templates.parallel-threshold:16384}") int parallelThreshold,
+                                     @Value("${robobob.templates.parallelism:0}") int parallelism,
+                                     @Value("${robobob.templates.cache-size:1000}") long cacheSize,
+                                     MeterRegistry meterRegistry) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("The parallel threshold must be positive");
+        }
+        this.maxLength = maxLength;
+        this.maxDepth = maxDepth;
+        this.maxOperations = maxOperations;
+        this.maxRows = maxRows;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.compiledTemplates = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiledTemplates, "compiledTemplates");
+        this.evaluationTimer = Timer.builder("robobob.templates.evaluation")
+                .description("Time spent evaluating an expression template over all its rows")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compiles the given template, or returns it from the cache if it was compiled before.
+     *
+     * @param template The template, an arithmetic expression whose operands may be named variables.
+     * @return The compiled template.
+     * @throws ArithmeticException If the template is too long, nested too deep, has too many operators or is not a
+     *                             valid expression.
+     */
+    public CompiledExpression compile(String template) {
+        if (template.length() > maxLength) {
+            throw new ArithmeticLimitExceededException(Limit.LENGTH,
+                    "Expression is longer than " + maxLength + " characters.");
+        }
+        return compiledTemplates.get(template, key -> CompiledExpression.compile(key, maxDepth, maxOperations));
+    }
+
+    /**
+     * Evaluates a template over the values of its variables.
+     *
+     * @param template  The template, an arithmetic expression whose operands may be named variables.
+     * @param variables The values of each variable of the template, by name, all of the same length.
+     * @return The result of each row.
+     * @throws ArithmeticException      If the template is too long or is not a valid expression.
+     * @throws IllegalArgumentException If a variable has no values, or the variables differ in length.
+     */
+    public double[] evaluate(String template, Map<String, double[]> variables) {
+        return evaluationTimer.record(() -> {
+            CompiledExpression expression = compile(template);
+            List<String> names = expression.variables();
+            double[][] columns = new double[names.size()][];
+            for (int index = 0; index < columns.length; index++) {
+                columns[index] = variables.get(names.get(index));
+                if (columns[index] == null) {
+                    throw new IllegalArgumentException("No values for the variable " + names.get(index));
+                }
+            }
+            return evaluate(expression, columns);
+        });
+    }
+
+    /**
+     * Evaluates a compiled template over columns of values, across cores when there are enough rows.
+     *
+     * @param expression The compiled template.
+     * @param columns    The values of each variable, in the order of {@link CompiledExpression#variables()}.
+     * @return The result of each row.
+     * @throws TooManyQuestionsException If there are more rows than allowed.
+     * @throws IllegalArgumentException  If the columns do not match the variables of the template.
+     */
+    public double[] evaluate(CompiledExpression expression, double[][] columns) {
+        int rows = expression.rows(columns);
+        if (rows > maxRows) {
+            throw new TooManyQuestionsException("The values have " + rows + " rows, more than the maximum of "
+                    + maxRows);
+        }
+        double[] results = new double[rows];
+        if (rows < parallelThreshold) {
+            expression.evaluate(columns, results, 0, rows);
+        } else {
+            pool.invoke(new RangeEvaluation(expression, columns, results, 0, rows, parallelThreshold));
+        }
+        log.debug("Evaluated {} over {} rows", expression.template(), rows);
+        return results;
+    }
+
+    /**
+     * Shuts the pool down when the application stops.
+     */
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Evaluates a range of rows, splitting it in halves until the ranges are below the threshold.
+     */
+    private static final class RangeEvaluation extends RecursiveAction {
+
+        private final CompiledExpression expression;
+        private final double[][] columns;
+        private final double[] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        RangeEvaluation(CompiledExpression expression, double[][] columns, double[] results, int from, int to,
+                        int threshold) {
+            this.expression = expression;
+            this.columns = columns;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                expression.evaluate(columns, results, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeEvaluation(expression, columns, results, from, middle, threshold),
+                    new RangeEvaluation(expression, columns, results, middle, to, threshold));
+        }
+    }
+}
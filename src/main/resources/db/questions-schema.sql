@@ -0,0 +1,9 @@
+-- Questions answered by the ExternalRepository.
+-- normalized_question holds the question as normalized by QuestionNormalizer (case folded, whitespace collapsed,
+-- trailing punctuation stripped); its primary key index serves the lookup by normalized question.
+CREATE TABLE questions
+(
+    normalized_question VARCHAR(1000)  NOT NULL PRIMARY KEY,
+    question            VARCHAR(1000)  NOT NULL,
+    answer              VARCHAR(4000)  NOT NULL
+);
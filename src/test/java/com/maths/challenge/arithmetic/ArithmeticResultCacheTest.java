@@ -0,0 +1,133 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class ArithmeticResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArithmeticResultCache cache =
+            new ArithmeticResultCache(true, 100, Duration.ofMinutes(1), meterRegistry);
+
+    @ParameterizedTest(name = "\"{0}\" should normalize to \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "2+2|2+2",
+            "'  2+2  '|2+2",
+            "'2  +   2'|2 + 2",
+            "'2\t+\t\t2'|2 + 2",
+            "'2 3'|2 3"
+    })
+    void testNormalize_collapsesWhitespace(String expression, String expected) {
+        assertEquals(expected, ArithmeticResultCache.normalize(expression));
+    }
+
+    @Test
+    void testGetAnswer_evaluatesOncePerNormalizedExpression() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Function<String, String> evaluator = expression -> {
+            evaluations.incrementAndGet();
+            return "4";
+        };
+
+        assertEquals("4", cache.getAnswer("2+2", evaluator));
+        assertEquals("4", cache.getAnswer(" 2+2 ", evaluator));
+
+        assertEquals(1, evaluations.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGetAnswer_evaluatesConcurrentMissesOnce() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> evaluator = expression -> {
+            evaluations.incrementAndGet();
+            evaluating.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+            }
+            return "4";
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.getAnswer("2+2", evaluator));
+            evaluating.await(10, TimeUnit.SECONDS);
+            List<Future<String>> others = List.of(
+                    executor.submit(() -> cache.getAnswer("2+2", evaluator)),
+                    executor.submit(() -> cache.getAnswer("2 + 2", evaluator)),
+                    executor.submit(() -> cache.getAnswer(" 2+2", evaluator)));
+            release.countDown();
+
+            assertEquals("4", first.get(10, TimeUnit.SECONDS));
+            for (Future<String> other : others) {
+                assertEquals("4", other.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // "2 + 2" is another key, evaluated on its own
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void testGetAnswer_doesNotCacheTimeouts() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Function<String, String> evaluator = expression -> {
+            evaluations.incrementAndGet();
+            throw new ArithmeticLimitExceededException(Limit.TIMEOUT, "Evaluation took too long");
+        };
+
+        assertThrows(ArithmeticLimitExceededException.class, () -> cache.getAnswer("2+2", evaluator));
+        assertThrows(ArithmeticLimitExceededException.class, () -> cache.getAnswer("2+2", evaluator));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void testGetAnswer_cachesFailures() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ArithmeticSyntaxException failure = new ArithmeticSyntaxException("Invalid expression: 2 + * 5");
+        Function<String, String> evaluator = expression -> {
+            evaluations.incrementAndGet();
+            throw failure;
+        };
+
+        assertSame(failure, assertThrows(ArithmeticSyntaxException.class, () -> cache.getAnswer("2 + * 5", evaluator)));
+        assertSame(failure, assertThrows(ArithmeticSyntaxException.class, () -> cache.getAnswer("2 + * 5", evaluator)));
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void testGetAnswer_evaluatesEveryTimeWhenDisabled() {
+        ArithmeticResultCache disabled =
+                new ArithmeticResultCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        AtomicInteger evaluations = new AtomicInteger();
+
+        disabled.getAnswer("2+2", expression -> String.valueOf(evaluations.incrementAndGet()));
+        disabled.getAnswer("2+2", expression -> String.valueOf(evaluations.incrementAndGet()));
+
+        assertEquals(2, evaluations.get());
+    }
+}
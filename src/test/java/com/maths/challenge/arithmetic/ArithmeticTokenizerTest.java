@@ -0,0 +1,67 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+class ArithmeticTokenizerTest {
+
+    @ParameterizedTest(name = "\"{0}\" is not arithmetic")
+    @ValueSource(strings = {"What is your name", "2 + three", "C++ is a language", "2 ^ 3"})
+    void testScan_returnsNullForBasicQuestions(String question) {
+        assertNull(ArithmeticTokenizer.scan(question, 1000, 32, 250));
+    }
+
+    @Test
+    void testScan_producesTokensForArithmeticQuestions() {
+        ArithmeticExpression expression = ArithmeticTokenizer.scan("(2 + 3.5) ** -.5", 1000, 32, 250);
+
+        assertEquals(List.of(TokenType.LEFT_PAREN, TokenType.NUMBER, TokenType.PLUS, TokenType.NUMBER,
+                        TokenType.RIGHT_PAREN, TokenType.POWER, TokenType.MINUS, TokenType.NUMBER),
+                expression.requireValid().tokens().stream().map(Token::type).toList());
+        assertEquals(3.5, expression.tokens().get(3).value());
+        assertEquals(0.5, expression.tokens().get(7).value());
+    }
+
+    @ParameterizedTest(name = "\"{0}\" is rejected while scanning")
+    @ValueSource(strings = {"2 ++ 2", "2 + . + 2"})
+    void testScan_rejectsMalformedExpressions(String question) {
+        ArithmeticExpression expression = ArithmeticTokenizer.scan(question, 15, 3, 4);
+
+        assertNull(expression.tokens());
+        assertInstanceOf(ArithmeticSyntaxException.class, expression.failure());
+        assertThrows(ArithmeticSyntaxException.class, expression::requireValid);
+    }
+
+    @ParameterizedTest(name = "\"{0}\" exceeds the {1} limit")
+    @CsvSource({
+            "1 + 2 + 3 + 4 + 5, LENGTH",
+            "((((1)))), DEPTH",
+            "1+2-3*4/5**6, OPERATIONS",
+            "-1 - -2 - -3, OPERATIONS"
+    })
+    void testScan_rejectsExpressionsExceedingLimits(String question, Limit limit) {
+        ArithmeticExpression expression = ArithmeticTokenizer.scan(question, 15, 3, 4);
+
+        assertNull(expression.tokens());
+        ArithmeticLimitExceededException failure =
+                assertThrows(ArithmeticLimitExceededException.class, expression::requireValid);
+        assertEquals(limit, failure.getLimit());
+    }
+
+    @Test
+    void testScan_classifiesOversizedQuestionsWithoutTokenizing() {
+        assertNull(ArithmeticTokenizer.scan("1 + 1 is two, right?", 5, 32, 250));
+    }
+}
@@ -0,0 +1,86 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+class CompiledExpressionTest {
+
+    private final NativeArithmeticEngine nativeEngine = new NativeArithmeticEngine();
+
+    @Test
+    void testCompile_ordersVariablesByFirstAppearance() {
+        CompiledExpression expression = CompiledExpression.compile("b * a + b - c_2");
+
+        assertEquals(List.of("b", "a", "c_2"), expression.variables());
+    }
+
+    @Test
+    void testEvaluate_matchesNativeEngineOnEveryRow() {
+        CompiledExpression expression = CompiledExpression.compile("a * b + c - (2 ** 3) / -(a - 1) + a ** 2");
+        int rows = 3 * CompiledExpression.BLOCK_SIZE + 17;
+        double[][] columns = new double[3][rows];
+        for (int row = 0; row < rows; row++) {
+            columns[0][row] = row % 50;
+            columns[1][row] = row * 0.25;
+            columns[2][row] = -row;
+        }
+
+        double[] results = expression.evaluate(columns);
+
+        for (int row = 0; row < rows; row += 7) {
+            double a = columns[0][row];
+            if (a == 1) {
+                continue;
+            }
+            String question = a + " * " + columns[1][row] + " + (" + columns[2][row] + ") - (2 ** 3) / -(" + a
+                    + " - 1) + " + a + " ** 2";
+            assertEquals(nativeEngine.evaluate(question).doubleValue(), results[row], 1e-9, question);
+        }
+    }
+
+    @Test
+    void testEvaluate_evaluatesRangesIndependently() {
+        CompiledExpression expression = CompiledExpression.compile("x / 2");
+        double[][] columns = {{2, 4, 6, 8}};
+        double[] results = new double[4];
+
+        expression.evaluate(columns, results, 2, 4);
+        expression.evaluate(columns, results, 0, 2);
+
+        assertArrayEquals(new double[]{1, 2, 3, 4}, results);
+    }
+
+    @Test
+    void testEvaluate_keepsNonFiniteRowsWithoutFailingOthers() {
+        double[] results = CompiledExpression.compile("1 / x").evaluate(new double[][]{{0, 4, -0.0}});
+
+        assertArrayEquals(new double[]{Double.POSITIVE_INFINITY, 0.25, Double.NEGATIVE_INFINITY}, results);
+    }
+
+    @Test
+    void testEvaluate_answersTemplateWithoutVariablesOnce() {
+        assertArrayEquals(new double[]{14}, CompiledExpression.compile("2 + 3 * 4").evaluate(new double[0][]));
+    }
+
+    @Test
+    void testEvaluate_rejectsColumnsNotMatchingVariables() {
+        CompiledExpression expression = CompiledExpression.compile("a + b");
+
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[][]{{1}}));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[][]{{1, 2}, {1}}));
+    }
+
+    @ParameterizedTest(name = "Template: \"{0}\" should throw ArithmeticSyntaxException")
+    @ValueSource(strings = {"a b", "2a", "a +* b", "a ++ b", "a # b", "(a + b", "-a ** 2"})
+    void testCompile_rejectsMalformedTemplates(String template) {
+        assertThrows(ArithmeticSyntaxException.class, () -> CompiledExpression.compile(template));
+    }
+}
@@ -0,0 +1,90 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+class ExactArithmeticEngineTest {
+
+    private final ExactArithmeticEngine engine = new ExactArithmeticEngine(20, RoundingMode.HALF_EVEN, 1000);
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should be answered {1}")
+    @CsvSource(delimiter = '|', value = {
+            "2 + 3 * 4|14",
+            "0.1 + 0.2|0.3",
+            "0.1 * 3|0.3",
+            "5.5 + 2.5|8",
+            "1.5 * 1.5|2.25",
+            "7 / 2|3.5",
+            "10 / 4 * 2|5",
+            "0.5 / 0.25|2",
+            "1 / 3|0.33333333333333333333",
+            "2 / 3|0.66666666666666666667",
+            "2 ** -2|0.25",
+            "2 ** 3 ** 2|512",
+            "100000 * 100000|10000000000",
+            "9223372036854775807 + 1|9223372036854775808",
+            "-(2 ** 63)|-9223372036854775808",
+            "2 ** 64|18446744073709551616",
+            "12345678901234567890.5 - 0.5|12345678901234567890",
+            "0.000000001 * 0.000000001 * 0.01|0.00000000000000000001",
+            "1 ** 1000000000000|1",
+            ".5 + 1.|1.5",
+            "-0|0"
+    })
+    void testEvaluate_answersExactly(String expression, String answer) {
+        assertEquals(answer, ArithmeticEngine.toAnswer(engine.evaluate(expression)));
+    }
+
+    @Test
+    void testEvaluate_returnsSmallestExactType() {
+        assertEquals(6, engine.evaluate("2*3"));
+        assertEquals(10_000_000_000L, engine.evaluate("100000 * 100000"));
+        assertEquals(BigInteger.TWO.pow(64), engine.evaluate("2 ** 64"));
+        assertEquals(new BigDecimal("2.5"), engine.evaluate("5/2"));
+    }
+
+    @Test
+    void testEvaluate_roundsDivisionsToConfiguredScale() {
+        ExactArithmeticEngine roundingDown = new ExactArithmeticEngine(2, RoundingMode.DOWN, 1000);
+
+        assertEquals(new BigDecimal("0.66"), roundingDown.evaluate("2 / 3"));
+    }
+
+    @Test
+    void testEvaluate_approximatesFractionalPowers() {
+        assertInstanceOf(BigDecimal.class, engine.evaluate("2 ** 0.5"));
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should throw ArithmeticEvaluationException")
+    @ValueSource(strings = {"5 / 0", "0 / 0", "0 ** -1", ""})
+    void testEvaluate_rejectsInvalidNumbers(String expression) {
+        assertThrows(ArithmeticEvaluationException.class, () -> engine.evaluate(expression));
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should exceed the digits limit")
+    @ValueSource(strings = {"2 ** 100000", "10 ** 999 * 10", "0.5 ** 5000", "3 ** 99999999999999999999"})
+    void testEvaluate_rejectsResultsWithTooManyDigits(String expression) {
+        ArithmeticLimitExceededException exp =
+                assertThrows(ArithmeticLimitExceededException.class, () -> engine.evaluate(expression));
+        assertEquals(ArithmeticLimitExceededException.Limit.DIGITS, exp.getLimit());
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should throw ArithmeticSyntaxException")
+    @ValueSource(strings = {"2 + * 5", "(3 + 2", "-2 ** 2", "1.2.3"})
+    void testEvaluate_rejectsMalformedExpressions(String expression) {
+        assertThrows(ArithmeticSyntaxException.class, () -> engine.evaluate(expression));
+    }
+}
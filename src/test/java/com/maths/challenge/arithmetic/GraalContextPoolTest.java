@@ -0,0 +1,75 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticEngineUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class GraalContextPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GraalContextPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new GraalContextPool(1, Duration.ofMillis(50), 2, 10_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testBorrow_reusesReleasedContext() {
+        GraalContextPool.PooledContext first = pool.borrow();
+        pool.release(first, true);
+
+        GraalContextPool.PooledContext second = pool.borrow();
+        assertSame(first, second);
+        assertEquals(1, pool.getActiveCount());
+        pool.release(second, true);
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testRelease_replacesContextAfterMaxEvaluations() {
+        GraalContextPool.PooledContext first = pool.borrow();
+        pool.release(first, true);
+        pool.release(pool.borrow(), true);
+
+        GraalContextPool.PooledContext replacement = pool.borrow();
+        assertNotSame(first, replacement);
+        assertEquals(1.0, meterRegistry.get("robobob.arithmetic.graal.pool.recycled").counter().count());
+        pool.release(replacement, true);
+    }
+
+    @Test
+    void testRelease_discardsUnhealthyContext() {
+        GraalContextPool.PooledContext first = pool.borrow();
+        pool.release(first, false);
+
+        assertEquals(0, pool.getOpenCount());
+        GraalContextPool.PooledContext replacement = pool.borrow();
+        assertNotSame(first, replacement);
+        pool.release(replacement, true);
+    }
+
+    @Test
+    void testBorrow_throwsWhenPoolIsExhausted() {
+        GraalContextPool.PooledContext borrowed = pool.borrow();
+
+        assertThrows(ArithmeticEngineUnavailableException.class, () -> pool.borrow());
+        assertEquals(1.0, meterRegistry.get("robobob.arithmetic.graal.pool.timeouts").counter().count());
+        pool.release(borrowed, true);
+    }
+}
@@ -0,0 +1,80 @@
+package com.maths.challenge.arithmetic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+public class NativeArithmeticEngineTest {
+
+    private final NativeArithmeticEngine nativeEngine = new NativeArithmeticEngine();
+    private final GraalArithmeticEngine graalEngine =
+            new GraalArithmeticEngine(2, Duration.ofSeconds(1), 100, 100, 10_000, Duration.ofSeconds(1),
+                    new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        graalEngine.close();
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should match GraalVM")
+    @ValueSource(strings = {
+            "2 + 3 * 4",
+            "(2 + 3) * 4",
+            "5.5 + 2.6",
+            "7 / 2",
+            "10 - 4 - 3",
+            "100 / 10 / 5",
+            "-3 * -(2 + 1)",
+            "+4 - +2",
+            "- -5",
+            "2 ** 3 ** 2",
+            "2 ** -1",
+            "(-2) ** 2",
+            "0.1 + 0.2",
+            ".5 + 1.",
+            "((((1))))",
+            "1 / 3",
+            "-0",
+            "1000 * 1000 - 999999",
+            "100000 * 100000"
+    })
+    void testEvaluate_matchesGraalEngine(String expression) {
+        assertEquals(graalEngine.evaluate(expression), nativeEngine.evaluate(expression));
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should throw ArithmeticSyntaxException")
+    @ValueSource(strings = {"2 + * 5", "(3 + 2", "2 + (3 * )", "2 3", "1.2.3", ".", "()", "(2)(3)",
+            "-2 ** 2", "2--3", "++2", "2 *** 3", "abc123"})
+    void testEvaluate_rejectsMalformedExpressions(String expression) {
+        assertThrows(ArithmeticSyntaxException.class, () -> nativeEngine.evaluate(expression));
+        assertThrows(ArithmeticSyntaxException.class, () -> graalEngine.evaluate(expression));
+    }
+
+    @ParameterizedTest(name = "Expression: \"{0}\" should throw ArithmeticEvaluationException")
+    @ValueSource(strings = {"5 / 0", "0 / 0", "", "   "})
+    void testEvaluate_rejectsNonNumericResults(String expression) {
+        assertThrows(ArithmeticEvaluationException.class, () -> nativeEngine.evaluate(expression));
+        assertThrows(ArithmeticEvaluationException.class, () -> graalEngine.evaluate(expression));
+    }
+
+    @Test
+    void testEvaluate_returnsIntegerForWholeNumbers() {
+        assertEquals(6, nativeEngine.evaluate("2*3"));
+        assertEquals(2.5, nativeEngine.evaluate("5/2"));
+    }
+
+    @Test
+    void testEvaluate_doesNotTruncateLargeWholeNumbers() {
+        assertEquals(10_000_000_000L, nativeEngine.evaluate("100000 * 100000"));
+        assertEquals(1e20, nativeEngine.evaluate("10 ** 20"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.maths.challenge.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class ClientIdentifierTest {
+
+    private final ClientIdentifier clientIdentifier = new ClientIdentifier(Set.of("abc", " def "),
+            Set.of("10.0.0.1", "10.0.0.2"));
+
+    @Test
+    void testClientKey_acceptsOnlyConfiguredApiKeys() {
+        assertEquals("key:abc", clientIdentifier.clientKey(" abc ", List.of(), "192.168.0.1"));
+        assertEquals("key:def", clientIdentifier.clientKey("def", List.of(), "192.168.0.1"));
+        assertEquals("address:192.168.0.1", clientIdentifier.clientKey("random", List.of(), "192.168.0.1"));
+        assertEquals("address:192.168.0.1", clientIdentifier.clientKey(" ", List.of(), "192.168.0.1"));
+        assertEquals("address:unknown", clientIdentifier.clientKey(null, List.of(), null));
+    }
+
+    @Test
+    void testClientKey_ignoresForwardedForFromUntrustedAddress() {
+        assertEquals("address:192.168.0.1",
+                clientIdentifier.clientKey(null, List.of("203.0.113.7"), "192.168.0.1"));
+    }
+
+    @Test
+    void testClientKey_followsForwardedForThroughTrustedProxies() {
+        assertEquals("address:203.0.113.7",
+                clientIdentifier.clientKey(null, List.of("203.0.113.7"), "10.0.0.1"));
+        // the first hops were sent by the client, only the ones after its own address are trusted
+        assertEquals("address:203.0.113.7",
+                clientIdentifier.clientKey(null, List.of("1.2.3.4, 203.0.113.7", "10.0.0.2"), "10.0.0.1"));
+        assertEquals("address:10.0.0.2", clientIdentifier.clientKey(null, List.of("10.0.0.2"), "10.0.0.1"));
+        assertEquals("address:10.0.0.2", clientIdentifier.clientKey(null, List.of(" ,10.0.0.2"), "10.0.0.1"));
+    }
+}
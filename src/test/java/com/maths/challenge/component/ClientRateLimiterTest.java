@@ -0,0 +1,110 @@
+package com.maths.challenge.component;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.component.ClientRateLimiter.Limit;
+import com.maths.challenge.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ClientRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(true, 100, 5, 10, 3, Duration.ofMinutes(1),
+            1000, meterRegistry, now::get);
+
+    @Test
+    void testAcquire_admitsBurstThenRefillsAtRate() {
+        for (int question = 0; question < 3; question++) {
+            rateLimiter.acquire("address:10.0.0.1", Limit.ARITHMETIC);
+        }
+        RateLimitExceededException exp = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire("address:10.0.0.1", Limit.ARITHMETIC));
+        assertEquals(Duration.ofMillis(100), exp.getRetryAfter());
+        assertEquals(1, exp.getRetryAfterSeconds());
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        rateLimiter.acquire("address:10.0.0.1", Limit.ARITHMETIC);
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("address:10.0.0.1", Limit.ARITHMETIC));
+        assertEquals(2.0, meterRegistry.get("robobob.rate-limit.rejected").tag("type", "arithmetic").counter().count());
+    }
+
+    @Test
+    void testAcquire_limitsEachClientAndTypeSeparately() {
+        for (int question = 0; question < 3; question++) {
+            rateLimiter.acquire("key:first", Limit.ARITHMETIC);
+        }
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("key:first", Limit.ARITHMETIC));
+
+        assertDoesNotThrow(() -> rateLimiter.acquire("key:first", Limit.BASIC));
+        assertDoesNotThrow(() -> rateLimiter.acquire("key:second", Limit.ARITHMETIC));
+    }
+
+    @Test
+    void testAcquire_doesNotLimitUnidentifiedQuestionsOrWhenDisabled() {
+        ClientRateLimiter disabled = new ClientRateLimiter(false, 1, 1, 1, 1, Duration.ofMinutes(1), 1000,
+                meterRegistry, now::get);
+        for (int question = 0; question < 10; question++) {
+            rateLimiter.acquire(null, Limit.ARITHMETIC);
+            disabled.acquire("key:first", Limit.ARITHMETIC);
+        }
+        assertEquals(0, rateLimiter.clientCount());
+    }
+
+    @Test
+    void testAcquire_evictsIdleClients() {
+        rateLimiter.acquire("address:10.0.0.1", Limit.BASIC);
+        rateLimiter.acquire("address:10.0.0.2", Limit.BASIC);
+        assertEquals(2, rateLimiter.clientCount());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        rateLimiter.acquire("address:10.0.0.2", Limit.BASIC);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertEquals(1, rateLimiter.clientCount());
+    }
+
+    @Test
+    void testAcquire_admitsExactlyTheBurstUnderContention() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 1, 50, 1, 50, Duration.ofMinutes(1), 1000,
+                meterRegistry, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int question = 0; question < 400; question++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    limiter.acquire("key:shared", Limit.BASIC);
+                    admitted.incrementAndGet();
+                } catch (RateLimitExceededException | InterruptedException exp) {
+                    // rejected
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(50, admitted.get());
+    }
+
+    @Test
+    void testConstructor_rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(true, 0, 1, 1, 1,
+                Duration.ofMinutes(1), 1000, meterRegistry, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(true, 1, 1, 1, 0,
+                Duration.ofMinutes(1), 1000, meterRegistry, now::get));
+    }
+}
@@ -0,0 +1,26 @@
+package com.maths.challenge.component;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class QuestionClassifierTest {
+
+    @Test
+    void testClassify_tellsArithmeticQuestionsApart() {
+        QuestionClassifier classifier = new QuestionClassifier(1000, 32, 250);
+
+        assertNotNull(classifier.classify("(1 + 2) * 3"));
+        assertNull(classifier.classify("What is your name"));
+    }
+
+    @ParameterizedTest(name = "limits {0}, {1}, {2} should be rejected")
+    @CsvSource({"0, 32, 250", "1000, 0, 250", "1000, 32, 0", "-1, 32, 250"})
+    void testConstructor_rejectsLimitsBelowOne(int maxLength, int maxDepth, int maxOperations) {
+        assertThrows(IllegalArgumentException.class, () -> new QuestionClassifier(maxLength, maxDepth, maxOperations));
+    }
+}
@@ -1,20 +1,32 @@
 package com.maths.challenge.component;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.arithmetic.Token;
+import com.maths.challenge.arithmetic.TokenType;
+import com.maths.challenge.exception.RateLimitExceededException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.ArithmeticQuestionHandler;
 import com.maths.challenge.service.QuestionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+
 @ExtendWith(MockitoExtension.class)
 public class QuestionHandlerResolverTest {
 
@@ -22,13 +34,17 @@ public class QuestionHandlerResolverTest {
     private QuestionHandler basicQuestionHandler;
 
     @Mock
-    private QuestionHandler arithmeticQuestionHandler;
+    private ArithmeticQuestionHandler arithmeticQuestionHandler;
 
+    private SimpleMeterRegistry meterRegistry;
     private QuestionHandlerResolver questionHandlerResolver;
 
     @BeforeEach
     void setUp() {
-        questionHandlerResolver = new QuestionHandlerResolver(basicQuestionHandler, arithmeticQuestionHandler);
+        meterRegistry = new SimpleMeterRegistry();
+        questionHandlerResolver = new QuestionHandlerResolver(basicQuestionHandler, arithmeticQuestionHandler,
+                new QuestionClassifier(1000, 32, 250),
+                new ClientRateLimiter(true, 100, 100, 1, 1, Duration.ofMinutes(10), 1000, meterRegistry), meterRegistry);
     }
 
     @Test
@@ -36,12 +52,16 @@ public class QuestionHandlerResolverTest {
         QuestionRequest request = new QuestionRequest("2 + 2");
         AnswerResponse expectedResponse = new AnswerResponse("4");
 
-        when(arithmeticQuestionHandler.handleQuestion(request)).thenReturn(expectedResponse);
+        when(arithmeticQuestionHandler.handleExpression(eq(request), any())).thenReturn(expectedResponse);
 
         AnswerResponse actualResponse = questionHandlerResolver.handle(request);
 
         assertEquals(expectedResponse, actualResponse);
-        verify(arithmeticQuestionHandler).handleQuestion(request);
+        ArgumentCaptor<ArithmeticExpression> expression = ArgumentCaptor.forClass(ArithmeticExpression.class);
+        verify(arithmeticQuestionHandler).handleExpression(eq(request), expression.capture());
+        assertEquals(List.of(TokenType.NUMBER, TokenType.PLUS, TokenType.NUMBER),
+                expression.getValue().tokens().stream().map(Token::type).toList());
+        verify(arithmeticQuestionHandler, never()).handleQuestion(any());
         verify(basicQuestionHandler, never()).handleQuestion(any());
     }
 
@@ -56,7 +76,42 @@ public class QuestionHandlerResolverTest {
 
         assertEquals(expectedResponse, actualResponse);
         verify(basicQuestionHandler).handleQuestion(request);
-        verify(arithmeticQuestionHandler, never()).handleQuestion(any());
+        verify(arithmeticQuestionHandler, never()).handleExpression(any(), any());
+    }
+
+    @Test
+    void testHandle_countsQuestionsByType() {
+        questionHandlerResolver.handle(new QuestionRequest("2 + 2"));
+        questionHandlerResolver.handle(new QuestionRequest("What is your name"));
+        questionHandlerResolver.handle(new QuestionRequest("What is your name"));
+
+        assertEquals(1.0, meterRegistry.get("robobob.questions.classified").tag("type", "arithmetic").counter().count());
+        assertEquals(2.0, meterRegistry.get("robobob.questions.classified").tag("type", "basic").counter().count());
     }
 
+    @Test
+    void testHandle_limitsArithmeticQuestionsOfEachClient() {
+        QuestionRequest sum = new QuestionRequest("2 + 2");
+        QuestionRequest name = new QuestionRequest("What is your name");
+        when(arithmeticQuestionHandler.handleExpression(eq(sum), any())).thenReturn(new AnswerResponse("4"));
+        when(basicQuestionHandler.handleQuestion(name)).thenReturn(new AnswerResponse("RoboBob"));
+
+        assertEquals("4", questionHandlerResolver.handle(sum, "address:10.0.0.1").getAnswer());
+        assertThrows(RateLimitExceededException.class, () -> questionHandlerResolver.handle(sum, "address:10.0.0.1"));
+        assertEquals("RoboBob", questionHandlerResolver.handle(name, "address:10.0.0.1").getAnswer());
+        assertEquals("4", questionHandlerResolver.handle(sum, "address:10.0.0.2").getAnswer());
+        assertEquals("4", questionHandlerResolver.handle(sum).getAnswer());
+    }
+
+    @Test
+    void testHandle_doesNotCountRejectedQuestions() {
+        QuestionRequest sum = new QuestionRequest("2 + 2");
+        when(arithmeticQuestionHandler.handleExpression(eq(sum), any())).thenReturn(new AnswerResponse("4"));
+
+        questionHandlerResolver.handle(sum, "address:10.0.0.1");
+        assertThrows(RateLimitExceededException.class, () -> questionHandlerResolver.handle(sum, "address:10.0.0.1"));
+
+        assertEquals(1.0, meterRegistry.get("robobob.questions.classified").tag("type", "arithmetic").counter().count());
+        verify(arithmeticQuestionHandler).handleExpression(eq(sum), any());
+    }
 }
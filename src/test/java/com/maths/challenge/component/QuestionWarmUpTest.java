@@ -0,0 +1,100 @@
+package com.maths.challenge.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.maths.challenge.arithmetic.ArithmeticEngine;
+import com.maths.challenge.arithmetic.ArithmeticExpression;
+import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionWarmUpTest {
+
+    private static final Resource CORPUS = new ByteArrayResource("""
+            # comment
+            What is your name
+
+            {n} + 2
+            """.getBytes(StandardCharsets.UTF_8));
+
+    private final QuestionClassifier questionClassifier = new QuestionClassifier(1000, 32, 250);
+
+    @Mock
+    private ArithmeticEngine arithmeticEngine;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testWarmUp_asksEveryQuestionOfEveryRound() {
+        when(questionRepository.findAnswer(anyString())).thenReturn("RoboBob");
+        when(arithmeticEngine.evaluate(any(ArithmeticExpression.class))).thenReturn(4);
+
+        assertEquals(6, warmUp(CORPUS, 3, Duration.ofMinutes(1)).warmUp());
+
+        verify(questionRepository, times(3)).findAnswer("What is your name");
+        verify(arithmeticEngine).evaluate(questionClassifier.classify("1 + 2"));
+        verify(arithmeticEngine).evaluate(questionClassifier.classify("2 + 2"));
+        verify(arithmeticEngine).evaluate(questionClassifier.classify("3 + 2"));
+        assertEquals(1, meterRegistry.get("robobob.warm-up").timer().count());
+        // only the warm-up itself is reported
+        assertEquals(1, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    void testWarmUp_ignoresFailedQuestions() {
+        when(arithmeticEngine.evaluate(any(ArithmeticExpression.class)))
+                .thenThrow(new ArithmeticEvaluationException("Division by zero"));
+
+        assertEquals(4, warmUp(CORPUS, 2, Duration.ofMinutes(1)).warmUp());
+    }
+
+    @Test
+    void testWarmUp_stopsAfterMaxDuration() {
+        assertEquals(0, warmUp(CORPUS, 3, Duration.ZERO).warmUp());
+
+        verify(questionRepository, never()).findAnswer(anyString());
+        verify(arithmeticEngine, never()).evaluate(any(ArithmeticExpression.class));
+    }
+
+    @Test
+    void testWarmUp_skipsUnreadableCorpus() {
+        assertEquals(0, warmUp(new FileSystemResource("does-not-exist.txt"), 3, Duration.ofMinutes(1)).warmUp());
+
+        verify(questionRepository, never()).findAnswer(anyString());
+    }
+
+    @Test
+    void testWarmUp_disabled() {
+        QuestionWarmUp warmUp = new QuestionWarmUp(questionClassifier, arithmeticEngine, questionRepository, false,
+                CORPUS, 3, Duration.ofMinutes(1), meterRegistry);
+
+        assertEquals(0, warmUp.warmUp());
+
+        verify(questionRepository, never()).findAnswer(anyString());
+    }
+
+    private QuestionWarmUp warmUp(Resource corpus, int rounds, Duration maxDuration) {
+        return new QuestionWarmUp(questionClassifier, arithmeticEngine, questionRepository, true, corpus, rounds,
+                maxDuration, meterRegistry);
+    }
+}
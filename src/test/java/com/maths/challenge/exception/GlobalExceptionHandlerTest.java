@@ -0,0 +1,58 @@
+package com.maths.challenge.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.maths.challenge.exception.ArithmeticLimitExceededException.Limit;
+import com.maths.challenge.exception.GlobalExceptionHandler.ErrorResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+class GlobalExceptionHandlerTest {
+
+    @Test
+    void testExpectedFailures_doNotRecordStackTraces() {
+        Stream.of(new QuestionNotFoundException(QuestionNotFoundException.MESSAGE),
+                        new ArithmeticSyntaxException("Invalid expression: 2 + * 5"),
+                        new ArithmeticEvaluationException("Expression did not evaluate to a numeric result."),
+                        new ArithmeticLimitExceededException(Limit.DEPTH, "Too deeply nested"),
+                        new ArithmeticEngineUnavailableException("No arithmetic evaluator became available in time."),
+                        new TooManyQuestionsException("A batch can contain at most 100 questions."),
+                        new RateLimitExceededException("Too many basic questions, please slow down.", Duration.ZERO))
+                .forEach(exp -> assertEquals(0, exp.getStackTrace().length, exp.getClass().getSimpleName()));
+    }
+
+    @Test
+    void testToErrorResponse_rendersUnknownQuestionsFromTemplate() {
+        ErrorResponse first = GlobalExceptionHandler.toErrorResponse(
+                new QuestionNotFoundException(QuestionNotFoundException.MESSAGE));
+        ErrorResponse second = GlobalExceptionHandler.toErrorResponse(
+                new QuestionNotFoundException(QuestionNotFoundException.MESSAGE));
+
+        assertEquals(404, second.getStatus());
+        assertEquals("Not found", second.getError());
+        assertEquals(List.of(QuestionNotFoundException.MESSAGE), second.getMessages());
+        assertEquals(0, second.getTimestamp().getNano());
+        assertTrue(first == second || !first.getTimestamp().equals(second.getTimestamp()));
+    }
+
+    @Test
+    void testToErrorResponse_keepsOtherNotFoundMessages() {
+        ErrorResponse response = GlobalExceptionHandler.toErrorResponse(new QuestionNotFoundException("Gone."));
+
+        assertEquals(404, response.getStatus());
+        assertEquals(List.of("Gone."), response.getMessages());
+    }
+
+    @Test
+    void testToErrorResponse_answersRateLimitedQuestionsWithTooManyRequests() {
+        ErrorResponse response = GlobalExceptionHandler.toErrorResponse(
+                new RateLimitExceededException("Too many basic questions, please slow down.", Duration.ofSeconds(1)));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("Too many requests", response.getError());
+    }
+}
@@ -0,0 +1,130 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+
+class ExternalRepositoryTest {
+
+    private static final String WARM_UP_QUERY = "SELECT normalized_question, answer FROM questions";
+    private static final String FILTER_QUERY = "SELECT normalized_question FROM questions";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .setScriptEncoding("UTF-8")
+                .addScript("db/questions-schema.sql")
+                .addScript("db/questions-data.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @ParameterizedTest(name = "\"{0}\" should be answered with \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "What is your name?|RoboBob",
+            "'  how OLD are   you'|Two years old",
+            "OÙ EST L'école|Didcot"
+    })
+    void testGetAnswer_queriesNormalizedQuestion(String question, String answer) {
+        ExternalRepository repository = repository(false);
+
+        assertEquals(answer, repository.getAnswer(new QuestionRequest(question)).getAnswer());
+    }
+
+    @Test
+    void testGetAnswer_readsThroughCache() {
+        ExternalRepository repository = repository(false);
+
+        repository.getAnswer(new QuestionRequest("What is your name?"));
+        jdbcTemplate.update("UPDATE questions SET answer = 'Bob' WHERE normalized_question = 'what is your name'");
+
+        assertEquals("RoboBob", repository.getAnswer(new QuestionRequest("what is your name")).getAnswer());
+        assertEquals(1, meterRegistry.get("robobob.repository.query").timer().count());
+    }
+
+    @Test
+    void testGetAnswer_cachesUnknownQuestions() {
+        ExternalRepository repository = repository(false, false);
+
+        assertThrows(QuestionNotFoundException.class, () ->
+                repository.getAnswer(new QuestionRequest("Where do you live?")));
+        assertThrows(QuestionNotFoundException.class, () ->
+                repository.getAnswer(new QuestionRequest("where do you live")));
+        assertEquals(1, meterRegistry.get("robobob.repository.query").timer().count());
+        assertEquals(2.0, meterRegistry.get("robobob.questions.not.found").counter().count());
+    }
+
+    @Test
+    void testInit_warmsUpCacheWithBulkQuery() {
+        ExternalRepository repository = repository(true);
+        jdbcTemplate.execute("DROP TABLE questions");
+
+        assertEquals("RoboBob", repository.getAnswer(new QuestionRequest("What is your name?")).getAnswer());
+        assertEquals("Didcot", repository.getAnswer(new QuestionRequest("Où est l'école ?")).getAnswer());
+        assertEquals(0, meterRegistry.get("robobob.repository.query").timer().count());
+    }
+
+    @Test
+    void testGetAnswer_answersUnknownQuestionsFromFilter() {
+        ExternalRepository repository = repository(false);
+
+        assertThrows(QuestionNotFoundException.class, () ->
+                repository.getAnswer(new QuestionRequest("Where do you live?")));
+        assertEquals("RoboBob", repository.getAnswer(new QuestionRequest("What is your name?")).getAnswer());
+        assertEquals(3, repository.getEntryCount());
+        assertEquals(1.0, meterRegistry.get("robobob.questions.filter").tag("outcome", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("robobob.repository.query").timer().count());
+    }
+
+    @Test
+    void testReload_answersQuestionsAddedToDatabase() {
+        ExternalRepository repository = repository(false);
+        assertThrows(QuestionNotFoundException.class, () ->
+                repository.getAnswer(new QuestionRequest("Where do you live?")));
+
+        jdbcTemplate.update("INSERT INTO questions VALUES ('where do you live', 'Where do you live?', 'Didcot')");
+        assertTrue(repository.reload());
+
+        assertEquals("Didcot", repository.getAnswer(new QuestionRequest("Where do you live?")).getAnswer());
+        assertEquals(4, repository.getEntryCount());
+    }
+
+    private ExternalRepository repository(boolean warmUp) {
+        return repository(warmUp, true);
+    }
+
+    private ExternalRepository repository(boolean warmUp, boolean filter) {
+        ExternalRepository repository = new ExternalRepository(jdbcTemplate, 100, Duration.ofMinutes(10), warmUp,
+                WARM_UP_QUERY, 100, new UnknownQuestionGuard(filter, 0.01, meterRegistry), FILTER_QUERY,
+                Duration.ZERO, meterRegistry);
+        repository.init();
+        return repository;
+    }
+}
@@ -1,16 +1,21 @@
 package com.maths.challenge.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.maths.challenge.exception.QuestionNotFoundException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,6 +24,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 
 @SpringBootTest
@@ -28,6 +34,8 @@ public class LocalFileRepositoryTest {
     private final Path validTempFilePath = Paths.get(System.getProperty("java.io.tmpdir"), "test-questions-valid.txt");
     private final String invalidFilePath = "/invalid/path/nonexistent.txt";
 
+    private static final PreEncodedAnswers ENCODED_ANSWERS = new PreEncodedAnswers(false, new ObjectMapper());
+
     private LocalFileRepository validRepo;
     private LocalFileRepository invalidRepo;
 
@@ -39,11 +47,13 @@ public class LocalFileRepositoryTest {
                 "  Trim this   =   Trimmed answer"
         );
         Files.write(validTempFilePath, lines);
-        validRepo = new LocalFileRepository(validTempFilePath.toString());
+        validRepo = new LocalFileRepository(validTempFilePath.toString(), false, Duration.ZERO, exactMatcher(),
+                guard(new SimpleMeterRegistry()), ENCODED_ANSWERS, new SimpleMeterRegistry());
         validRepo.init();
 
         // Set up invalid repo with non-existent file
-        invalidRepo = new LocalFileRepository(invalidFilePath);
+        invalidRepo = new LocalFileRepository(invalidFilePath, false, Duration.ZERO, exactMatcher(),
+                guard(new SimpleMeterRegistry()), ENCODED_ANSWERS, new SimpleMeterRegistry());
         invalidRepo.init(); // Should handle missing file gracefully
     }
 
@@ -53,7 +63,7 @@ public class LocalFileRepositoryTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"What is Java?", "what is java?"})
+    @ValueSource(strings = {"What is Java?", "what is java?", "what  is JAVA", "What is Java ?!"})
     void testGetAnswer_returnsCorrectAnswerForValidQuestion(String question) {
         QuestionRequest request = new QuestionRequest(question);
         AnswerResponse response = validRepo.getAnswer(request);
@@ -81,4 +91,76 @@ public class LocalFileRepositoryTest {
                 invalidRepo.getAnswer(new QuestionRequest("Unknown question")));
     }
 
+    @Test
+    void testReload_publishesNewQuestionsAndKeepsThemWhenFileBreaks(@TempDir Path tempDir) throws IOException {
+        Path questionsFile = tempDir.resolve("questions.txt");
+        Files.write(questionsFile, List.of("What is Java?=A language."));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalFileRepository repo = new LocalFileRepository(questionsFile.toString(), false, Duration.ZERO,
+                exactMatcher(), guard(meterRegistry), ENCODED_ANSWERS, meterRegistry);
+        repo.init();
+
+        Files.write(questionsFile, List.of("What is Java?=An island.", "What is Kotlin?=Another language."));
+        assertTrue(repo.reload());
+        assertEquals("An island.", repo.getAnswer(new QuestionRequest("What is Java?")).getAnswer());
+        assertEquals(2, repo.getEntryCount());
+
+        Files.write(questionsFile, List.of("no answers in here"));
+        assertFalse(repo.reload());
+        Files.delete(questionsFile);
+        assertFalse(repo.reload());
+        assertEquals("Another language.", repo.getAnswer(new QuestionRequest("What is Kotlin?")).getAnswer());
+        assertEquals(2.0, meterRegistry.get("robobob.repository.reload.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("robobob.repository.entries").gauge().value());
+    }
+
+    @Test
+    void testGetAnswer_answersCloseQuestionsWhenFuzzyMatchingIsEnabled(@TempDir Path tempDir) throws IOException {
+        Path questionsFile = tempDir.resolve("questions.txt");
+        Files.write(questionsFile, List.of("What is your name?=Robobob", "How old are you?=Two years old"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalFileRepository repo = new LocalFileRepository(questionsFile.toString(), false, Duration.ZERO,
+                new FuzzyQuestionMatcher(true, 0.5, 200, SimilarityMetric.JACCARD), guard(meterRegistry),
+                ENCODED_ANSWERS, meterRegistry);
+        repo.init();
+
+        assertEquals("Robobob", repo.getAnswer(new QuestionRequest("Wat is your name")).getAnswer());
+        assertEquals("Two years old", repo.getAnswer(new QuestionRequest("how old are you")).getAnswer());
+        assertThrows(QuestionNotFoundException.class, () ->
+                repo.getAnswer(new QuestionRequest("Where do you live?")));
+        assertEquals(1.0, meterRegistry.get("robobob.questions.fuzzy.matched").counter().count());
+    }
+
+    @ParameterizedTest(name = "threshold {0} should be rejected")
+    @ValueSource(doubles = {-0.1, 1.5, Double.NaN})
+    void testFuzzyMatcher_rejectsThresholdOutsideZeroToOne(double threshold) {
+        assertThrows(IllegalArgumentException.class, () ->
+                new FuzzyQuestionMatcher(true, threshold, 200, SimilarityMetric.JACCARD));
+    }
+
+    @Test
+    void testGetAnswer_answersUnknownQuestionsFromFilter(@TempDir Path tempDir) throws IOException {
+        Path questionsFile = tempDir.resolve("questions.txt");
+        Files.write(questionsFile, List.of("What is your name?=Robobob", "How old are you?=Two years old"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalFileRepository repo = new LocalFileRepository(questionsFile.toString(), false, Duration.ZERO,
+                exactMatcher(), guard(meterRegistry), ENCODED_ANSWERS, meterRegistry);
+        repo.init();
+
+        assertEquals("Robobob", repo.getAnswer(new QuestionRequest("what is your NAME")).getAnswer());
+        assertThrows(QuestionNotFoundException.class, () ->
+                repo.getAnswer(new QuestionRequest("Where do you live?")));
+        assertEquals(1.0, meterRegistry.get("robobob.questions.filter").tag("outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("robobob.questions.filter").tag("outcome", "passed").counter().count());
+        assertEquals(1.0, meterRegistry.get("robobob.questions.not.found").counter().count());
+        assertEquals(64.0, meterRegistry.get("robobob.questions.filter.size").gauge().value());
+    }
+
+    private static UnknownQuestionGuard guard(SimpleMeterRegistry meterRegistry) {
+        return new UnknownQuestionGuard(true, 0.01, meterRegistry);
+    }
+
+    private static FuzzyQuestionMatcher exactMatcher() {
+        return new FuzzyQuestionMatcher(false, 0.5, 200, SimilarityMetric.JACCARD);
+    }
 }
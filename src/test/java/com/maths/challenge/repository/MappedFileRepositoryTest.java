@@ -0,0 +1,89 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class MappedFileRepositoryTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Path questionsFile;
+    private MappedFileRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        questionsFile = tempDir.resolve("questions.txt");
+        Files.write(questionsFile, List.of(
+                "What is Java?=Java is a programming language.",
+                "  Trim this   =   Trimmed answer  ",
+                "a line without an answer",
+                "Où est l'ÉCOLE=Didcot",
+                "What is Java?=An island.",
+                "Equation=1+1=2"
+        ), StandardCharsets.UTF_8);
+        repository = new MappedFileRepository(questionsFile.toString(), false, Duration.ZERO,
+                new FuzzyQuestionMatcher(false, 0.5, 200, SimilarityMetric.JACCARD), meterRegistry);
+        repository.init();
+    }
+
+    @ParameterizedTest(name = "\"{0}\" should be answered with \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "what is java?|An island.",
+            "'  Trim this  '|Trimmed answer",
+            "OÙ EST L'école|Didcot",
+            "'  où   est l''école ?'|Didcot",
+            "equation|1+1=2"
+    })
+    void testGetAnswer_matchesNormalizedQuestions(String question, String answer) {
+        assertEquals(answer, repository.getAnswer(new QuestionRequest(question)).getAnswer());
+        assertEquals(4, repository.getEntryCount());
+    }
+
+    @Test
+    void testGetAnswer_throwsForUnknownQuestion() {
+        assertThrows(QuestionNotFoundException.class, () ->
+                repository.getAnswer(new QuestionRequest("a line without an answer")));
+    }
+
+    @Test
+    void testFindAnswer_recordsNoMetrics() {
+        assertEquals("Didcot", repository.findAnswer("où est l'école"));
+        assertNull(repository.findAnswer("a line without an answer"));
+
+        assertEquals(0, meterRegistry.get("robobob.repository.lookup").timer().count());
+        assertEquals(0, meterRegistry.get("robobob.questions.not.found").counter().count());
+    }
+
+    @Test
+    void testReload_keepsPreviousIndexWhenFileIsMissing() throws IOException {
+        Files.write(questionsFile, List.of("What is Kotlin?=Another language."));
+        assertTrue(repository.reload());
+        assertEquals("Another language.", repository.getAnswer(new QuestionRequest("what is kotlin?")).getAnswer());
+
+        Files.delete(questionsFile);
+        assertFalse(repository.reload());
+        assertEquals("Another language.", repository.getAnswer(new QuestionRequest("what is kotlin?")).getAnswer());
+    }
+}
@@ -0,0 +1,34 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MappedQuestionIndexTest {
+
+    @Test
+    void testCapacity_keepsAQuarterOfTheSlotsFree() {
+        assertEquals(2, MappedQuestionIndex.capacity(0));
+        assertEquals(4, MappedQuestionIndex.capacity(3));
+        assertEquals(8, MappedQuestionIndex.capacity(4));
+    }
+
+    @Test
+    void testCapacity_largestIndexFitsInDirectBuffer() {
+        // 100_663_296 lines want exactly MAX_SLOTS slots
+        int capacity = MappedQuestionIndex.capacity(100_663_296);
+
+        assertEquals(MappedQuestionIndex.MAX_SLOTS, capacity);
+        assertTrue((long) capacity * Long.BYTES <= Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testCapacity_rejectsTooManyQuestions() {
+        IllegalStateException exp = assertThrows(IllegalStateException.class,
+                () -> MappedQuestionIndex.capacity(100_663_297));
+
+        assertEquals("Too many questions to index: 100663297", exp.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class QuestionBloomFilterTest {
+
+    @ParameterizedTest(name = "\"{0}\" should be possibly known")
+    @ValueSource(strings = {"what is your name", "What is your NAME ?", "  how old  are you", "OÙ EST L'école !"})
+    void testMightContain_acceptsKnownQuestionsAsWritten(String question) {
+        QuestionBloomFilter filter = QuestionBloomFilter.of(
+                List.of("what is your name", "how old are you", "où est l'école"), 0.01);
+
+        assertTrue(filter.mightContain(question));
+    }
+
+    @Test
+    void testMightContain_rejectsMostUnknownQuestionsAtConfiguredRate() {
+        List<String> questions = new ArrayList<>();
+        for (int index = 0; index < 10_000; index++) {
+            questions.add("what is question number " + index);
+        }
+        QuestionBloomFilter filter = QuestionBloomFilter.of(questions, 0.01);
+
+        questions.forEach(question -> assertTrue(filter.mightContain(question)));
+        int falsePositives = 0;
+        for (int index = 0; index < 10_000; index++) {
+            if (filter.mightContain("where is answer number " + index)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    void testMightContain_rejectsEverythingWhenEmpty() {
+        QuestionBloomFilter filter = QuestionBloomFilter.of(List.of(), 0.01);
+
+        assertFalse(filter.mightContain("what is your name"));
+        assertEquals(64, filter.bitCount());
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+}
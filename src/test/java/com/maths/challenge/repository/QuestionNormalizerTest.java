@@ -0,0 +1,45 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class QuestionNormalizerTest {
+
+    @ParameterizedTest(name = "\"{0}\" should normalize to \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "What is your name|what is your name",
+            "'  What  is\tyour   NAME ?! '|what is your name",
+            "What's 2+2?|what's 2+2",
+            "Où est l'ÉCOLE ？|où est l'école",
+            "'?'|''"
+    })
+    void testNormalize(String question, String expected) {
+        assertEquals(expected, QuestionNormalizer.normalize(question));
+    }
+
+    @ParameterizedTest(name = "\"{0}\" should match \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "What is your name?|what is your name",
+            "'what  is your name'|what is your name",
+            "'\tWHAT IS YOUR NAME.'|what is your name"
+    })
+    void testHashAndMatches_agreeWithNormalize(String question, String normalized) {
+        assertEquals(QuestionNormalizer.hash(normalized), QuestionNormalizer.hash(question));
+        assertTrue(QuestionNormalizer.matches(question, normalized));
+    }
+
+    @ParameterizedTest(name = "\"{0}\" should not match \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "What is your age|what is your name",
+            "What is your name now|what is your name",
+            "What is your|what is your name",
+            "Whatis your name|what is your name"
+    })
+    void testMatches_rejectsDifferentQuestions(String question, String normalized) {
+        assertFalse(QuestionNormalizer.matches(question, normalized));
+    }
+}
@@ -0,0 +1,75 @@
+package com.maths.challenge.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(answers(
+            "what is your name", "Robobob",
+            "how old are you", "Two years old",
+            "what is your favourite colour", "Blue"
+    ));
+
+    @ParameterizedTest(name = "{0} should match near misses")
+    @EnumSource(SimilarityMetric.class)
+    void testFind_matchesNearMisses(SimilarityMetric metric) {
+        TrigramIndex.Match match = index.find("wat is your name", metric, 200, 0.5);
+
+        assertNotNull(match);
+        assertEquals("what is your name", match.question());
+        assertEquals("Robobob", match.answer());
+    }
+
+    @Test
+    void testFind_scoresIdenticalQuestionsAsOne() {
+        TrigramIndex.Match match = index.find("how old are you", SimilarityMetric.JACCARD, 200, 0.5);
+
+        assertNotNull(match);
+        assertEquals(1.0, match.score());
+    }
+
+    @Test
+    void testFind_rejectsMatchesBelowThreshold() {
+        assertNull(index.find("where do you live", SimilarityMetric.JACCARD, 200, 0.5));
+        assertNull(index.find("zzz", SimilarityMetric.JACCARD, 200, 0.1));
+        assertNull(index.find("", SimilarityMetric.JACCARD, 200, 0.1));
+    }
+
+    @Test
+    void testFind_scoresAtMostMaxCandidates() {
+        // the rarest trigram of the question, "c e", only occurs in the second question, so with a single
+        // candidate the first question, which is the better match, is never scored
+        TrigramIndex twoQuestions = new TrigramIndex(answers("abc", "first", "abc en", "second"));
+
+        TrigramIndex.Match match = twoQuestions.find("abc e", SimilarityMetric.JACCARD, 1, 0.1);
+
+        assertNotNull(match);
+        assertEquals("second", match.answer());
+        assertEquals("first", twoQuestions.find("abc e", SimilarityMetric.JACCARD, 2, 0.1).answer());
+    }
+
+    @Test
+    void testTrigramsOf_padsAndDeduplicates() {
+        assertEquals(3, TrigramIndex.trigramsOf("abc").length);
+        assertEquals(3, TrigramIndex.trigramsOf("aaaa").length);
+        assertEquals(3, TrigramIndex.trigramsOf("ab ab").length);
+        assertEquals(0, TrigramIndex.trigramsOf("").length);
+    }
+
+    private static Map<String, String> answers(String... questionsAndAnswers) {
+        Map<String, String> answers = new LinkedHashMap<>();
+        for (int index = 0; index < questionsAndAnswers.length; index += 2) {
+            answers.put(questionsAndAnswers[index], questionsAndAnswers[index + 1]);
+        }
+        return answers;
+    }
+}
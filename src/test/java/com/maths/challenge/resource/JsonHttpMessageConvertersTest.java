@@ -0,0 +1,99 @@
+package com.maths.challenge.resource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.repository.PreEncodedAnswers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class JsonHttpMessageConvertersTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final QuestionRequestHttpMessageConverter requestConverter =
+            new QuestionRequestHttpMessageConverter(objectMapper);
+    private final AnswerResponseHttpMessageConverter responseConverter =
+            new AnswerResponseHttpMessageConverter(new PreEncodedAnswers(false, objectMapper), objectMapper);
+
+    @ParameterizedTest(name = "{0} should be read as \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "{\"question\": \"What is your name\"}|What is your name",
+            "' { \"question\" : \"caf\\u00e9 ?\" } '|café ?",
+            "{\"question\": \"2 + 2\", \"context\": {\"id\": 1}}|2 + 2",
+            "{\"context\": [1, 2], \"question\": \"How old are you\"}|How old are you"
+    })
+    void testRead_readsQuestion(String body, String question) throws IOException {
+        assertEquals(new QuestionRequest(question), read(body));
+    }
+
+    @Test
+    void testRead_readsQuestionAfterLargeFields() throws IOException {
+        String body = "{\"context\": \"" + "x".repeat(20_000) + "\", \"question\": \"What is your name\"}";
+
+        assertEquals(new QuestionRequest("What is your name"), read(body));
+    }
+
+    @Test
+    void testRead_leavesMissingQuestionToValidation() throws IOException {
+        assertEquals(new QuestionRequest(), read("{\"context\": 1}"));
+    }
+
+    @ParameterizedTest(name = "{0} should not be readable")
+    @ValueSource(strings = {"", "{\"question\": ", "[\"What is your name\"]", "{\"question\": {\"text\": \"a\"}}"})
+    void testRead_rejectsInvalidBodies(String body) {
+        assertThrows(HttpMessageNotReadableException.class, () -> read(body));
+    }
+
+    @ParameterizedTest(name = "\"{0}\" should be written like Jackson")
+    @ValueSource(strings = {"RoboBob", "4.5", "-1.0E10", "Où est l'école", "say \"hi\"", "back\\slash", "tab\tstop", ""})
+    void testWrite_writesSameBytesAsJackson(String answer) throws IOException {
+        byte[] expected = objectMapper.writeValueAsBytes(new AnswerResponse(answer));
+
+        MockHttpOutputMessage output = write(responseConverter, answer);
+
+        assertArrayEquals(expected, output.getBodyAsBytes());
+        assertEquals(expected.length, output.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+
+    @Test
+    void testWrite_writesPreEncodedAnswers() throws IOException {
+        PreEncodedAnswers preEncodedAnswers = new PreEncodedAnswers(true, objectMapper) {
+            @Override
+            public byte[] find(String answer) {
+                return "Où".equals(answer) ? "{\"answer\":\"pre-encoded\"}".getBytes(StandardCharsets.UTF_8) : null;
+            }
+        };
+        AnswerResponseHttpMessageConverter converter =
+                new AnswerResponseHttpMessageConverter(preEncodedAnswers, objectMapper);
+
+        assertEquals("{\"answer\":\"pre-encoded\"}", write(converter, "Où").getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    private QuestionRequest read(String body) throws IOException {
+        MockHttpInputMessage input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return requestConverter.read(QuestionRequest.class, input);
+    }
+
+    private static MockHttpOutputMessage write(AnswerResponseHttpMessageConverter converter, String answer)
+            throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new AnswerResponse(answer), MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+}
@@ -1,21 +1,37 @@
 package com.maths.challenge.resource;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.maths.challenge.component.ClientIdentifier;
 import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.RateLimitExceededException;
 import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.BatchAnswer;
 import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.BatchQuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
 @WebMvcTest(QuestionsResource.class)
 public class QuestionsResourceTest {
 
@@ -25,6 +41,23 @@ public class QuestionsResourceTest {
     @MockitoBean
     private QuestionHandlerResolver questionResolver;
 
+    @MockitoBean
+    private BatchQuestionService batchQuestionService;
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ClientIdentifier clientIdentifier() {
+            return new ClientIdentifier(Set.of("flood"), Set.of());
+        }
+    }
+
     @Test
     public void testAskQuestionEndpoint_basicQuestion() throws Exception {
         // Given
@@ -34,7 +67,7 @@ public class QuestionsResourceTest {
         AnswerResponse expectedAnswer = new AnswerResponse();
         expectedAnswer.setAnswer("London");
 
-        when(questionResolver.handle(questionRequest)).thenReturn(expectedAnswer);
+        when(questionResolver.handle(eq(questionRequest), any())).thenReturn(expectedAnswer);
 
         // When & Then
         mockMvc.perform(MockMvcRequestBuilders.post("/api/questions") // Assuming your API endpoint is /api/questions
@@ -45,7 +78,7 @@ public class QuestionsResourceTest {
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.answer").value("London"));
 
-        verify(questionResolver).handle(questionRequest);
+        verify(questionResolver).handle(questionRequest, "address:127.0.0.1");
     }
 
     @Test
@@ -57,7 +90,7 @@ public class QuestionsResourceTest {
         AnswerResponse expectedAnswer = new AnswerResponse();
         expectedAnswer.setAnswer("4");
 
-        when(questionResolver.handle(questionRequest)).thenReturn(expectedAnswer);
+        when(questionResolver.handle(eq(questionRequest), any())).thenReturn(expectedAnswer);
 
         // When & Then
         mockMvc.perform(MockMvcRequestBuilders.post("/api/questions") // Assuming your API endpoint is /api/questions
@@ -67,7 +100,7 @@ public class QuestionsResourceTest {
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.answer").value("4"));
 
-        verify(questionResolver).handle(questionRequest);
+        verify(questionResolver).handle(eq(questionRequest), any());
     }
 
     @Test
@@ -81,7 +114,7 @@ public class QuestionsResourceTest {
                         .content(invalidJson))
                 .andExpect(MockMvcResultMatchers.status().isBadRequest()); // Expect a 400 Bad Request status
 
-        verify(questionResolver, never()).handle(org.mockito.ArgumentMatchers.any(QuestionRequest.class));
+        verify(questionResolver, never()).handle(any(QuestionRequest.class), any());
     }
 
     @Test
@@ -95,7 +128,7 @@ public class QuestionsResourceTest {
                         .content(malformedJson))
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        verify(questionResolver, never()).handle(org.mockito.ArgumentMatchers.any(QuestionRequest.class));
+        verify(questionResolver, never()).handle(any(QuestionRequest.class), any());
     }
 
     @Test
@@ -127,6 +160,97 @@ public class QuestionsResourceTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Validation failed"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.messages").value("size must be between 1 and 2147483647")); // Default message for @Size(min=1)
 
-        verify(questionResolver, never()).handle(org.mockito.ArgumentMatchers.any(QuestionRequest.class));
+        verify(questionResolver, never()).handle(any(QuestionRequest.class), any());
+    }
+
+    @Test
+    public void testAskQuestionBatchEndpoint_returnsAnswersInOrder() throws Exception {
+        // Given
+        List<QuestionRequest> questionRequests = List.of(new QuestionRequest("2+2"), new QuestionRequest("2 + * 5"));
+        List<BatchAnswer> expectedAnswers = List.of(
+                new BatchAnswer().index(0).status(200).answer("4"),
+                new BatchAnswer().index(1).status(422).error("Invalid arithmetic expression")
+                        .messages(List.of("Invalid expression: 2 + * 5")));
+
+        when(batchQuestionService.handleBatch(questionRequests, "address:127.0.0.1")).thenReturn(expectedAnswers);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/questions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"question\": \"2+2\"}, {\"question\": \"2 + * 5\"}]"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].answer").value("4"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(422))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].messages[0]").value("Invalid expression: 2 + * 5"));
+
+        verify(batchQuestionService).handleBatch(questionRequests, "address:127.0.0.1");
+    }
+
+    @Test
+    public void testGetAnswerEndpoint_answersWithValidators() throws Exception {
+        when(questionResolver.handle(eq(new QuestionRequest("2+2")), any())).thenReturn(new AnswerResponse("4"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/questions").param("q", "2+2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG,
+                        Matchers.matchesRegex("\"[0-9a-f]+\"")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.answer").value("4"));
+    }
+
+    @Test
+    public void testGetAnswerEndpoint_answersNotModifiedUntilAnswerChanges() throws Exception {
+        when(questionResolver.handle(eq(new QuestionRequest("What is your name")), any())).thenReturn(new AnswerResponse("RoboBob"));
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/questions").param("q", "What is your name"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/questions").param("q", "What is your name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        when(questionResolver.handle(eq(new QuestionRequest("What is your name")), any())).thenReturn(new AnswerResponse("Bob"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/questions").param("q", "What is your name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.answer").value("Bob"));
+    }
+
+    @Test
+    public void testGetAnswerEndpoint_rejectsEmptyQuestion() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/questions").param("q", ""))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verify(questionResolver, never()).handle(any(QuestionRequest.class), any());
+    }
+
+    @Test
+    public void testAskQuestionEndpoint_rateLimitedClient() throws Exception {
+        QuestionRequest questionRequest = new QuestionRequest("2+2");
+        when(questionResolver.handle(questionRequest, "key:flood"))
+                .thenThrow(new RateLimitExceededException("Too many arithmetic questions, please slow down.",
+                        Duration.ofMillis(1500)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/questions")
+                        .header(ClientIdentifier.API_KEY_HEADER, "flood")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\": \"2+2\"}"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Too many requests"));
+    }
+
+    @Test
+    public void testAskQuestionEndpoint_limitsUnknownApiKeyByAddress() throws Exception {
+        QuestionRequest questionRequest = new QuestionRequest("2+2");
+        when(questionResolver.handle(questionRequest, "address:127.0.0.1")).thenReturn(new AnswerResponse("4"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/questions")
+                        .header(ClientIdentifier.API_KEY_HEADER, "random")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\": \"2+2\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.answer").value("4"));
     }
 }
@@ -0,0 +1,196 @@
+package com.maths.challenge.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.component.ClientIdentifier;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import com.maths.challenge.exception.RateLimitExceededException;
+import com.maths.challenge.exception.ReactiveExceptionHandler;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import com.maths.challenge.service.BatchQuestionService;
+import com.maths.challenge.service.StreamingQuestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Set;
+
+public class ReactiveQuestionsResourceTest {
+
+    private final QuestionHandlerResolver questionResolver = mock(QuestionHandlerResolver.class);
+
+    private Scheduler questionScheduler;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BatchQuestionService batchQuestionService = new BatchQuestionService(questionResolver, Runnable::run, 2);
+        StreamingQuestionService streamingQuestionService = new StreamingQuestionService(batchQuestionService,
+                Runnable::run, new ObjectMapper(), 4, 4096);
+        questionScheduler = Schedulers.newBoundedElastic(2, 100, "test-questions");
+        ReactiveQuestionsResource resource = new ReactiveQuestionsResource(questionResolver, batchQuestionService,
+                streamingQuestionService, questionScheduler, 4, Duration.ofHours(1),
+                new ClientIdentifier(Set.of("flood"), Set.of()), meterRegistry);
+        webTestClient = WebTestClient.bindToController(resource)
+                .controllerAdvice(new ReactiveExceptionHandler(meterRegistry))
+                .build();
+
+        when(questionResolver.handle(eq(new QuestionRequest("What is your name")), any()))
+                .thenReturn(new AnswerResponse("RoboBob"));
+        when(questionResolver.handle(eq(new QuestionRequest("2 + * 5")), any()))
+                .thenThrow(new ArithmeticSyntaxException("Invalid expression: 2 + * 5"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        questionScheduler.dispose();
+    }
+
+    @Test
+    public void testAskQuestion_answersQuestion() {
+        webTestClient.post().uri("/api/questions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\": \"What is your name\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.answer").isEqualTo("RoboBob");
+    }
+
+    @Test
+    public void testAskQuestion_mapsErrorsLikeServletEndpoint() {
+        webTestClient.post().uri("/api/questions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\": \"2 + * 5\"}")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Invalid arithmetic expression")
+                .jsonPath("$.messages[0]").isEqualTo("Invalid expression: 2 + * 5");
+    }
+
+    @Test
+    public void testAskQuestion_rateLimitedClient() {
+        when(questionResolver.handle(new QuestionRequest("2+2"), "key:flood"))
+                .thenThrow(new RateLimitExceededException("Too many arithmetic questions, please slow down.",
+                        Duration.ofMillis(200)));
+
+        webTestClient.post().uri("/api/questions")
+                .header(ClientIdentifier.API_KEY_HEADER, "flood")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\": \"2+2\"}")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Too many requests");
+    }
+
+    @Test
+    public void testAskQuestion_rejectsEmptyQuestion() {
+        webTestClient.post().uri("/api/questions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\": \"\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation failed");
+    }
+
+    @Test
+    public void testGetAnswer_answersWithValidatorsAndNotModified() {
+        String etag = webTestClient.get().uri("/api/questions?q={q}", "What is your name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectBody()
+                .jsonPath("$.answer").isEqualTo("RoboBob")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/questions?q={q}", "What is your name")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void testAskQuestionBatch_answersEachQuestionInOrder() {
+        webTestClient.post().uri("/api/questions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"question\": \"What is your name\"}, {\"question\": \"2 + * 5\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].index").isEqualTo(0)
+                .jsonPath("$[0].answer").isEqualTo("RoboBob")
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo(422);
+    }
+
+    @Test
+    public void testAskQuestionBatch_limitsEachQuestionOfClient() {
+        when(questionResolver.handle(new QuestionRequest("2+2"), "key:flood"))
+                .thenReturn(new AnswerResponse("4"))
+                .thenThrow(new RateLimitExceededException("Too many arithmetic questions, please slow down.",
+                        Duration.ofMillis(200)));
+
+        webTestClient.post().uri("/api/questions/batch")
+                .header(ClientIdentifier.API_KEY_HEADER, "flood")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"question\": \"2+2\"}, {\"question\": \"2+2\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[1].status").isEqualTo(429)
+                .jsonPath("$[1].error").isEqualTo("Too many requests");
+    }
+
+    @Test
+    public void testAskQuestionBatch_rejectsTooManyQuestions() {
+        webTestClient.post().uri("/api/questions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"question\": \"a\"}, {\"question\": \"b\"}, {\"question\": \"c\"}]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Too many questions");
+    }
+
+    @Test
+    public void testStreamQuestions_answersEachRecordInOrder() {
+        webTestClient.post().uri("/api/questions/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"question\": \"What is your name\"}\n\nnot json\n{\"question\": \"2 + * 5\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> {
+                    String[] records = body.strip().split("\n");
+                    assertEquals(3, records.length);
+                    assertTrue(records[0].contains("\"answer\":\"RoboBob\""));
+                    assertTrue(records[1].contains("\"status\":400"));
+                    assertTrue(records[2].contains("\"status\":422"));
+                });
+    }
+}
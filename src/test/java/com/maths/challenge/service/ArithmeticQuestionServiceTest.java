@@ -4,25 +4,36 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.maths.challenge.arithmetic.ArithmeticResultCache;
+import com.maths.challenge.arithmetic.NativeArithmeticEngine;
+import com.maths.challenge.component.QuestionClassifier;
 import com.maths.challenge.exception.ArithmeticEvaluationException;
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
 import com.maths.challenge.exception.ArithmeticSyntaxException;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
+import java.util.Locale;
 import java.util.stream.Stream;
 
 public class ArithmeticQuestionServiceTest {
 
+    private SimpleMeterRegistry meterRegistry;
     private ArithmeticQuestionService service;
 
     @BeforeEach
     public void setup() {
-        service = new ArithmeticQuestionService();
+        meterRegistry = new SimpleMeterRegistry();
+        ArithmeticResultCache resultCache = new ArithmeticResultCache(true, 100, Duration.ofMinutes(1), meterRegistry);
+        service = new ArithmeticQuestionService(new NativeArithmeticEngine(), resultCache,
+                new QuestionClassifier(50, 3, 10), meterRegistry);
     }
 
     @Nested
@@ -75,6 +86,29 @@ public class ArithmeticQuestionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Evaluation Limit Tests")
+    class EvaluationLimitTests {
+
+        static Stream<String> oversizedExpressions() {
+            return Stream.of(
+                    "1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1 + 1",
+                    "((((1))))",
+                    "1+1+1+1+1+1+1+1+1+1+1+1"
+            );
+        }
+
+        @ParameterizedTest(name = "Expression: \"{0}\" should throw ArithmeticLimitExceededException")
+        @MethodSource("oversizedExpressions")
+        void testHandleQuestion_withOversizedExpressions(String expression) {
+            ArithmeticLimitExceededException exp = assertThrows(ArithmeticLimitExceededException.class, () ->
+                    service.handleQuestion(new QuestionRequest(expression)));
+
+            String limit = exp.getLimit().name().toLowerCase(Locale.ROOT);
+            assertEquals(1.0, meterRegistry.get("robobob.arithmetic.rejected").tag("limit", limit).counter().count());
+        }
+    }
+
     @Nested
     @DisplayName("Evaluation Bad Expression Tests")
     class EvaluationBadExpressionTests {
@@ -9,11 +9,11 @@ import static org.mockito.Mockito.when;
 import com.maths.challenge.generated.model.AnswerResponse;
 import com.maths.challenge.generated.model.QuestionRequest;
 import com.maths.challenge.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -22,12 +22,12 @@ class BasicQuestionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
-    @InjectMocks
     private BasicQuestionService basicQuestionService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        basicQuestionService = new BasicQuestionService(questionRepository, new SimpleMeterRegistry());
     }
 
     @Test
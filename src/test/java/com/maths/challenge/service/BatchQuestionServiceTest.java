@@ -0,0 +1,119 @@
+package com.maths.challenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.maths.challenge.component.ClientRateLimiter;
+import com.maths.challenge.component.QuestionClassifier;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import com.maths.challenge.exception.QuestionNotFoundException;
+import com.maths.challenge.exception.TooManyQuestionsException;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.BatchAnswer;
+import com.maths.challenge.generated.model.QuestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ExtendWith(MockitoExtension.class)
+class BatchQuestionServiceTest {
+
+    private static final String CLIENT = "address:10.0.0.1";
+
+    @Mock
+    private QuestionHandlerResolver questionResolver;
+
+    @Mock
+    private QuestionHandler basicQuestionHandler;
+
+    @Mock
+    private ArithmeticQuestionHandler arithmeticQuestionHandler;
+
+    private ExecutorService executor;
+    private BatchQuestionService batchQuestionService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        batchQuestionService = new BatchQuestionService(questionResolver, executor, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testHandleBatch_returnsAnswersInOrderWithPerQuestionStatus() {
+        QuestionRequest name = new QuestionRequest("What is your name");
+        QuestionRequest sum = new QuestionRequest("2+2");
+        QuestionRequest invalid = new QuestionRequest("2 + * 5");
+        when(questionResolver.handle(name, CLIENT)).thenReturn(new AnswerResponse("RoboBob"));
+        when(questionResolver.handle(sum, CLIENT)).thenReturn(new AnswerResponse("4"));
+        when(questionResolver.handle(invalid, CLIENT))
+                .thenThrow(new ArithmeticSyntaxException("Invalid expression: 2 + * 5"));
+
+        List<BatchAnswer> answers = batchQuestionService.handleBatch(List.of(name, sum, invalid), CLIENT);
+
+        assertEquals(3, answers.size());
+        assertEquals("RoboBob", answers.get(0).getAnswer());
+        assertEquals(200, answers.get(0).getStatus());
+        assertEquals("4", answers.get(1).getAnswer());
+        assertEquals(2, answers.get(2).getIndex());
+        assertEquals(422, answers.get(2).getStatus());
+        assertNull(answers.get(2).getAnswer());
+        assertEquals(List.of("Invalid expression: 2 + * 5"), answers.get(2).getMessages());
+    }
+
+    @Test
+    void testHandleBatch_reportsUnknownAndEmptyQuestions() {
+        QuestionRequest unknown = new QuestionRequest("Where do you see yourself in next 50 years?");
+        when(questionResolver.handle(unknown, CLIENT))
+                .thenThrow(new QuestionNotFoundException("Question does not exist."));
+
+        List<BatchAnswer> answers = batchQuestionService.handleBatch(List.of(unknown, new QuestionRequest("")), CLIENT);
+
+        assertEquals(404, answers.get(0).getStatus());
+        assertEquals(400, answers.get(1).getStatus());
+    }
+
+    @Test
+    void testHandleBatch_rejectsBatchLargerThanMaximum() {
+        List<QuestionRequest> questions = List.of(new QuestionRequest("1"), new QuestionRequest("2"),
+                new QuestionRequest("3"), new QuestionRequest("4"));
+
+        assertThrows(TooManyQuestionsException.class, () -> batchQuestionService.handleBatch(questions, CLIENT));
+        verifyNoInteractions(questionResolver);
+    }
+
+    @Test
+    void testHandleBatch_countsEachQuestionAgainstRateLimitOfClient() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        QuestionHandlerResolver limitedResolver = new QuestionHandlerResolver(basicQuestionHandler,
+                arithmeticQuestionHandler, new QuestionClassifier(1000, 32, 250),
+                new ClientRateLimiter(true, 1, 2, 1, 1, Duration.ofMinutes(10), 1000, meterRegistry), meterRegistry);
+        BatchQuestionService limitedService = new BatchQuestionService(limitedResolver, Runnable::run, 3);
+        QuestionRequest name = new QuestionRequest("What is your name");
+        when(basicQuestionHandler.handleQuestion(name)).thenReturn(new AnswerResponse("RoboBob"));
+
+        List<BatchAnswer> answers = limitedService.handleBatch(List.of(name, name, name), CLIENT);
+
+        assertEquals(List.of(200, 200, 429), answers.stream().map(BatchAnswer::getStatus).toList());
+        assertEquals("Too many requests", answers.get(2).getError());
+        assertEquals(429, limitedService.handleBatch(List.of(name), CLIENT).get(0).getStatus());
+        assertEquals(200, limitedService.handleBatch(List.of(name), "address:10.0.0.2").get(0).getStatus());
+    }
+}
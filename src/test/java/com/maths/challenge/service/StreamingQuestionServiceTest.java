@@ -0,0 +1,102 @@
+package com.maths.challenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maths.challenge.component.QuestionHandlerResolver;
+import com.maths.challenge.exception.ArithmeticSyntaxException;
+import com.maths.challenge.generated.model.AnswerResponse;
+import com.maths.challenge.generated.model.QuestionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingQuestionServiceTest {
+
+    private static final String CLIENT = "address:10.0.0.1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private QuestionHandlerResolver questionResolver;
+
+    private ExecutorService executor;
+    private StreamingQuestionService streamingQuestionService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        BatchQuestionService batchQuestionService = new BatchQuestionService(questionResolver, executor, 100);
+        streamingQuestionService = new StreamingQuestionService(batchQuestionService, executor, objectMapper, 2, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testAnswerAll_writesOneRecordPerQuestionInOrder() throws IOException {
+        when(questionResolver.handle(new QuestionRequest("What is your name"), CLIENT))
+                .thenReturn(new AnswerResponse("RoboBob"));
+        when(questionResolver.handle(new QuestionRequest("2+2"), CLIENT)).thenReturn(new AnswerResponse("4"));
+        when(questionResolver.handle(new QuestionRequest("2 + * 5"), CLIENT))
+                .thenThrow(new ArithmeticSyntaxException("Invalid expression: 2 + * 5"));
+        String input = """
+                {"question": "What is your name"}
+
+                {"question": "2+2"}\r
+                {"question": "2 + * 5"}
+                {"question": "2+2"}""";
+
+        List<JsonNode> answers = answerAll(input);
+
+        assertEquals(4, answers.size());
+        assertEquals("RoboBob", answers.get(0).get("answer").asText());
+        assertEquals("4", answers.get(1).get("answer").asText());
+        assertEquals(422, answers.get(2).get("status").asInt());
+        assertEquals(3, answers.get(3).get("index").asInt());
+    }
+
+    @Test
+    void testAnswerAll_reportsInvalidRecordsWithoutStopping() throws IOException {
+        when(questionResolver.handle(new QuestionRequest("2+2"), CLIENT)).thenReturn(new AnswerResponse("4"));
+        String input = "{question: broken}\n"
+                + "{\"question\": \"" + "1+".repeat(40) + "1\"}\n"
+                + "{\"question\": \"2+2\"}\n";
+
+        List<JsonNode> answers = answerAll(input);
+
+        assertEquals(3, answers.size());
+        assertEquals(400, answers.get(0).get("status").asInt());
+        assertEquals(400, answers.get(1).get("status").asInt());
+        assertEquals("4", answers.get(2).get("answer").asText());
+    }
+
+    private List<JsonNode> answerAll(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingQuestionService.answerAll(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output,
+                CLIENT);
+
+        List<JsonNode> answers = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            answers.add(objectMapper.readTree(line));
+        }
+        return answers;
+    }
+}
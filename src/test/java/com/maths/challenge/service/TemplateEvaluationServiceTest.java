@@ -0,0 +1,89 @@
+package com.maths.challenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.maths.challenge.exception.ArithmeticLimitExceededException;
+import com.maths.challenge.exception.TooManyQuestionsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class TemplateEvaluationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TemplateEvaluationService service =
+            new TemplateEvaluationService(50, 4, 8, 100_000, 1000, 4, 10, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void testEvaluate_evaluatesTemplateByVariableName() {
+        double[] results = service.evaluate("a * b + c",
+                Map.of("c", new double[]{1, 1, 1}, "a", new double[]{1, 2, 3}, "b", new double[]{4, 5, 6}));
+
+        assertArrayEquals(new double[]{5, 11, 19}, results);
+        assertEquals(1, meterRegistry.get("robobob.templates.evaluation").timer().count());
+    }
+
+    @Test
+    void testEvaluate_splitsLargeEvaluationsAcrossThreads() {
+        int rows = 50_000;
+        double[] a = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            a[row] = row;
+        }
+
+        double[] results = service.evaluate("a * 2 + 1", Map.of("a", a));
+
+        for (int row = 0; row < rows; row++) {
+            assertEquals(row * 2 + 1, results[row]);
+        }
+    }
+
+    @Test
+    void testCompile_reusesCompiledTemplates() {
+        assertSame(service.compile("a + 1"), service.compile("a + 1"));
+    }
+
+    @Test
+    void testEvaluate_rejectsMissingVariables() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.evaluate("a + b", Map.of("a", new double[]{1})));
+    }
+
+    @Test
+    void testEvaluate_rejectsTooManyRows() {
+        assertThrows(TooManyQuestionsException.class,
+                () -> service.evaluate("a + 1", Map.of("a", new double[100_001])));
+    }
+
+    @Test
+    void testEvaluate_rejectsTooLongTemplates() {
+        assertThrows(ArithmeticLimitExceededException.class,
+                () -> service.evaluate("a + 1".repeat(20), Map.of("a", new double[1])));
+    }
+
+    @Test
+    void testCompile_limitsNestingAcrossVariables() {
+        assertEquals(ArithmeticLimitExceededException.Limit.DEPTH,
+                assertThrows(ArithmeticLimitExceededException.class, () -> service.compile("((((( a )))))"))
+                        .getLimit());
+        assertEquals(1, service.compile("(((( a ))))").variables().size());
+    }
+
+    @Test
+    void testCompile_limitsOperationsAcrossVariables() {
+        assertEquals(ArithmeticLimitExceededException.Limit.OPERATIONS,
+                assertThrows(ArithmeticLimitExceededException.class, () -> service.compile("a+a+a+a+a+a+a+a+-a"))
+                        .getLimit());
+        assertEquals(1, service.compile("a+a+a+a+a+a+a+-a").variables().size());
+    }
+}
@@ -0,0 +1,3 @@
+INSERT INTO questions (normalized_question, question, answer) VALUES ('what is your name', 'What is your name?', 'RoboBob');
+INSERT INTO questions (normalized_question, question, answer) VALUES ('how old are you', 'How old are you?', 'Two years old');
+INSERT INTO questions (normalized_question, question, answer) VALUES ('où est l''école', 'Où est l''école ?', 'Didcot');